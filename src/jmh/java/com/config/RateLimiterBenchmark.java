@@ -0,0 +1,62 @@
+package com.config;
+
+import com.model.Permission;
+import com.model.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cost of the rate limit check of a write by {@link RateLimiter}, by threads sharing one
+ * principal, all compare-and-set on one bucket, and by threads with a principal each.
+ * Limits are high enough that every request is allowed.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@Threads(4)
+public class RateLimiterBenchmark {
+    private RateLimiter rateLimiter;
+
+    @Setup
+    public void setUp() {
+        RateLimiter.Limit unlimited = new RateLimiter.Limit(1e9, 1_000_000);
+        rateLimiter = new RateLimiter(Map.of(Role.USER, unlimited, Role.ADMIN, unlimited), new SimpleMeterRegistry(), System::nanoTime);
+    }
+
+    @State(Scope.Thread)
+    public static class Principal {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+        private final String name = "client-" + THREADS.incrementAndGet();
+    }
+
+    @Benchmark
+    public long sharedPrincipal() {
+        return rateLimiter.tryAcquire("admin", Role.ADMIN, Permission.EMPLOYEES_WRITE);
+    }
+
+    @Benchmark
+    public long principalPerThread(Principal principal) {
+        return rateLimiter.tryAcquire(principal.name, Role.ADMIN, Permission.EMPLOYEES_WRITE);
+    }
+}
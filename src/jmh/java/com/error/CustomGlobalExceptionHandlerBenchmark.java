@@ -0,0 +1,69 @@
+package com.error;
+
+import com.model.Employee;
+import com.rest.EmployeeController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of error body construction in {@link CustomGlobalExceptionHandler}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class CustomGlobalExceptionHandlerBenchmark {
+    private CustomGlobalExceptionHandler handler;
+    private WebRequest webRequest;
+    private MethodArgumentNotValidException methodArgumentNotValidException;
+    private ResourceNotFoundException resourceNotFoundException;
+
+    @Setup
+    public void setUp() throws Exception {
+        handler = new CustomGlobalExceptionHandler();
+        webRequest = new ServletWebRequest(new MockHttpServletRequest("POST", "/employees/"));
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new Employee(), "employee");
+        bindingResult.rejectValue("firstName", "Pattern", "First name must not contain spaces");
+        bindingResult.rejectValue("gender", "Pattern", "Gender must be male or female");
+        bindingResult.rejectValue("departmentId", "Max", "Department ID must be 1 or 2");
+        MethodParameter parameter = new MethodParameter(EmployeeController.class
+                .getMethod("addEmployee", Employee.class, UriComponentsBuilder.class), 0);
+        methodArgumentNotValidException = new MethodArgumentNotValidException(parameter, bindingResult);
+        resourceNotFoundException = new ResourceNotFoundException("Employee with ID: 1 Not Found!");
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> methodArgumentNotValid() throws Exception {
+        return handler.handleException(methodArgumentNotValidException, webRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> resourceNotFound() {
+        return handler.handleResourceNotFoundException(resourceNotFoundException);
+    }
+}
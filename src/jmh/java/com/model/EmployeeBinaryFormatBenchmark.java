@@ -0,0 +1,99 @@
+package com.model;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Encode and decode cost of a list of {@link Employee} in JSON and in the binary
+ * encodings of {@link com.config.WebConfig}. The payload size of each format is
+ * printed when a trial starts.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class EmployeeBinaryFormatBenchmark {
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<List<Employee>>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"10000"})
+    private int listSize;
+
+    private ObjectMapper objectMapper;
+    private List<Employee> employees;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory(format)).build();
+        employees = LongStream.rangeClosed(1, listSize)
+                .mapToObj(EmployeeBinaryFormatBenchmark::employee)
+                .collect(Collectors.toList());
+        payload = objectMapper.writeValueAsBytes(employees);
+        System.out.println(format + " payload of " + listSize + " employees: " + payload.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeList() throws Exception {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<Employee> deserializeEmployeeList() throws Exception {
+        return objectMapper.readValue(payload, EMPLOYEE_LIST);
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "cbor":
+                return new CBORFactory();
+            case "smile":
+                return new SmileFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    private static Employee employee(long id) {
+        return Employee.builder()
+                .id(id)
+                .firstName("Sergey" + id % 100)
+                .lastName("Sergeev")
+                .departmentId((int) (id % 2) + 1)
+                .jobTitle("Java Developer")
+                .gender(id % 2 == 0 ? "female" : "male")
+                .dateOfBirth(new GregorianCalendar(1960 + (int) (id % 40), (int) (id % 12), 1 + (int) (id % 28)).getTime())
+                .version(id % 5)
+                .build();
+    }
+}
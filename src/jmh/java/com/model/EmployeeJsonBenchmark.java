@@ -0,0 +1,94 @@
+package com.model;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Benchmarks of Jackson serialization of {@link Employee} with the object mapper
+ * configured the way Spring Boot configures it for the controllers.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class EmployeeJsonBenchmark {
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<List<Employee>>() {
+    };
+
+    @Param({"1000"})
+    private int listSize;
+
+    private ObjectMapper objectMapper;
+    private Employee employee;
+    private List<Employee> employees;
+    private String employeeJson;
+    private String employeesJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        employee = employee(1L);
+        employees = LongStream.rangeClosed(1, listSize)
+                .mapToObj(EmployeeJsonBenchmark::employee)
+                .collect(Collectors.toList());
+        employeeJson = objectMapper.writeValueAsString(employee);
+        employeesJson = objectMapper.writeValueAsString(employees);
+    }
+
+    @Benchmark
+    public String serializeEmployee() throws Exception {
+        return objectMapper.writeValueAsString(employee);
+    }
+
+    @Benchmark
+    public Employee deserializeEmployee() throws Exception {
+        return objectMapper.readValue(employeeJson, Employee.class);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeList() throws Exception {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<Employee> deserializeEmployeeList() throws Exception {
+        return objectMapper.readValue(employeesJson, EMPLOYEE_LIST);
+    }
+
+    private static Employee employee(long id) {
+        return Employee.builder()
+                .id(id)
+                .firstName("Sergey")
+                .lastName("Sergeev")
+                .departmentId(1)
+                .jobTitle("Java Developer")
+                .gender("male")
+                .dateOfBirth(new GregorianCalendar(1989, 7, 7).getTime())
+                .version(0L)
+                .build();
+    }
+}
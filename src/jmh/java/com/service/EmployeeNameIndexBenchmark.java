@@ -0,0 +1,95 @@
+package com.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.model.Employee;
+import com.model.EmployeeName;
+import com.repository.EmployeeEventRepository;
+import com.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Autocomplete lookups in {@link EmployeeNameIndex} with random names,
+ * for short (many matches) and long (few matches) prefixes.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class EmployeeNameIndexBenchmark {
+    private static final int PREFIXES = 1024;
+
+    @Param({"100000"})
+    private int employeeCount;
+
+    @Param({"1", "3"})
+    private int prefixLength;
+
+    private EmployeeNameIndex employeeNameIndex;
+    private String[] prefixes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Employee> employees = LongStream.rangeClosed(1, employeeCount)
+                .mapToObj(id -> Employee.builder()
+                        .id(id)
+                        .firstName(name(random))
+                        .lastName(name(random))
+                        .build())
+                .collect(Collectors.toList());
+        EmployeeRepository employeeRepository = Mockito.mock(EmployeeRepository.class);
+        Mockito.doAnswer(invocation -> {
+            employees.forEach(invocation.<Consumer<Employee>>getArgument(0));
+            return null;
+        }).when(employeeRepository).forEachEmployee(Mockito.any());
+        employeeNameIndex = new EmployeeNameIndex(employeeRepository, Mockito.mock(EmployeeEventRepository.class), new ObjectMapper(),
+                Mockito.mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), Runnable::run, 5000);
+        employeeNameIndex.bootstrap();
+        prefixes = new String[PREFIXES];
+        for (int i = 0; i < PREFIXES; i++) {
+            prefixes[i] = name(random).substring(0, prefixLength);
+        }
+        System.out.println("Name index of " + employeeCount + " employees: about " + employeeNameIndex.getMemoryBytes() / 1024 + " KB");
+    }
+
+    @Benchmark
+    public List<EmployeeName> complete() {
+        return employeeNameIndex.complete(prefixes[ThreadLocalRandom.current().nextInt(PREFIXES)], 10);
+    }
+
+    private static String name(Random random) {
+        char[] name = new char[5 + random.nextInt(8)];
+        name[0] = (char) ('A' + random.nextInt(26));
+        for (int i = 1; i < name.length; i++) {
+            name[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(name);
+    }
+}
@@ -0,0 +1,145 @@
+package com.service;
+
+import com.EmployeeApplication;
+import com.config.CacheConfig;
+import com.model.Employee;
+import com.model.EmployeePage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks of {@link EmployeeServiceImpl} in the application context on in-memory H2,
+ * without web server and outbox relay.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+    @Param({"10000"})
+    private int employeesCount;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private Cache employeesCache;
+    private List<Long> ids;
+    private String secondPageCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(EmployeeApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(context -> context.getBeanFactory().registerSingleton("testTypeExcludeFilter", new TestTypeExcludeFilter()))
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--employee.outbox.relay.enabled=false",
+                        "--employee.auth.token.secret=dGVzdC1vbmx5LXRva2VuLXNlY3JldC0zMi1ieXRlcyE=",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework=WARN");
+        employeeService = context.getBean(EmployeeService.class);
+        employeesCache = context.getBean(CacheManager.class).getCache(CacheConfig.EMPLOYEES_CACHE);
+        ids = employeeService.addEmployees(IntStream.range(0, employeesCount)
+                .mapToObj(i -> employee())
+                .collect(Collectors.toList()));
+        //id cursors stay valid while other benchmarks add and edit employees
+        secondPageCursor = employeeService.getEmployees(null, 50, "id", "ASC").getNextCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee getEmployeeByIdCached() {
+        return employeeService.getEmployeeById(randomId());
+    }
+
+    @Benchmark
+    public Employee getEmployeeByIdUncached() {
+        Long id = randomId();
+        employeesCache.evict(id);
+        return employeeService.getEmployeeById(id);
+    }
+
+    @Benchmark
+    public EmployeePage getEmployeesFirstPage() {
+        return employeeService.getEmployees(null, 50, "lastName", "ASC");
+    }
+
+    @Benchmark
+    public EmployeePage getEmployeesSecondPage() {
+        return employeeService.getEmployees(secondPageCursor, 50, "id", "ASC");
+    }
+
+    @Benchmark
+    public Employee editEmployeeById() {
+        return employeeService.editEmployeeById(randomId(), null, ThreadLocalRandom.current().nextInt(1, 3), "Java Developer");
+    }
+
+    @Benchmark
+    public Employee addEmployee() {
+        Employee employee = employee();
+        employeeService.addEmployee(employee);
+        return employee;
+    }
+
+    /**
+     * Test configurations are on the benchmark classpath, keeps component scan away from them.
+     */
+    private static class TestTypeExcludeFilter extends TypeExcludeFilter {
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+            return metadataReader.getClassMetadata().getClassName().matches(".*Tests?(\\$.*)?");
+        }
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static Employee employee() {
+        return Employee.builder()
+                .firstName("Sergey")
+                .lastName("Sergeev")
+                .departmentId(1)
+                .jobTitle("Java Developer")
+                .gender("male")
+                .dateOfBirth(new GregorianCalendar(1989, 7, 7).getTime())
+                .build();
+    }
+}
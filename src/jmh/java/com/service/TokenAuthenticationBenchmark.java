@@ -0,0 +1,62 @@
+package com.service;
+
+import com.model.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication cost per request: the BCrypt check of a password, as when a
+ * client logs in again for each request, against verification of a bearer
+ * token of {@link TokenServiceImpl}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class TokenAuthenticationBenchmark {
+    private PasswordEncoder passwordEncoder;
+    private String passwordHash;
+    private TokenService tokenService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        //same strength as SecurityConfig
+        passwordEncoder = new BCryptPasswordEncoder(12);
+        passwordHash = passwordEncoder.encode("admin");
+        tokenService = new TokenServiceImpl("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8), 3600, Clock.systemUTC());
+        token = tokenService.issueToken(new UsernamePasswordAuthenticationToken("admin", null, Role.ADMIN.getAuthorities()));
+    }
+
+    @Benchmark
+    public boolean passwordCheck() {
+        return passwordEncoder.matches("admin", passwordHash);
+    }
+
+    @Benchmark
+    public Authentication tokenVerification() {
+        return tokenService.verifyToken(token);
+    }
+}
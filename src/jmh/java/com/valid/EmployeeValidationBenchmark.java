@@ -0,0 +1,146 @@
+package com.valid;
+
+import com.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import javax.validation.ConstraintViolation;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of Bean Validation of {@link Employee} with the validator and
+ * messages configured as in {@link com.EmployeeApplication}, against {@link EmployeeValidator},
+ * per employee and per employee of a valid batch of {@value #BATCH_SIZE}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class EmployeeValidationBenchmark {
+    static final int BATCH_SIZE = 1000;
+
+    private LocalValidatorFactoryBean validator;
+    private EmployeeValidator employeeValidator;
+    private CustomDateValidator customDateValidator;
+    private Employee validEmployee;
+    private Employee invalidEmployee;
+    private List<Employee> batch;
+    private Date dateOfBirth;
+
+    @Setup
+    public void setUp() {
+        ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
+        messageSource.setBasename("classpath:messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        validator = new LocalValidatorFactoryBean();
+        validator.setValidationMessageSource(messageSource);
+        validator.afterPropertiesSet();
+        employeeValidator = new EmployeeValidator(messageSource);
+
+        customDateValidator = new CustomDateValidator();
+        try {
+            customDateValidator.initialize(Employee.class.getDeclaredField("dateOfBirth").getAnnotation(CustomDateConstraint.class));
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+        dateOfBirth = new GregorianCalendar(1989, 7, 7).getTime();
+        validEmployee = Employee.builder()
+                .firstName("Sergey")
+                .lastName("Sergeev")
+                .departmentId(1)
+                .jobTitle("Java Developer")
+                .gender("male")
+                .dateOfBirth(dateOfBirth)
+                .build();
+        //fails @Pattern of names and gender, @Max of department
+        invalidEmployee = Employee.builder()
+                .firstName("Ser gey")
+                .lastName("Serge ev")
+                .departmentId(3)
+                .jobTitle("Java Developer")
+                .gender("unknown")
+                .dateOfBirth(dateOfBirth)
+                .build();
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(Employee.builder()
+                    .firstName("Sergey" + i)
+                    .lastName("Sergeev")
+                    .departmentId(i % 2 + 1)
+                    .jobTitle("Java Developer")
+                    .gender(i % 2 == 0 ? "male" : "female")
+                    .dateOfBirth(dateOfBirth)
+                    .build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        validator.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Employee>> validateValidEmployee() {
+        return validator.validate(validEmployee);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Employee>> validateInvalidEmployee() {
+        return validator.validate(invalidEmployee);
+    }
+
+    @Benchmark
+    public int fastValidateValidEmployee() {
+        return employeeValidator.violations(validEmployee);
+    }
+
+    @Benchmark
+    public List<String> fastValidateInvalidEmployee() {
+        return employeeValidator.messages(employeeValidator.violations(invalidEmployee));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int validateBatch() {
+        int violations = 0;
+        for (Employee employee : batch) {
+            violations += validator.validate(employee).size();
+        }
+        return violations;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Employee> fastValidateBatch() {
+        employeeValidator.validate(batch, "addEmployees.employees");
+        return batch;
+    }
+
+    @Benchmark
+    public boolean customDateValidator() {
+        return customDateValidator.isValid(dateOfBirth, null);
+    }
+}
@@ -0,0 +1,129 @@
+package com.loadtest;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Statement;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates a slow database: every statement executed through the JDBC data source
+ * or the R2DBC connection factory of the application is delayed by the latency, once
+ * it is enabled. A JDBC statement holds its thread for the delay like a blocking driver
+ * waiting for the database, an R2DBC statement completes later without holding one.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class DbLatencyInjector implements BeanPostProcessor {
+    private static final Set<String> JDBC_EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+            "executeBatch", "executeLargeBatch");
+
+    private final long latencyMillis;
+    private volatile boolean enabled;
+
+    public DbLatencyInjector(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Starts delaying statements, seeding and startup run at full speed.
+     */
+    public void enable() {
+        enabled = latencyMillis > 0;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return proxy(bean, (method, args) -> {
+                Object result = invoke(bean, method, args);
+                return result instanceof java.sql.Connection ? jdbcConnection((java.sql.Connection) result) : result;
+            });
+        }
+        if (bean instanceof ConnectionFactory) {
+            return proxy(bean, (method, args) -> {
+                Object result = invoke(bean, method, args);
+                return method.getName().equals("create") ? Mono.from((org.reactivestreams.Publisher<?>) result).map(connection -> r2dbcConnection((Connection) connection)) : result;
+            });
+        }
+        return bean;
+    }
+
+    private Object jdbcConnection(java.sql.Connection connection) {
+        return proxy(connection, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            return result instanceof java.sql.Statement ? jdbcStatement(result) : result;
+        });
+    }
+
+    private Object jdbcStatement(Object statement) {
+        return proxy(statement, (method, args) -> {
+            if (enabled && JDBC_EXECUTE_METHODS.contains(method.getName())) {
+                TimeUnit.MILLISECONDS.sleep(latencyMillis);
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private Connection r2dbcConnection(Connection connection) {
+        return (Connection) proxy(connection, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            return result instanceof Statement ? r2dbcStatement((Statement) result) : result;
+        });
+    }
+
+    private Statement r2dbcStatement(Statement statement) {
+        Statement[] self = new Statement[1];
+        self[0] = (Statement) proxy(statement, (method, args) -> {
+            Object result = invoke(statement, method, args);
+            if (result == statement) {
+                //bind and add return the statement for chaining
+                return self[0];
+            }
+            if (enabled && method.getName().equals("execute")) {
+                return Flux.from((org.reactivestreams.Publisher<?>) result).delaySubscription(Duration.ofMillis(latencyMillis));
+            }
+            return result;
+        });
+        return self[0];
+    }
+
+    private static Object proxy(Object target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getName().equals("equals") && args != null && args.length == 1) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode") && (args == null || args.length == 0)) {
+                return System.identityHashCode(proxy);
+            }
+            return handler.handle(method, args);
+        };
+        return Proxy.newProxyInstance(target.getClass().getClassLoader(), ClassUtils.getAllInterfaces(target), invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,220 @@
+package com.loadtest;
+
+import com.EmployeeApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.model.Employee;
+import com.service.EmployeeService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+import java.net.CookieManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Self-contained load test: boots the application on in-memory H2 with an in-VM
+ * ActiveMQ broker, seeds employees and drives a mix of requests from many
+ * concurrent clients logged in as admin and user. Prints throughput and latency
+ * percentiles per endpoint and fails when a threshold of load-test.properties is
+ * exceeded.
+ * <p>
+ * Runs on each stack of {@code stacks}: the servlet controllers over JDBC or the reactive
+ * profile over R2DBC. A {@code db-latency-ms} delays every statement like a remote database,
+ * so the stacks can be compared when requests mostly wait for it:
+ * {@code -Dloadtest.args="--stacks=servlet,reactive --db-latency-ms=20 --admin-clients=200"}
+ * <p>
+ * Each stack runs with each of {@code threads}: pools of platform threads or virtual threads,
+ * see {@link com.config.VirtualThreadConfig}. Clients run on virtual threads, thousands of them
+ * can wait for responses at once:
+ * {@code -Dloadtest.args="--threads=platform,virtual --db-latency-ms=20 --admin-clients=2000 --db-pool-size=100"}
+ * <p>
+ * Run with {@code mvn -P load-test verify [-Dloadtest.args="--duration-seconds=30 --admin-clients=32"]}
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class EmployeeLoadTest {
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final String SERVLET = "servlet";
+    private static final String REACTIVE = "reactive";
+    private static final String PLATFORM = "platform";
+    private static final String VIRTUAL = "virtual";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load(args);
+        List<String> violations = new ArrayList<>();
+        for (String stack : config.getStacks()) {
+            for (String threads : config.getThreads()) {
+                DbLatencyInjector dbLatencyInjector = new DbLatencyInjector(config.getDbLatencyMillis());
+                try (ConfigurableApplicationContext context = start(stack, threads, config.getDbPoolSize(), dbLatencyInjector)) {
+                    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                    List<Long> seededIds = Collections.unmodifiableList(seed(context, config.getSeedEmployees()));
+                    dbLatencyInjector.enable();
+                    System.out.printf("%n%s stack, %s threads, %d ms database latency%n", stack, threads, config.getDbLatencyMillis());
+                    String run = stack + " " + threads;
+                    run(config, "http://localhost:" + port, seededIds).forEach(violation -> violations.add(run + ": " + violation));
+                }
+            }
+        }
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> System.out.println("THRESHOLD EXCEEDED: " + violation));
+            System.exit(1);
+        }
+        System.out.println("All thresholds met");
+    }
+
+    private static ConfigurableApplicationContext start(String stack, String threads, int dbPoolSize, DbLatencyInjector dbLatencyInjector) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + stack + "-" + threads + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.maximum-pool-size=" + dbPoolSize,
+                "--employee.auth.token.secret=dGVzdC1vbmx5LXRva2VuLXNlY3JldC0zMi1ieXRlcyE=",
+                "--spring.activemq.broker-url=vm://loadtest-" + stack + "-" + threads + "?broker.persistent=false&broker.useJmx=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework=WARN"));
+        if (stack.equals(REACTIVE)) {
+            args.addAll(List.of("--spring.profiles.active=" + REACTIVE,
+                    "--spring.r2dbc.url=r2dbc:h2:mem:///loadtest-" + stack + "-" + threads + ";DB_CLOSE_DELAY=-1",
+                    "--spring.r2dbc.username=sa",
+                    "--spring.r2dbc.password=",
+                    "--spring.r2dbc.pool.initial-size=" + dbPoolSize,
+                    "--spring.r2dbc.pool.max-size=" + dbPoolSize));
+        } else if (!stack.equals(SERVLET)) {
+            throw new IllegalArgumentException("Unknown stack " + stack + ", expected " + SERVLET + " or " + REACTIVE);
+        }
+        if (threads.equals(VIRTUAL)) {
+            args.add("--employee.virtual-threads.enabled=true");
+        } else if (!threads.equals(PLATFORM)) {
+            throw new IllegalArgumentException("Unknown threads " + threads + ", expected " + PLATFORM + " or " + VIRTUAL);
+        }
+        return new SpringApplicationBuilder(EmployeeApplication.class)
+                .initializers(context -> {
+                    context.getBeanFactory().registerSingleton("testTypeExcludeFilter", new TestTypeExcludeFilter());
+                    context.getBeanFactory().addBeanPostProcessor(dbLatencyInjector);
+                })
+                .run(args.toArray(new String[0]));
+    }
+
+    private static List<String> run(LoadTestConfig config, String baseUrl, List<Long> seededIds) throws Exception {
+        Map<Endpoint, Integer> mix = config.getMix();
+        Map<Endpoint, Integer> readMix = new EnumMap<>(Endpoint.class);
+        mix.forEach((endpoint, weight) -> readMix.put(endpoint, endpoint.isWrite() ? 0 : weight));
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+
+        Phase phase = new Phase();
+        List<LoadTestClient> clients = new ArrayList<>();
+        //a login per user, password hashing would dominate the start of thousands of clients
+        Map<String, CookieManager> sessions = new HashMap<>();
+        for (int i = 0; i < config.getAdminClients() + config.getUserClients(); i++) {
+            boolean admin = i < config.getAdminClients();
+            String username = admin ? "admin" : "user";
+            boolean loggedIn = sessions.containsKey(username);
+            LoadTestClient client = new LoadTestClient(baseUrl, username, sessions.computeIfAbsent(username, name -> new CookieManager()),
+                    admin ? mix : readMix, seededIds, stats, () -> phase.running, () -> phase.recording);
+            if (!loggedIn) {
+                client.login();
+            }
+            clients.add(client);
+        }
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        clients.forEach(executor::execute);
+        TimeUnit.SECONDS.sleep(config.getWarmupSeconds());
+        phase.recording = true;
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(config.getDurationSeconds());
+        phase.recording = false;
+        double seconds = (System.nanoTime() - start) / 1e9;
+        phase.running = false;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        return report(config, stats, seconds);
+    }
+
+    /**
+     * Seeds in the application, the bulk endpoint is not part of the reactive stack.
+     */
+    private static List<Long> seed(ConfigurableApplicationContext context, int count) throws Exception {
+        EmployeeService employeeService = context.getBean(EmployeeService.class);
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            List<Employee> batch = new ArrayList<>();
+            for (int i = 0; i < Math.min(SEED_BATCH_SIZE, count - ids.size()); i++) {
+                batch.add(objectMapper.readValue(LoadTestClient.employeeJson(), Employee.class));
+            }
+            ids.addAll(employeeService.addEmployees(batch));
+        }
+        return ids;
+    }
+
+    private static List<String> report(LoadTestConfig config, Map<Endpoint, EndpointStats> stats, double seconds) {
+        List<String> violations = new ArrayList<>();
+        long total = 0;
+        long errors = 0;
+        System.out.printf("%n%-24s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Endpoint endpoint = entry.getKey();
+            EndpointStats endpointStats = entry.getValue();
+            if (endpointStats.getCount() == 0) {
+                continue;
+            }
+            total += endpointStats.getCount();
+            errors += endpointStats.getErrors();
+            System.out.printf("%-24s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.getDescription(), endpointStats.getCount(), endpointStats.getCount() / seconds, endpointStats.getErrors(),
+                    endpointStats.getPercentileMillis(50), endpointStats.getPercentileMillis(90), endpointStats.getPercentileMillis(99),
+                    endpointStats.getPercentileMillis(99.9), endpointStats.getMaxMillis());
+
+            Double maxP99 = config.getMaxP99Millis(endpoint);
+            if (maxP99 != null && endpointStats.getPercentileMillis(99) > maxP99) {
+                violations.add(String.format("%s p99 %.2f ms > %.2f ms", endpoint.getDescription(), endpointStats.getPercentileMillis(99), maxP99));
+            }
+        }
+        double throughput = total / seconds;
+        double errorRate = total == 0 ? 1 : (double) errors / total;
+        System.out.printf("%-24s %9d %9.1f %7d%n%n", "total", total, throughput, errors);
+
+        if (throughput < config.getMinThroughput()) {
+            violations.add(String.format("throughput %.1f req/s < %.1f req/s", throughput, config.getMinThroughput()));
+        }
+        if (errorRate > config.getMaxErrorRate()) {
+            violations.add(String.format("error rate %.4f > %.4f", errorRate, config.getMaxErrorRate()));
+        }
+        return violations;
+    }
+
+    private static class Phase {
+        private volatile boolean running = true;
+        private volatile boolean recording;
+    }
+
+    /**
+     * Test configurations are on the load test classpath, keeps component scan away from them.
+     */
+    private static class TestTypeExcludeFilter extends TypeExcludeFilter {
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+            return metadataReader.getClassMetadata().getClassName().matches(".*Tests?(\\$.*)?");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.loadtest;
+
+/**
+ * Requests of the load test mix against {@link com.rest.EmployeeController}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public enum Endpoint {
+    LIST("GET /employees", 200, false),
+    GET_BY_ID("GET /employees/{id}", 200, false),
+    CREATE("POST /employees", 201, true),
+    UPDATE("PUT /employees/{id}", 200, true),
+    DELETE("DELETE /employees/{id}", 204, true);
+
+    private final String description;
+    private final int expectedStatus;
+    private final boolean write;
+
+    Endpoint(String description, int expectedStatus, boolean write) {
+        this.description = description;
+        this.expectedStatus = expectedStatus;
+        this.write = write;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    public boolean isWrite() {
+        return write;
+    }
+}
@@ -0,0 +1,159 @@
+package com.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * One client of the load test with its own HTTP connection, sharing the session of its
+ * user with the other clients of the user. Sends requests of the mix
+ * back to back while {@code running}, reads pick random seeded employees, deletes
+ * remove employees created by this client.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class LoadTestClient implements Runnable {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final String username;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final List<Long> seededIds;
+    private final Map<Endpoint, EndpointStats> stats;
+    private final BooleanSupplier running;
+    private final BooleanSupplier recording;
+    private final HttpClient httpClient;
+    private final Deque<Long> createdIds = new ArrayDeque<>();
+
+    public LoadTestClient(String baseUrl, String username, CookieManager session, Map<Endpoint, Integer> mix, List<Long> seededIds,
+                          Map<Endpoint, EndpointStats> stats, BooleanSupplier running, BooleanSupplier recording) {
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.endpoints = mix.keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += mix.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.seededIds = seededIds;
+        this.stats = stats;
+        this.running = running;
+        this.recording = recording;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .cookieHandler(session)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+
+    /**
+     * Logs in with the form login of {@link com.config.SecurityConfig}, the session cookie is kept for all clients of the user.
+     */
+    public void login() throws IOException, InterruptedException {
+        HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=" + username + "&password=" + username))
+                .timeout(TIMEOUT)
+                .build(), HttpResponse.BodyHandlers.discarding());
+        String location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() != 302 || !location.endsWith("/auth/success")) {
+            throw new IllegalStateException("Login as " + username + " failed with " + response.statusCode() + " " + location);
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running.getAsBoolean()) {
+            Endpoint endpoint = nextEndpoint();
+            if (endpoint == Endpoint.DELETE && createdIds.isEmpty()) {
+                endpoint = Endpoint.CREATE;
+            }
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                success = send(endpoint);
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (recording.getAsBoolean()) {
+                stats.get(endpoint).record(System.nanoTime() - start, success);
+            }
+        }
+    }
+
+    private Endpoint nextEndpoint() {
+        int weight = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (weight < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("Weight out of range: " + weight);
+    }
+
+    private boolean send(Endpoint endpoint) throws IOException, InterruptedException {
+        HttpRequest.Builder request;
+        switch (endpoint) {
+            case LIST:
+                request = request("/employees?size=50&sort=lastName").GET();
+                break;
+            case GET_BY_ID:
+                request = request("/employees/" + randomSeededId()).GET();
+                break;
+            case CREATE:
+                request = request("/employees")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(employeeJson(), StandardCharsets.UTF_8));
+                break;
+            case UPDATE:
+                request = request("/employees/" + randomSeededId() + "?departmentId=" + ThreadLocalRandom.current().nextInt(1, 3)
+                        + "&jobTitle=Developer" + ThreadLocalRandom.current().nextInt(1000))
+                        .PUT(HttpRequest.BodyPublishers.noBody());
+                break;
+            case DELETE:
+                request = request("/employees/" + createdIds.pop()).DELETE();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown endpoint " + endpoint);
+        }
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (endpoint == Endpoint.CREATE && response.statusCode() == Endpoint.CREATE.getExpectedStatus()) {
+            response.headers().firstValue("Location")
+                    .map(location -> Long.valueOf(location.substring(location.lastIndexOf('/') + 1)))
+                    .ifPresent(createdIds::push);
+        }
+        return response.statusCode() == endpoint.getExpectedStatus();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+    }
+
+    private Long randomSeededId() {
+        return seededIds.get(ThreadLocalRandom.current().nextInt(seededIds.size()));
+    }
+
+    static String employeeJson() {
+        return "{\"firstName\":\"Load\",\"lastName\":\"Tester\",\"departmentId\":1,\"jobTitle\":\"Java Developer\","
+                + "\"gender\":\"male\",\"dateOfBirth\":\"1989-08-07\"}";
+    }
+}
@@ -0,0 +1,108 @@
+package com.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Settings of the load test from load-test.properties, overridden by {@code --name=value} arguments.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class LoadTestConfig {
+    private final Properties properties = new Properties();
+
+    private LoadTestConfig() {
+    }
+
+    public static LoadTestConfig load(String[] args) throws IOException {
+        LoadTestConfig config = new LoadTestConfig();
+        try (InputStream defaults = LoadTestConfig.class.getResourceAsStream("/load-test.properties")) {
+            config.properties.load(defaults);
+        }
+        for (String arg : args) {
+            String[] parts = arg.replaceFirst("^--", "").split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected --name=value but was " + arg);
+            }
+            config.properties.setProperty(parts[0], parts[1]);
+        }
+        return config;
+    }
+
+    public int getAdminClients() {
+        return getInt("admin-clients");
+    }
+
+    public int getUserClients() {
+        return getInt("user-clients");
+    }
+
+    public int getWarmupSeconds() {
+        return getInt("warmup-seconds");
+    }
+
+    public int getDurationSeconds() {
+        return getInt("duration-seconds");
+    }
+
+    public int getSeedEmployees() {
+        return getInt("seed-employees");
+    }
+
+    /**
+     * @return stacks to run on one after the other, servlet or reactive
+     */
+    public List<String> getStacks() {
+        return Arrays.asList(properties.getProperty("stacks").split("\\s*,\\s*"));
+    }
+
+    /**
+     * @return threads to run each stack on one after the other, platform or virtual
+     */
+    public List<String> getThreads() {
+        return Arrays.asList(properties.getProperty("threads").split("\\s*,\\s*"));
+    }
+
+    public int getDbLatencyMillis() {
+        return getInt("db-latency-ms");
+    }
+
+    public int getDbPoolSize() {
+        return getInt("db-pool-size");
+    }
+
+    public Map<Endpoint, Integer> getMix() {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            mix.put(endpoint, Integer.parseInt(properties.getProperty("mix." + endpoint.name(), "0")));
+        }
+        return mix;
+    }
+
+    public double getMaxErrorRate() {
+        return Double.parseDouble(properties.getProperty("threshold.max-error-rate"));
+    }
+
+    public double getMinThroughput() {
+        return Double.parseDouble(properties.getProperty("threshold.min-throughput"));
+    }
+
+    /**
+     * @return 99th percentile limit of {@code endpoint} in milliseconds, {@code null} when not checked
+     */
+    public Double getMaxP99Millis(Endpoint endpoint) {
+        String value = properties.getProperty("threshold." + endpoint.name() + ".p99-ms");
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    private int getInt(String name) {
+        return Integer.parseInt(properties.getProperty(name));
+    }
+}
@@ -1,18 +1,17 @@
 package com;
 
 import org.apache.activemq.ActiveMQConnectionFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.jms.connection.CachingConnectionFactory;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
-import springfox.documentation.builders.PathSelectors;
-import springfox.documentation.builders.RequestHandlerSelectors;
-import springfox.documentation.spi.DocumentationType;
-import springfox.documentation.spring.web.plugins.Docket;
-import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
 import javax.jms.ConnectionFactory;
 
@@ -24,18 +23,7 @@ import javax.jms.ConnectionFactory;
  */
 
 @SpringBootApplication
-@EnableSwagger2
 public class EmployeeApplication {
-    //swagger
-    @Bean
-    public Docket api() {
-        return new Docket(DocumentationType.SWAGGER_2)
-                .select()
-                .apis(RequestHandlerSelectors.any())
-                .paths(PathSelectors.any())
-                .build();
-    }
-
     @Bean
     public MessageSource messageSource() {
         ReloadableResourceBundleMessageSource messageSource
@@ -53,19 +41,27 @@ public class EmployeeApplication {
         return bean;
     }
 
-    //activemq
+    //activemq, not named connectionFactory, that is the R2DBC connection factory of the reactive profile
     @Bean
-    public ConnectionFactory connectionFactory(){
+    @Primary
+    public ConnectionFactory jmsConnectionFactory(@Value("${spring.activemq.broker-url}") String brokerUrl){
         ActiveMQConnectionFactory activeMQConnectionFactory  = new ActiveMQConnectionFactory();
-        activeMQConnectionFactory.setBrokerURL("tcp://localhost:61616");
+        activeMQConnectionFactory.setBrokerURL(brokerUrl);
         return  activeMQConnectionFactory;
     }
 
+    //sending only, otherwise JmsTemplate opens a connection, session and producer per message;
+    //listener containers keep their own connections to the primary one
+    @Bean
+    public CachingConnectionFactory jmsSendingConnectionFactory(ConnectionFactory jmsConnectionFactory){
+        return new CachingConnectionFactory(jmsConnectionFactory);
+    }
+
     //jms
     @Bean
-    public JmsTemplate jmsTemplate(){
+    public JmsTemplate jmsTemplate(@Qualifier("jmsSendingConnectionFactory") ConnectionFactory connectionFactory){
         JmsTemplate jmsTemplate = new JmsTemplate();
-        jmsTemplate.setConnectionFactory(connectionFactory());
+        jmsTemplate.setConnectionFactory(connectionFactory);
         jmsTemplate.setPubSubDomain(true);
         return jmsTemplate;
     }
@@ -0,0 +1,177 @@
+package com.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.UnaryOperator;
+
+/**
+ * Spring cache over a Caffeine {@link AsyncCache}: a value is loaded by the first reader of
+ * its key outside of the locks of the cache, concurrent readers of the key wait for that load.
+ * A synchronous Caffeine cache loads inside {@code ConcurrentHashMap.compute}, which holds a
+ * monitor during the database query and pins a virtual thread to its carrier.
+ * <p>
+ * An eviction removes a load in flight too, its value is returned to the readers waiting
+ * for it but is not cached. Null values are not cached.
+ * <p>
+ * With a settle window, a key is not cached again for that long after its eviction, all keys
+ * after a clear: the loads during it may read from a replica, which has not got the write yet,
+ * see {@link ReplicaRoutingDataSource}.
+ * <p>
+ * With a copier, values are copied when they are cached and each time they are returned from
+ * the cache, so a reader changing its value changes neither the cache nor the other readers.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class AsyncCaffeineCache extends AbstractValueAdaptingCache {
+    private final String name;
+    private final AsyncCache<Object, Object> cache;
+    private final UnaryOperator<Object> copier;
+    private final long settleNanos;
+    //keys evicted within the settle window, null without it
+    private final Cache<Object, Boolean> settling;
+    private volatile long clearedAt;
+
+    public AsyncCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+        this(name, cache, Duration.ZERO);
+    }
+
+    public AsyncCaffeineCache(String name, AsyncCache<Object, Object> cache, Duration settle) {
+        this(name, cache, settle, UnaryOperator.identity());
+    }
+
+    public AsyncCaffeineCache(String name, AsyncCache<Object, Object> cache, Duration settle, UnaryOperator<Object> copier) {
+        super(false);
+        this.name = name;
+        this.cache = cache;
+        this.copier = copier;
+        this.settleNanos = settle.toNanos();
+        this.settling = settle.isZero() ? null : Caffeine.newBuilder().expireAfterWrite(settle).build();
+        this.clearedAt = System.nanoTime() - settleNanos;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public AsyncCache<Object, Object> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        CompletableFuture<Object> future = cache.getIfPresent(key);
+        if (future == null) {
+            return null;
+        }
+        try {
+            return copy(future.join());
+        } catch (CompletionException e) {
+            //a failed load is not cached
+            return null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (isSettling(key)) {
+            try {
+                return valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> loaded = cache.asMap().putIfAbsent(key, loading);
+        if (loaded != null) {
+            try {
+                return (T) fromStoreValue(copy(loaded.join()));
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            cache.asMap().remove(key, loading);
+            loading.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value == null) {
+            cache.asMap().remove(key, loading);
+        }
+        //the loader keeps the value it loaded, the cache a copy of it
+        loading.complete(copy(value));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        cache.put(key, CompletableFuture.completedFuture(toStoreValue(copy(value))));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        CompletableFuture<Object> existing = cache.asMap().putIfAbsent(key, CompletableFuture.completedFuture(toStoreValue(copy(value))));
+        return existing == null ? null : toValueWrapper(copy(existing.join()));
+    }
+
+    @Override
+    public void evict(Object key) {
+        settle(key);
+        cache.synchronous().invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        settle(key);
+        return cache.asMap().remove(key) != null;
+    }
+
+    @Override
+    public void clear() {
+        settleAll();
+        cache.synchronous().invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        settleAll();
+        boolean notEmpty = !cache.asMap().isEmpty();
+        cache.synchronous().invalidateAll();
+        return notEmpty;
+    }
+
+    private Object copy(Object value) {
+        return value == null ? null : copier.apply(value);
+    }
+
+    private void settle(Object key) {
+        if (settling != null) {
+            settling.put(key, Boolean.TRUE);
+        }
+    }
+
+    private void settleAll() {
+        if (settling != null) {
+            clearedAt = System.nanoTime();
+        }
+    }
+
+    private boolean isSettling(Object key) {
+        return settling != null
+                && (System.nanoTime() - clearedAt < settleNanos || settling.getIfPresent(key) != null);
+    }
+}
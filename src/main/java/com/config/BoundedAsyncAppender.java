@@ -0,0 +1,103 @@
+package com.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Async appender which never blocks the thread logging: events wait in a queue of queueSize for
+ * the appender attached, while fewer than overloadThreshold places are left events below WARN
+ * are dropped, or one of every overloadSampleRate of them is kept with the SAMPLE overload policy,
+ * and while the queue is full all events are dropped.
+ * <p>
+ * Dropped events are counted as employee.logging.dropped tagged by appender and reason,
+ * overload or full, the events in the queue are the employee.logging.queued gauge, bound
+ * by {@link LoggingConfig}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class BoundedAsyncAppender extends AsyncAppender implements MeterBinder {
+    public static final String DROPPED_COUNTER = "employee.logging.dropped";
+    public static final String QUEUED_GAUGE = "employee.logging.queued";
+
+    public enum OverloadPolicy {
+        DROP, SAMPLE
+    }
+
+    private OverloadPolicy overloadPolicy = OverloadPolicy.DROP;
+    private int overloadThreshold = -1;
+    private int overloadSampleRate = 10;
+
+    private final AtomicLong overloadEvents = new AtomicLong();
+    private final LongAdder droppedOverload = new LongAdder();
+    private final LongAdder droppedFull = new LongAdder();
+
+    public void setOverloadPolicy(OverloadPolicy overloadPolicy) {
+        this.overloadPolicy = overloadPolicy;
+    }
+
+    public void setOverloadThreshold(int overloadThreshold) {
+        this.overloadThreshold = overloadThreshold;
+    }
+
+    public void setOverloadSampleRate(int overloadSampleRate) {
+        this.overloadSampleRate = overloadSampleRate;
+    }
+
+    @Override
+    public void start() {
+        if (overloadThreshold < 0) {
+            overloadThreshold = getQueueSize() / 5;
+        }
+        if (overloadSampleRate < 1) {
+            addError("overloadSampleRate of " + getName() + " is less than 1");
+            return;
+        }
+        //the overload policy replaces the discarding of AsyncAppender
+        setDiscardingThreshold(0);
+        setNeverBlock(true);
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (remaining == 0) {
+            droppedFull.increment();
+            return;
+        }
+        if (remaining < overloadThreshold && isDiscardable(event)
+                && (overloadPolicy == OverloadPolicy.DROP || overloadEvents.getAndIncrement() % overloadSampleRate != 0)) {
+            droppedOverload.increment();
+            return;
+        }
+        //an offer lost to a concurrent one filling the queue is not counted
+        super.append(event);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        dropped(meterRegistry, "overload", droppedOverload);
+        dropped(meterRegistry, "full", droppedFull);
+        Gauge.builder(QUEUED_GAUGE, this, BoundedAsyncAppender::getNumberOfElementsInQueue)
+                .description("Log events waiting in the queue of the async appender")
+                .tag("appender", getName())
+                .register(meterRegistry);
+    }
+
+    private void dropped(MeterRegistry meterRegistry, String reason, LongAdder dropped) {
+        FunctionCounter.builder(DROPPED_COUNTER, dropped, LongAdder::sum)
+                .description("Log events dropped by the async appender instead of blocking")
+                .tag("appender", getName())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,192 @@
+package com.config;
+
+import com.error.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded executor of one kind of requests: at most {@code threads} of them run at once,
+ * at most {@code queueCapacity} wait, further ones are rejected with {@link BulkheadFullException}
+ * instead of waiting for threads or connections that another kind of requests holds.
+ * Tasks run with the security context of the caller, e.g. for the read-your-writes of
+ * {@link ReplicaRoutingDataSource}, with its locale context, e.g. for validation messages
+ * in the language of the request, and wrapped by the task decorator on the thread of the caller,
+ * e.g. to count SQL statements per request, see {@link SqlStatementRecorder}.
+ * <p>
+ * A bulkhead {@link #onCallerThread on the caller thread} bounds the same way with semaphores
+ * instead: tasks run on the thread calling {@link #supply}, waiting ones park it. Meant for callers
+ * on virtual threads, which are cheap to park, while handing work over to a pool costs a thread
+ * switch and copying the contexts.
+ * <p>
+ * Exposed on /monitor/metrics tagged by bulkhead: employee.bulkhead.active and
+ * employee.bulkhead.queued gauges, employee.bulkhead.rejected counter and
+ * employee.bulkhead.wait timer of the time a task waited in the queue.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class Bulkhead implements AutoCloseable {
+    public static final String ACTIVE_GAUGE = "employee.bulkhead.active";
+    public static final String QUEUED_GAUGE = "employee.bulkhead.queued";
+    public static final String REJECTED_COUNTER = "employee.bulkhead.rejected";
+    public static final String WAIT_TIMER = "employee.bulkhead.wait";
+
+    private final String name;
+    //null on the caller thread
+    private final ThreadPoolExecutor executor;
+    private final Executor callerContextExecutor;
+    //null on a thread pool
+    private final Semaphore admitted;
+    private final Semaphore running;
+    private final Counter rejected;
+    private final Timer wait;
+
+    public Bulkhead(String name, int threads, int queueCapacity, ThreadFactory threadFactory, MeterRegistry meterRegistry) {
+        this(name, threads, queueCapacity, threadFactory, runnable -> runnable, meterRegistry);
+    }
+
+    public Bulkhead(String name, int threads, int queueCapacity, ThreadFactory threadFactory, TaskDecorator taskDecorator,
+                    MeterRegistry meterRegistry) {
+        this.name = name;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.callerContextExecutor = new DelegatingSecurityContextExecutor(task -> executor.execute(taskDecorator.decorate(withLocaleContext(task))));
+        this.admitted = null;
+        this.running = null;
+        Gauge.builder(ACTIVE_GAUGE, executor, ThreadPoolExecutor::getActiveCount)
+                .description("Tasks running in the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder(QUEUED_GAUGE, executor, e -> e.getQueue().size())
+                .description("Tasks waiting in the queue of the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        this.rejected = rejectedCounter(name, meterRegistry);
+        this.wait = waitTimer(name, meterRegistry);
+    }
+
+    private Bulkhead(String name, int maxConcurrent, int maxWaiting, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.executor = null;
+        this.callerContextExecutor = null;
+        this.admitted = new Semaphore(maxConcurrent + maxWaiting);
+        //fair, tasks start in the order they came
+        this.running = new Semaphore(maxConcurrent, true);
+        Gauge.builder(ACTIVE_GAUGE, running, r -> maxConcurrent - r.availablePermits())
+                .description("Tasks running in the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder(QUEUED_GAUGE, running, Semaphore::getQueueLength)
+                .description("Tasks waiting in the queue of the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        this.rejected = rejectedCounter(name, meterRegistry);
+        this.wait = waitTimer(name, meterRegistry);
+    }
+
+    /**
+     * Bulkhead running tasks on the thread calling {@link #supply}: at most {@code maxConcurrent}
+     * of them run at once, at most {@code maxWaiting} callers wait, further ones are rejected.
+     */
+    public static Bulkhead onCallerThread(String name, int maxConcurrent, int maxWaiting, MeterRegistry meterRegistry) {
+        return new Bulkhead(name, maxConcurrent, maxWaiting, meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Runs the supplier on a thread of the bulkhead, or on the caller thread, the future completes
+     * with its result or with its exception wrapped in {@link CompletionException}.
+     *
+     * @throws BulkheadFullException if all threads are busy and the queue is full
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        if (executor == null) {
+            return supplyOnCallerThread(supplier);
+        }
+        Timer.Sample queued = Timer.start();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queued.stop(wait);
+                return supplier.get();
+            }, callerContextExecutor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new BulkheadFullException("Too many " + name + " requests in progress, try again later");
+        }
+    }
+
+    private <T> CompletableFuture<T> supplyOnCallerThread(Supplier<T> supplier) {
+        if (!admitted.tryAcquire()) {
+            rejected.increment();
+            throw new BulkheadFullException("Too many " + name + " requests in progress, try again later");
+        }
+        try {
+            Timer.Sample queued = Timer.start();
+            running.acquireUninterruptibly();
+            try {
+                queued.stop(wait);
+                return CompletableFuture.completedFuture(supplier.get());
+            } catch (RuntimeException | Error e) {
+                return CompletableFuture.failedFuture(e instanceof CompletionException ? e : new CompletionException(e));
+            } finally {
+                running.release();
+            }
+        } finally {
+            admitted.release();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static Runnable withLocaleContext(Runnable task) {
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        return () -> {
+            LocaleContextHolder.setLocaleContext(localeContext);
+            try {
+                task.run();
+            } finally {
+                LocaleContextHolder.resetLocaleContext();
+            }
+        };
+    }
+
+    private static Counter rejectedCounter(String name, MeterRegistry meterRegistry) {
+        return Counter.builder(REJECTED_COUNTER)
+                .description("Tasks rejected by the full bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+    }
+
+    private static Timer waitTimer(String name, MeterRegistry meterRegistry) {
+        return Timer.builder(WAIT_TIMER)
+                .description("Time tasks waited in the queue of the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+    }
+}
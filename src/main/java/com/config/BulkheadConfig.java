@@ -0,0 +1,62 @@
+package com.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Separate {@link Bulkhead}s for reads and writes of {@link com.rest.EmployeeController}:
+ * writes take at most employee.bulkhead.write.threads connections of the pool, so a burst
+ * of slow serializable writes queues behind them and then is rejected, reads keep running.
+ * Tasks are wrapped by the task decorator of the context if there is one, like those of the
+ * task executor of Spring Boot.
+ * <p>
+ * When employee.virtual-threads.enabled is, every request already runs on a virtual thread of its
+ * own, see {@link VirtualThreadConfig}, so the bulkheads are {@link Bulkhead#onCallerThread on it}:
+ * .threads is how many run at once and .queue-capacity how many wait, parking their threads.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BulkheadConfig {
+    public static final String READ_BULKHEAD = "readBulkhead";
+    public static final String WRITE_BULKHEAD = "writeBulkhead";
+
+    private final boolean virtualThreads;
+    private final TaskDecorator taskDecorator;
+
+    public BulkheadConfig(@Value("${employee.virtual-threads.enabled}") boolean virtualThreads,
+                          ObjectProvider<TaskDecorator> taskDecorator) {
+        this.virtualThreads = virtualThreads;
+        this.taskDecorator = taskDecorator.getIfUnique(() -> runnable -> runnable);
+    }
+
+    @Bean(name = READ_BULKHEAD)
+    public Bulkhead readBulkhead(@Value("${employee.bulkhead.read.threads}") int threads,
+                                 @Value("${employee.bulkhead.read.queue-capacity}") int queueCapacity,
+                                 MeterRegistry meterRegistry) {
+        return bulkhead("read", threads, queueCapacity, meterRegistry);
+    }
+
+    @Bean(name = WRITE_BULKHEAD)
+    public Bulkhead writeBulkhead(@Value("${employee.bulkhead.write.threads}") int threads,
+                                  @Value("${employee.bulkhead.write.queue-capacity}") int queueCapacity,
+                                  MeterRegistry meterRegistry) {
+        return bulkhead("write", threads, queueCapacity, meterRegistry);
+    }
+
+    private Bulkhead bulkhead(String name, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        if (virtualThreads) {
+            return Bulkhead.onCallerThread(name, threads, queueCapacity, meterRegistry);
+        }
+        return new Bulkhead(name, threads, queueCapacity, new CustomizableThreadFactory(name + "-"), taskDecorator, meterRegistry);
+    }
+}
@@ -0,0 +1,65 @@
+package com.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.model.Employee;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Configuration of in-process caches.
+ * Evictions are deferred until the surrounding transaction commits, otherwise a
+ * concurrent read could load the old row again between the eviction and the commit.
+ * Reads load with {@code sync = true}: concurrent reads of a key share one load, which
+ * an eviction of the key removes, so a stale load can not survive it, see {@link AsyncCaffeineCache}.
+ * With a read replica, evicted keys are not cached again until the replica may have lagged
+ * behind, max-lag + lag-check-delay, nor are loads from a lagging replica.
+ * Cached employees are copies, every reader gets its own copy.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String EMPLOYEES_CACHE = "employees";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${employee.cache.spec}") String cacheSpecification, Environment environment) {
+        Duration settle = Duration.ZERO;
+        if (environment.getProperty("employee.datasource.replica.enabled", Boolean.class, false)) {
+            settle = Duration.ofMillis(environment.getRequiredProperty("employee.datasource.replica.max-lag", Long.class)
+                    + environment.getRequiredProperty("employee.datasource.replica.lag-check-delay", Long.class));
+        }
+        //cache names are fixed so actuator binds metrics for them at startup
+        SimpleCacheManager simpleCacheManager = new SimpleCacheManager();
+        simpleCacheManager.setCaches(List.of(new AsyncCaffeineCache(EMPLOYEES_CACHE, Caffeine.from(cacheSpecification).buildAsync(), settle,
+                value -> copyEmployee((Employee) value))));
+        simpleCacheManager.initializeCaches();
+        return new TransactionAwareCacheManagerProxy(simpleCacheManager);
+    }
+
+    //date of birth is mutable too
+    public static Employee copyEmployee(Employee employee) {
+        return employee.toBuilder()
+                .dateOfBirth(employee.getDateOfBirth() == null ? null : new Date(employee.getDateOfBirth().getTime()))
+                .build();
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<AsyncCaffeineCache> asyncCaffeineCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics(cache.getNativeCache().synchronous(), cache.getName(), tags);
+    }
+}
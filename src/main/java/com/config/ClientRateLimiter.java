@@ -0,0 +1,82 @@
+package com.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per client of requests made before there is a principal, e.g. of POST /auth/token,
+ * with one {@link RateLimiter.Limit} for all clients. Buckets are those of {@link RateLimiter},
+ * full ones are removed every employee.rate-limit.prune-delay.
+ * <p>
+ * Requests are counted as employee.rate-limit.hits tagged by role NONE, the name of the limiter
+ * as permission and outcome.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class ClientRateLimiter {
+    private final String name;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Counter allowed;
+    private final Counter limited;
+    private final LongSupplier nanoTime;
+
+    public ClientRateLimiter(String name, RateLimiter.Limit limit, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.name = name;
+        this.intervalNanos = RateLimiter.intervalNanos(limit, name);
+        this.toleranceNanos = intervalNanos * limit.getBurst();
+        this.allowed = hits(meterRegistry, name, "allowed");
+        this.limited = hits(meterRegistry, name, "limited");
+        this.nanoTime = nanoTime;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Takes a token from the bucket of the client.
+     *
+     * @return 0 if a token was taken, otherwise nanoseconds until the bucket has one
+     */
+    public long tryAcquire(String client) {
+        AtomicLong bucket = buckets.get(client);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(client, key -> new AtomicLong(nanoTime.getAsLong()));
+        }
+        long wait = RateLimiter.take(bucket, intervalNanos, toleranceNanos, nanoTime);
+        if (wait == 0) {
+            allowed.increment();
+        } else {
+            limited.increment();
+        }
+        return wait;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.rate-limit.prune-delay}")
+    public void prune() {
+        long now = nanoTime.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private static Counter hits(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder(RateLimiter.HITS_COUNTER)
+                .description("Requests checked against the rate limit of their principal")
+                .tag("role", "NONE")
+                .tag("permission", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
+
+import javax.jms.ConnectionFactory;
+
+/**
+ * Configuration of the listeners of employee.topic in this application,
+ * see {@link com.service.EmployeeNameIndex} and {@link com.service.EmployeeReadModel}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Configuration
+public class EmployeeTopicConfig {
+    public static final String EMPLOYEE_TOPIC_LISTENER_FACTORY = "employeeTopicListenerFactory";
+
+    @Bean(name = EMPLOYEE_TOPIC_LISTENER_FACTORY)
+    public DefaultJmsListenerContainerFactory employeeTopicListenerFactory(ConnectionFactory connectionFactory) {
+        DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setPubSubDomain(true);
+        //one consumer keeps events of an employee in order
+        factory.setConcurrency("1");
+        return factory;
+    }
+}
@@ -0,0 +1,49 @@
+package com.config;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Iterator;
+
+/**
+ * Metrics of the logging pipeline of logback.xml: the events left out by {@link SamplingTurboFilter}
+ * and dropped by the {@link BoundedAsyncAppender}s of the root logger. Logback is configured before
+ * the application context, so they are found in the logger context when the registry is bound.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Configuration
+public class LoggingConfig {
+    @Bean
+    public MeterBinder loggingPipelineMetrics() {
+        return meterRegistry -> {
+            ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+            if (!(loggerFactory instanceof LoggerContext)) {
+                return;
+            }
+            LoggerContext loggerContext = (LoggerContext) loggerFactory;
+            for (TurboFilter turboFilter : loggerContext.getTurboFilterList()) {
+                if (turboFilter instanceof SamplingTurboFilter) {
+                    ((SamplingTurboFilter) turboFilter).bindTo(meterRegistry);
+                }
+            }
+            Iterator<Appender<ILoggingEvent>> appenders = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+            while (appenders.hasNext()) {
+                Appender<ILoggingEvent> appender = appenders.next();
+                if (appender instanceof BoundedAsyncAppender) {
+                    ((BoundedAsyncAppender) appender).bindTo(meterRegistry);
+                }
+            }
+        };
+    }
+}
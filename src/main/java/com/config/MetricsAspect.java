@@ -0,0 +1,74 @@
+package com.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Times every call of {@link com.service.EmployeeService} and of the repositories,
+ * as employee.service and employee.repository timers tagged by class, method,
+ * outcome (SUCCESS or FAILURE) and exception. Percentile histograms of them are
+ * switched on in application.properties.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Aspect
+@Component
+public class MetricsAspect {
+    public static final String SERVICE_TIMER = "employee.service";
+    public static final String REPOSITORY_TIMER = "employee.repository";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public MetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.service.EmployeeService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, joinPoint.getTarget().getClass().getSimpleName(), joinPoint);
+    }
+
+    /**
+     * Matches inherited methods like findById too, repositories are proxies of their interfaces.
+     */
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = Arrays.stream(joinPoint.getThis().getClass().getInterfaces())
+                .filter(Repository.class::isAssignableFrom)
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse("unknown");
+        return time(REPOSITORY_TIMER, repository, joinPoint);
+    }
+
+    private Object time(String name, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "FAILURE";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("class", className)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
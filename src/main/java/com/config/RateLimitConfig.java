@@ -0,0 +1,66 @@
+package com.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.model.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Rate limit of writes to /employees per principal, employee.rate-limit.{role}.per-second
+ * and .burst for each {@link Role}, see {@link RateLimiter}. The filter is registered right
+ * after the Spring Security chain, inside of it the security context of the request is set.
+ * <p>
+ * Rate limit of POST /auth/token per client address and username, employee.rate-limit.token.per-second
+ * and .burst, see {@link TokenRateLimitFilter}, registered right before the Spring Security chain.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(value = "employee.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+    @Bean
+    public RateLimiter rateLimiter(Environment environment, MeterRegistry meterRegistry) {
+        Map<Role, RateLimiter.Limit> limits = new EnumMap<>(Role.class);
+        for (Role role : Role.values()) {
+            String prefix = "employee.rate-limit." + role.name().toLowerCase() + ".";
+            limits.put(role, new RateLimiter.Limit(environment.getRequiredProperty(prefix + "per-second", Double.class),
+                    environment.getRequiredProperty(prefix + "burst", Integer.class)));
+        }
+        return new RateLimiter(limits, meterRegistry, System::nanoTime);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter, objectMapper));
+        registration.addUrlPatterns("/employees/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Bean
+    public ClientRateLimiter tokenRateLimiter(Environment environment, MeterRegistry meterRegistry) {
+        return new ClientRateLimiter("auth:token", new RateLimiter.Limit(
+                environment.getRequiredProperty("employee.rate-limit.token.per-second", Double.class),
+                environment.getRequiredProperty("employee.rate-limit.token.burst", Integer.class)), meterRegistry, System::nanoTime);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TokenRateLimitFilter> tokenRateLimitFilter(ClientRateLimiter tokenRateLimiter, ObjectMapper objectMapper) {
+        FilterRegistrationBean<TokenRateLimitFilter> registration = new FilterRegistrationBean<>(new TokenRateLimitFilter(tokenRateLimiter, objectMapper));
+        registration.addUrlPatterns("/auth/token");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,123 @@
+package com.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.model.Permission;
+import com.model.Role;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits writes of {@link com.rest.EmployeeController} per authenticated principal with
+ * {@link RateLimiter}, answering 429 with {@code Retry-After} in seconds and a body of the same
+ * shape as {@link com.error.CustomGlobalExceptionHandler}. Runs after the Spring Security chain,
+ * so only authenticated and authorized requests take tokens, see {@link RateLimitConfig}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final Role[] ROLES = Role.values();
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Permission permission = permission(request.getMethod());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (permission == null || authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long waitNanos = rateLimiter.tryAcquire(authentication.getName(), role(authentication.getAuthorities()), permission);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        tooManyRequests(response, objectMapper, permission.getPermission(), waitNanos);
+    }
+
+    /**
+     * Answers 429 with {@code Retry-After} of {@code waitNanos} rounded up to seconds.
+     */
+    static void tooManyRequests(HttpServletResponse response, ObjectMapper objectMapper, String limit, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", new Date());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("message", "Too Many Requests");
+        body.put("errors", List.of("Rate limit of " + limit + " exceeded, try again in " + retryAfterSeconds + " s"));
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * @return permission a request of the method needs, {@code null} if it is not rate limited
+     */
+    static Permission permission(String method) {
+        switch (method) {
+            case "POST":
+            case "PUT":
+            case "PATCH":
+            case "DELETE":
+                return Permission.EMPLOYEES_WRITE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return the last {@link Role} all permissions of which the authorities grant, the first role otherwise
+     */
+    static Role role(Collection<? extends GrantedAuthority> authorities) {
+        for (int i = ROLES.length - 1; i > 0; i--) {
+            if (grantsAll(authorities, ROLES[i])) {
+                return ROLES[i];
+            }
+        }
+        return ROLES[0];
+    }
+
+    private static boolean grantsAll(Collection<? extends GrantedAuthority> authorities, Role role) {
+        for (Permission permission : role.getPermissions()) {
+            boolean granted = false;
+            for (GrantedAuthority authority : authorities) {
+                if (permission.getPermission().equals(authority.getAuthority())) {
+                    granted = true;
+                    break;
+                }
+            }
+            if (!granted) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,160 @@
+package com.config;
+
+import com.model.Permission;
+import com.model.Role;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per principal and {@link Permission}, sized by the {@link Role} of the principal:
+ * a bucket holds up to burst tokens and gets perSecond tokens a second, each request takes one.
+ * <p>
+ * A bucket is a single {@link AtomicLong}, the time at which it would be full again (the
+ * theoretical arrival time of the generic cell rate algorithm), taken by compare-and-set
+ * without locks. Buckets of a permission are in a {@link ConcurrentHashMap}, whose reads do
+ * not lock either. Full buckets are removed every employee.rate-limit.prune-delay, a request
+ * racing with the removal may take its token from the removed bucket and so get it for free.
+ * <p>
+ * Requests are counted as employee.rate-limit.hits tagged by role, permission and outcome
+ * (allowed or limited), not by principal, which would be unbounded.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class RateLimiter {
+    public static final String HITS_COUNTER = "employee.rate-limit.hits";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MAX_TOLERANCE_NANOS = Long.MAX_VALUE / 4;
+    private static final int PERMISSIONS = Permission.values().length;
+
+    private final long[] intervalNanos = new long[Role.values().length];
+    private final long[] toleranceNanos = new long[Role.values().length];
+    private final Map<Permission, ConcurrentHashMap<String, AtomicLong>> buckets = new EnumMap<>(Permission.class);
+    private final Counter[] allowed = new Counter[Role.values().length * PERMISSIONS];
+    private final Counter[] limited = new Counter[allowed.length];
+    private final LongSupplier nanoTime;
+
+    public RateLimiter(Map<Role, Limit> limits, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        for (Role role : Role.values()) {
+            Limit limit = limits.get(role);
+            if (limit == null) {
+                throw new IllegalArgumentException("No rate limit of role " + role);
+            }
+            intervalNanos[role.ordinal()] = intervalNanos(limit, "role " + role);
+            toleranceNanos[role.ordinal()] = intervalNanos[role.ordinal()] * limit.getBurst();
+            for (Permission permission : Permission.values()) {
+                allowed[index(role, permission)] = hits(meterRegistry, role, permission, "allowed");
+                limited[index(role, permission)] = hits(meterRegistry, role, permission, "limited");
+            }
+        }
+        for (Permission permission : Permission.values()) {
+            buckets.put(permission, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Takes a token from the bucket of the principal for the permission.
+     *
+     * @return 0 if a token was taken, otherwise nanoseconds until the bucket has one
+     */
+    public long tryAcquire(String principal, Role role, Permission permission) {
+        ConcurrentHashMap<String, AtomicLong> permissionBuckets = buckets.get(permission);
+        AtomicLong bucket = permissionBuckets.get(principal);
+        if (bucket == null) {
+            bucket = permissionBuckets.computeIfAbsent(principal, key -> new AtomicLong(nanoTime.getAsLong()));
+        }
+        long wait = take(bucket, intervalNanos[role.ordinal()], toleranceNanos[role.ordinal()], nanoTime);
+        if (wait == 0) {
+            allowed[index(role, permission)].increment();
+        } else {
+            limited[index(role, permission)].increment();
+        }
+        return wait;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.rate-limit.prune-delay}")
+    public void prune() {
+        long now = nanoTime.getAsLong();
+        buckets.values().forEach(permissionBuckets -> permissionBuckets.values().removeIf(bucket -> bucket.get() - now <= 0));
+    }
+
+    int size(Permission permission) {
+        return buckets.get(permission).size();
+    }
+
+    /**
+     * @param of what is limited, for the messages
+     * @return nanoseconds between two tokens of the limit
+     * @throws IllegalArgumentException if the limit is out of range
+     */
+    static long intervalNanos(Limit limit, String of) {
+        //also false for NaN
+        if (!(limit.getPerSecond() > 0 && limit.getPerSecond() <= NANOS_PER_SECOND)) {
+            throw new IllegalArgumentException("Rate limit per second of " + of + " must be greater than 0 and at most "
+                    + NANOS_PER_SECOND + ", was " + limit.getPerSecond());
+        }
+        if (limit.getBurst() < 1) {
+            throw new IllegalArgumentException("Rate limit burst of " + of + " must be at least 1, was " + limit.getBurst());
+        }
+        long interval = (long) (NANOS_PER_SECOND / limit.getPerSecond());
+        //bucket times are compared by difference, which must not overflow
+        if (interval > MAX_TOLERANCE_NANOS / limit.getBurst()) {
+            throw new IllegalArgumentException("Rate limit of " + of + " refills its burst in more than "
+                    + MAX_TOLERANCE_NANOS / NANOS_PER_SECOND + " seconds");
+        }
+        return interval;
+    }
+
+    /**
+     * Takes a token from the bucket, the time at which it would be full again.
+     *
+     * @return 0 if a token was taken, otherwise nanoseconds until the bucket has one
+     */
+    static long take(AtomicLong bucket, long intervalNanos, long toleranceNanos, LongSupplier nanoTime) {
+        while (true) {
+            long now = nanoTime.getAsLong();
+            long full = bucket.get();
+            long next = (full - now > 0 ? full : now) + intervalNanos;
+            long wait = next - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private static int index(Role role, Permission permission) {
+        return role.ordinal() * PERMISSIONS + permission.ordinal();
+    }
+
+    private static Counter hits(MeterRegistry meterRegistry, Role role, Permission permission, String outcome) {
+        return Counter.builder(HITS_COUNTER)
+                .description("Requests checked against the rate limit of their principal")
+                .tag("role", role.name())
+                .tag("permission", permission.getPermission())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rate limit of a role, burst tokens refilled at perSecond tokens a second.
+     * Checked when the {@link RateLimiter} is created, so a bad configuration fails at startup.
+     */
+    @Value
+    public static class Limit {
+        double perSecond;
+        int burst;
+    }
+}
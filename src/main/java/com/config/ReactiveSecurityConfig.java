@@ -0,0 +1,125 @@
+package com.config;
+
+import com.service.TokenService;
+import com.service.TokenServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.authentication.RedirectServerAuthenticationSuccessHandler;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.authentication.logout.RedirectServerLogoutSuccessHandler;
+import org.springframework.security.web.server.util.matcher.AndServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Clock;
+import java.util.Base64;
+
+/**
+ * Security of the reactive profile with the rules of {@link SecurityConfig}: the same users
+ * and authorities, form login at /auth/login, bearer tokens from /auth/token on /employees/**
+ * and {@code @PreAuthorize} on controller methods.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveSecurityConfig {
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, TokenService tokenService) {
+        RedirectServerLogoutSuccessHandler logoutSuccessHandler = new RedirectServerLogoutSuccessHandler();
+        logoutSuccessHandler.setLogoutSuccessUrl(URI.create("/auth/login"));
+        return http
+                .csrf().disable()
+                .addFilterAt(tokenAuthenticationFilter(tokenService), SecurityWebFiltersOrder.HTTP_BASIC)
+                .authorizeExchange()
+                .pathMatchers("/").permitAll()
+                .pathMatchers(HttpMethod.POST, "/auth/token").permitAll()
+                .pathMatchers("/auth/login").permitAll()
+                .anyExchange()
+                .authenticated()
+                .and()
+                .formLogin()
+                .loginPage("/auth/login")
+                .authenticationSuccessHandler(new RedirectServerAuthenticationSuccessHandler("/auth/success"))
+                .and()
+                .logout()
+                .logoutUrl("/auth/logout")
+                .logoutSuccessHandler(logoutSuccessHandler)
+                .and()
+                .build();
+    }
+
+    @Bean
+    public ReactiveUserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
+        return new MapReactiveUserDetailsService(SecurityConfig.users(passwordEncoder));
+    }
+
+    /**
+     * Checks passwords of form login and /auth/token, BCrypt runs off the event loop.
+     */
+    @Bean
+    public ReactiveAuthenticationManager authenticationManager(ReactiveUserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        return authenticationManager;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder(12);
+    }
+
+    @Bean
+    public TokenService tokenService(@Value("${employee.auth.token.secret:}") String secret,
+                                     @Value("${employee.auth.token.ttl-seconds}") long ttlSeconds) {
+        return new TokenServiceImpl(Base64.getDecoder().decode(secret), ttlSeconds, Clock.systemUTC());
+    }
+
+    /**
+     * Stateless authentication of /employees/** requests with {@code Authorization: Bearer <token>},
+     * the reactive counterpart of {@link TokenAuthenticationFilter}. Nothing is stored in the session.
+     */
+    private static AuthenticationWebFilter tokenAuthenticationFilter(TokenService tokenService) {
+        AuthenticationWebFilter filter = new AuthenticationWebFilter((ReactiveAuthenticationManager) authentication ->
+                Mono.fromCallable(() -> tokenService.verifyToken((String) authentication.getCredentials())));
+        ServerWebExchangeMatcher bearer = exchange -> {
+            String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            return authorization != null && authorization.startsWith(TokenAuthenticationFilter.BEARER_PREFIX)
+                    ? ServerWebExchangeMatcher.MatchResult.match()
+                    : ServerWebExchangeMatcher.MatchResult.notMatch();
+        };
+        filter.setRequiresAuthenticationMatcher(new AndServerWebExchangeMatcher(ServerWebExchangeMatchers.pathMatchers("/employees/**"), bearer));
+        filter.setServerAuthenticationConverter(exchange -> {
+            String token = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION)
+                    .substring(TokenAuthenticationFilter.BEARER_PREFIX.length());
+            return Mono.just(new PreAuthenticatedAuthenticationToken(token, token));
+        });
+        filter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)));
+        return filter;
+    }
+}
@@ -0,0 +1,87 @@
+package com.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * JDBC data sources of a primary and a read replica, read-only transactions like
+ * {@code getEmployees} and {@code getEmployeeById} of {@link com.service.EmployeeServiceImpl}
+ * read from the replica, see {@link ReplicaRoutingDataSource}. The primary has the same
+ * spring.datasource.* properties as without the replica, Flyway migrates only it.
+ * Reads of the reactive profile go through R2DBC to the primary.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Configuration
+@ConditionalOnProperty(value = "employee.datasource.replica.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "employee.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${employee.datasource.replica.url}") String url,
+                                              @Value("${employee.datasource.replica.username}") String username,
+                                              @Value("${employee.datasource.replica.password}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                             @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                             @Value("${employee.datasource.replica.primary-position-query}") String primaryPositionQuery,
+                                                             @Value("${employee.datasource.replica.lag-query}") String lagQuery,
+                                                             @Value("${employee.datasource.replica.max-lag}") long maxLagMillis,
+                                                             @Value("${employee.datasource.replica.lag-check-delay}") long lagCheckDelayMillis,
+                                                             MeterRegistry meterRegistry) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, primaryPositionQuery, lagQuery, maxLagMillis, lagCheckDelayMillis, meterRegistry, System::nanoTime);
+    }
+
+    /**
+     * The connection is fetched at the first statement, when the transaction has begun and
+     * its read-only flag is known. The routing data source is injected lazily and the defaults
+     * of the pools, auto-commit READ COMMITTED of both PostgreSQL and H2, are given instead of
+     * read from a connection: each DataSource bean makes Spring Boot look up the primary one,
+     * this one, for its initializer.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Lazy @Qualifier("replicaRoutingDataSource") DataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(replicaRoutingDataSource);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+}
@@ -0,0 +1,163 @@
+package com.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Routes connections of read-only transactions to the replica, all others to the primary.
+ * The replica is used only while its lag is at most maxLag. Every lag-check-delay the position
+ * of the primary, from primaryPositionQuery, is given to lagQuery on the replica, which returns
+ * 0 when the replica has replayed up to it, its lag otherwise, or null when it is not known;
+ * an unknown lag keeps reads on the primary. A principal whose transaction wrote reads from
+ * the primary for maxLag + lag-check-delay after the commit, until the replica has its writes:
+ * read-your-writes per principal, which covers all sessions of it, form login and bearer tokens alike.
+ * <p>
+ * The read-only flag of a transaction is known only after it began, so this must sit behind
+ * a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which fetches
+ * the connection at the first statement, see {@link ReplicaDataSourceConfig}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    public static final String LAG_GAUGE = "employee.datasource.replica.lag";
+    public static final String ROUTED_COUNTER = "employee.datasource.routed";
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String primaryPositionQuery;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final long stickyNanos;
+    private final LongSupplier nanoTime;
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter routedToPrimary;
+    private final Counter routedToReplica;
+    //the primary until the first lag check
+    private volatile boolean replicaInSync;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, String primaryPositionQuery, String lagQuery,
+                                    long maxLagMillis, long lagCheckDelayMillis, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.primaryPositionQuery = primaryPositionQuery;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.stickyNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMillis + lagCheckDelayMillis);
+        this.nanoTime = nanoTime;
+
+        TimeGauge.builder(LAG_GAUGE, lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Replication lag of the replica at the last check")
+                .register(meterRegistry);
+        this.routedToPrimary = routed(meterRegistry, Target.PRIMARY);
+        this.routedToReplica = routed(meterRegistry, Target.REPLICA);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String principal = principal();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (principal != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                wrote(principal);
+            }
+            routedToPrimary.increment();
+            return Target.PRIMARY;
+        }
+        if (!replicaInSync || (principal != null && wroteRecently(principal))) {
+            routedToPrimary.increment();
+            return Target.PRIMARY;
+        }
+        routedToReplica.increment();
+        return Target.REPLICA;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.datasource.replica.lag-check-delay}")
+    public void checkLag() {
+        boolean inSync;
+        try {
+            String position = primaryJdbcTemplate.queryForObject(primaryPositionQuery, String.class);
+            Long lag = replicaJdbcTemplate.queryForObject(lagQuery, Long.class, position);
+            //null when the replica is not a standby or has not replayed anything yet
+            inSync = lag != null && lag <= maxLagMillis;
+            if (lag != null) {
+                lagMillis.set(lag);
+            }
+        } catch (DataAccessException e) {
+            LOG.debug("Replica lag check failed", e);
+            inSync = false;
+        }
+        if (inSync != replicaInSync) {
+            if (inSync) {
+                LOG.info("Replica lag {} ms, read-only transactions go to the replica", lagMillis.get());
+            } else {
+                LOG.warn("Replica lag {} ms exceeds {} ms or is unknown, read-only transactions go to the primary", lagMillis.get(), maxLagMillis);
+            }
+            replicaInSync = inSync;
+        }
+        long now = nanoTime.getAsLong();
+        lastWrites.values().removeIf(written -> now - written >= stickyNanos);
+    }
+
+    /**
+     * Reads of the principal go to the primary from the commit of its write on, a write
+     * rolled back does not count. Without transaction synchronization, the commit is not
+     * known and the write counts from now on.
+     */
+    private void wrote(String principal) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lastWrites.put(principal, nanoTime.getAsLong());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWrites.put(principal, nanoTime.getAsLong());
+            }
+        });
+    }
+
+    private boolean wroteRecently(String principal) {
+        Long written = lastWrites.get(principal);
+        return written != null && nanoTime.getAsLong() - written < stickyNanos;
+    }
+
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, Target target) {
+        return Counter.builder(ROUTED_COUNTER)
+                .description("Connections fetched from the primary or the replica")
+                .tag("target", target.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,88 @@
+package com.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logs one of every N events below WARN of the loggers given in logback.xml as
+ * {@code <sample>logger=N</sample>}, e.g. of a message on every request. The other events
+ * are denied before they are created, their messages are never formatted. Logger names
+ * match exactly, not their descendants. Events left out are counted as employee.logging.sampled
+ * tagged by logger, bound by {@link LoggingConfig}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class SamplingTurboFilter extends TurboFilter implements MeterBinder {
+    public static final String SAMPLED_COUNTER = "employee.logging.sampled";
+
+    private final Map<String, Sample> samples = new ConcurrentHashMap<>();
+
+    public void addSample(String sample) {
+        int separator = sample.lastIndexOf('=');
+        if (separator < 0) {
+            addError("Sample " + sample + " is not logger=N");
+            return;
+        }
+        try {
+            int rate = Integer.parseInt(sample.substring(separator + 1).trim());
+            if (rate < 1) {
+                throw new NumberFormatException("less than 1");
+            }
+            samples.put(sample.substring(0, separator).trim(), new Sample(rate));
+        } catch (NumberFormatException e) {
+            addError("Sample rate of " + sample + " is not a positive integer", e);
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        //format is null for isDebugEnabled() and the like, only events are sampled
+        if (format == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        Sample sample = samples.get(logger.getName());
+        if (sample == null || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        return sample.keep() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        samples.forEach((logger, sample) -> FunctionCounter.builder(SAMPLED_COUNTER, sample.sampled, LongAdder::sum)
+                .description("Log events left out by sampling")
+                .tag("logger", logger)
+                .register(meterRegistry));
+    }
+
+    private static class Sample {
+        private final int rate;
+        private final AtomicLong events = new AtomicLong();
+        private final LongAdder sampled = new LongAdder();
+
+        Sample(int rate) {
+            this.rate = rate;
+        }
+
+        boolean keep() {
+            if (events.getAndIncrement() % rate == 0) {
+                return true;
+            }
+            sampled.increment();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled tasks such as {@link com.service.EmployeeOutboxRelay}.
+ * Kept apart from the application class so that test slices do not run them.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
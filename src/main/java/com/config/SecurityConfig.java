@@ -1,20 +1,41 @@
 package com.config;
 
 import com.model.Role;
+import com.service.TokenService;
+import com.service.TokenServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import java.time.Clock;
+import java.util.Base64;
+import java.util.List;
+
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSecurity
 @EnableGlobalMethodSecurity(prePostEnabled = true)
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
@@ -24,6 +45,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .csrf().disable()
                 .authorizeRequests()
                 .antMatchers("/").permitAll()
+                .antMatchers(HttpMethod.POST, "/auth/token").permitAll()
                 .anyRequest()
                 .authenticated()
                 .and()
@@ -43,15 +65,22 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Bean
     @Override
     protected UserDetailsService userDetailsService() {
-        return new InMemoryUserDetailsManager(
+        return new InMemoryUserDetailsManager(users(passwordEncoder()));
+    }
+
+    /**
+     * Users of both the servlet and the reactive stack, see {@link ReactiveSecurityConfig}.
+     */
+    static List<UserDetails> users(PasswordEncoder passwordEncoder) {
+        return List.of(
                 User.builder()
                         .username("admin")
-                        .password(passwordEncoder().encode("admin"))
+                        .password(passwordEncoder.encode("admin"))
                         .authorities(Role.ADMIN.getAuthorities())
                         .build(),
                 User.builder()
                         .username("user")
-                        .password(passwordEncoder().encode("user"))
+                        .password(passwordEncoder.encode("user"))
                         .authorities(Role.USER.getAuthorities())
                         .build()
         );
@@ -61,4 +90,53 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     protected PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder(12);
     }
+
+    @Bean
+    @Override
+    public AuthenticationManager authenticationManagerBean() throws Exception {
+        return super.authenticationManagerBean();
+    }
+
+    @Bean
+    public TokenService tokenService(@Value("${employee.auth.token.secret:}") String secret,
+                                     @Value("${employee.auth.token.ttl-seconds}") long ttlSeconds) {
+        return new TokenServiceImpl(Base64.getDecoder().decode(secret), ttlSeconds, Clock.systemUTC());
+    }
+
+    /**
+     * Stateless chain for machine clients sending a bearer token from /auth/token,
+     * checked before the form login chain. A token is verified by its HMAC signature,
+     * without the BCrypt cost of a password check and without a session.
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @Order(1)
+    public static class TokenSecurityConfig extends WebSecurityConfigurerAdapter {
+        private final TokenService tokenService;
+
+        @Autowired
+        public TokenSecurityConfig(TokenService tokenService) {
+            this.tokenService = tokenService;
+        }
+
+        @Override
+        protected void configure(HttpSecurity http) throws Exception {
+            AuthenticationEntryPoint unauthorized = new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED);
+            http
+                    .requestMatcher(new AndRequestMatcher(new AntPathRequestMatcher("/employees/**"), request -> {
+                        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+                        return authorization != null && authorization.startsWith(TokenAuthenticationFilter.BEARER_PREFIX);
+                    }))
+                    .csrf().disable()
+                    .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                    .and()
+                    .addFilterBefore(new TokenAuthenticationFilter(tokenService, unauthorized), UsernamePasswordAuthenticationFilter.class)
+                    .authorizeRequests()
+                    .anyRequest()
+                    .authenticated()
+                    .and()
+                    .exceptionHandling()
+                    .authenticationEntryPoint(unauthorized);
+        }
+    }
 }
@@ -0,0 +1,71 @@
+package com.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.servlet.DispatcherType;
+import javax.sql.DataSource;
+
+/**
+ * Recording of the SQL statements of the data source, see {@link SqlStatementRecorder}: the
+ * data source bean is wrapped by datasource-proxy, requests to /employees are counted after
+ * the rate limit, the recorder is the task decorator of the task executor of Spring Boot and
+ * of the {@link Bulkhead}s, so statements on their threads count for the request.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Configuration
+@ConditionalOnProperty(value = "employee.sql.recorder.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementConfig {
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    /**
+     * Static, post processors are created before other beans. The recorder is looked up
+     * only when the data source is, the data source of Spring Boot or of {@link ReplicaDataSourceConfig}.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatementDataSourcePostProcessor(ObjectProvider<SqlStatementRecorder> sqlStatementRecorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource) {
+                    return sqlStatementRecorder.getObject().wrap((DataSource) bean, beanName);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatementRecorder sqlStatementRecorder(@Value("${employee.sql.n-plus-one-threshold}") int nPlusOneThreshold,
+                                                     @Value("${employee.sql.slow-threshold}") long slowThresholdMillis,
+                                                     @Value("${employee.sql.max-statements}") int maxStatements,
+                                                     MeterRegistry meterRegistry) {
+        return new SqlStatementRecorder(nPlusOneThreshold, slowThresholdMillis, maxStatements, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<SqlStatementFilter> sqlStatementFilter(SqlStatementRecorder sqlStatementRecorder) {
+        FilterRegistrationBean<SqlStatementFilter> registration = new FilterRegistrationBean<>(new SqlStatementFilter(sqlStatementRecorder));
+        registration.addUrlPatterns("/employees/*");
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+
+    @Bean
+    public SqlStatementEndpoint sqlStatementEndpoint(SqlStatementRecorder sqlStatementRecorder, @Value("${employee.sql.top}") int top) {
+        return new SqlStatementEndpoint(sqlStatementRecorder, top);
+    }
+}
@@ -0,0 +1,39 @@
+package com.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Top offenders recorded by {@link SqlStatementRecorder} on /monitor/sql: the slowest statements
+ * with their plans and the requests with the most statements. DELETE starts recording anew,
+ * e.g. before a load test.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Endpoint(id = "sql")
+public class SqlStatementEndpoint {
+    private final SqlStatementRecorder sqlStatementRecorder;
+    private final int top;
+
+    public SqlStatementEndpoint(SqlStatementRecorder sqlStatementRecorder, int top) {
+        this.sqlStatementRecorder = sqlStatementRecorder;
+        this.top = top;
+    }
+
+    @ReadOperation
+    public Map<String, List<?>> offenders() {
+        return Map.of("slowestStatements", sqlStatementRecorder.slowestStatements(top),
+                "busiestRequests", sqlStatementRecorder.busiestRequests(top));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sqlStatementRecorder.reset();
+    }
+}
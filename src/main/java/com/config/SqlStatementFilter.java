@@ -0,0 +1,58 @@
+package com.config;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements of a request with {@link SqlStatementRecorder}, of async requests
+ * like those of {@link com.rest.EmployeeController} until the async dispatch, and records
+ * them under the method and the mapped pattern of the request.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class SqlStatementFilter extends OncePerRequestFilter {
+    private static final String STATEMENTS_ATTRIBUTE = SqlStatementFilter.class.getName() + ".STATEMENTS";
+
+    private final SqlStatementRecorder sqlStatementRecorder;
+
+    public SqlStatementFilter(SqlStatementRecorder sqlStatementRecorder) {
+        this.sqlStatementRecorder = sqlStatementRecorder;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementRecorder.RequestStatements statements = (SqlStatementRecorder.RequestStatements) request.getAttribute(STATEMENTS_ATTRIBUTE);
+        if (statements == null) {
+            statements = new SqlStatementRecorder.RequestStatements();
+            request.setAttribute(STATEMENTS_ATTRIBUTE, statements);
+        }
+        SqlStatementRecorder.RequestStatements previous = sqlStatementRecorder.attach(statements);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            sqlStatementRecorder.detach(previous);
+            if (!request.isAsyncStarted()) {
+                sqlStatementRecorder.complete(request(request), statements);
+            }
+        }
+    }
+
+    static String request(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern instanceof String ? pattern : request.getRequestURI());
+    }
+}
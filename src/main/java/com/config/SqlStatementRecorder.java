@@ -0,0 +1,373 @@
+package com.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Records every SQL statement of the data source it wraps: executions and time per statement,
+ * and statements per request, counted on the threads of the request and of the tasks it hands
+ * over to executors with this as their task decorator, see {@link SqlStatementFilter}.
+ * <p>
+ * A request with more than the N+1 threshold of statements is logged with its most repeated
+ * statement, like a SELECT per row of a page. A statement slower than the slow threshold is
+ * logged with its plan, EXPLAIN of it with the same parameters, taken once per statement on a
+ * thread of its own from the wrapped data source. Counted as employee.sql.n-plus-one and
+ * employee.sql.slow, the top offenders are on /monitor/sql, see {@link SqlStatementEndpoint}.
+ * At most maxStatements distinct statements, and requests, are kept.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class SqlStatementRecorder implements QueryExecutionListener, TaskDecorator, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(SqlStatementRecorder.class);
+    public static final String N_PLUS_ONE_COUNTER = "employee.sql.n-plus-one";
+    public static final String SLOW_COUNTER = "employee.sql.slow";
+
+    private final int nPlusOneThreshold;
+    private final long slowThresholdMillis;
+    private final int maxStatements;
+    private final Counter nPlusOne;
+    private final Counter slow;
+    private final ThreadPoolExecutor planExecutor;
+
+    private final ThreadLocal<RequestStatements> currentRequest = new ThreadLocal<>();
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Map<String, RequestStats> requests = new ConcurrentHashMap<>();
+    private volatile DataSource planDataSource;
+
+    public SqlStatementRecorder(int nPlusOneThreshold, long slowThresholdMillis, int maxStatements, MeterRegistry meterRegistry) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.slowThresholdMillis = slowThresholdMillis;
+        this.maxStatements = maxStatements;
+        this.nPlusOne = Counter.builder(N_PLUS_ONE_COUNTER)
+                .description("Requests with more SQL statements than the N+1 threshold")
+                .register(meterRegistry);
+        this.slow = Counter.builder(SLOW_COUNTER)
+                .description("SQL statements slower than the slow threshold")
+                .register(meterRegistry);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("sql-plan-");
+        threadFactory.setDaemon(true);
+        //slow statements while the queue is full are logged without their plan
+        this.planExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Wraps the data source so that its statements are recorded, plans are taken from it unwrapped.
+     */
+    public DataSource wrap(DataSource dataSource, String name) {
+        this.planDataSource = dataSource;
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(name)
+                .listener(this)
+                .build();
+    }
+
+    /**
+     * Counts the statements of the current thread in {@code statements} until {@link #detach}.
+     *
+     * @return the statements counted before, to pass to {@link #detach}
+     */
+    public RequestStatements attach(RequestStatements statements) {
+        RequestStatements previous = currentRequest.get();
+        currentRequest.set(statements);
+        return previous;
+    }
+
+    public void detach(RequestStatements previous) {
+        if (previous == null) {
+            currentRequest.remove();
+        } else {
+            currentRequest.set(previous);
+        }
+    }
+
+    /**
+     * Records the statements of a completed request, e.g. {@code GET /employees/{id}}.
+     */
+    public void complete(String request, RequestStatements statements) {
+        int count = statements.count.get();
+        boolean flagged = count > nPlusOneThreshold;
+        String mostRepeated = flagged ? statements.mostRepeated() : null;
+        RequestStats stats = requests.get(request);
+        if (stats == null && requests.size() < maxStatements) {
+            stats = requests.computeIfAbsent(request, RequestStats::new);
+        }
+        if (stats != null) {
+            stats.record(count, flagged, mostRepeated);
+        }
+        if (flagged) {
+            nPlusOne.increment();
+            LOG.warn("Request {} issued {} SQL statements, more than {}, {} times: {}", request, count, nPlusOneThreshold,
+                    statements.perStatement.get(mostRepeated), mostRepeated);
+        }
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        RequestStatements statements = currentRequest.get();
+        if (statements == null) {
+            return runnable;
+        }
+        return () -> {
+            RequestStatements previous = attach(statements);
+            try {
+                runnable.run();
+            } finally {
+                detach(previous);
+            }
+        };
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+        long elapsedMillis = executionInfo.getElapsedTime();
+        RequestStatements request = currentRequest.get();
+        for (QueryInfo query : queries) {
+            String sql = query.getQuery();
+            StatementStats stats = statements.get(sql);
+            if (stats == null && statements.size() < maxStatements) {
+                stats = statements.computeIfAbsent(sql, StatementStats::new);
+            }
+            if (stats != null) {
+                stats.record(elapsedMillis);
+            }
+            if (request != null) {
+                request.record(sql);
+            }
+            if (elapsedMillis >= slowThresholdMillis) {
+                slow.increment();
+                logSlow(executionInfo, query, stats, elapsedMillis);
+            }
+        }
+    }
+
+    /**
+     * Statements with the longest executions, slowest first.
+     */
+    public List<StatementStats> slowestStatements(int limit) {
+        return statements.values().stream()
+                .sorted(Comparator.comparingLong(StatementStats::getMaxMillis).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Requests with the most statements, most first.
+     */
+    public List<RequestStats> busiestRequests(int limit) {
+        return requests.values().stream()
+                .sorted(Comparator.comparingInt(RequestStats::getMaxStatements).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public void reset() {
+        statements.clear();
+        requests.clear();
+    }
+
+    @Override
+    public void close() {
+        planExecutor.shutdownNow();
+    }
+
+    private void logSlow(ExecutionInfo executionInfo, QueryInfo query, StatementStats stats, long elapsedMillis) {
+        String sql = query.getQuery();
+        if (stats != null && stats.plan != null) {
+            LOG.warn("Slow SQL statement, {} ms: {}\n{}", elapsedMillis, sql, stats.plan);
+            return;
+        }
+        if (stats != null && isExplainable(executionInfo, sql) && stats.planRequested.compareAndSet(false, true)) {
+            List<ParameterSetOperation> parameters = query.getParametersList().isEmpty() ? List.of() : query.getParametersList().get(0);
+            try {
+                planExecutor.execute(() -> {
+                    stats.plan = explain(sql, parameters);
+                    LOG.warn("Slow SQL statement, {} ms: {}\n{}", elapsedMillis, sql, stats.plan);
+                });
+                return;
+            } catch (RejectedExecutionException e) {
+                stats.planRequested.set(false);
+            }
+        }
+        LOG.warn("Slow SQL statement, {} ms: {}", elapsedMillis, sql);
+    }
+
+    private static boolean isExplainable(ExecutionInfo executionInfo, String sql) {
+        if (executionInfo.isBatch() || executionInfo.getStatementType() == StatementType.CALLABLE) {
+            return false;
+        }
+        String statement = sql.stripLeading().toLowerCase();
+        return statement.startsWith("select") || statement.startsWith("update")
+                || statement.startsWith("delete") || statement.startsWith("insert");
+    }
+
+    private String explain(String sql, List<ParameterSetOperation> parameters) {
+        //EXPLAIN without ANALYZE plans the statement without running it
+        try (Connection connection = planDataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (ParameterSetOperation parameter : parameters) {
+                parameter.getMethod().invoke(statement, parameter.getArgs());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        } catch (Exception e) {
+            LOG.debug("EXPLAIN of {} failed", sql, e);
+            return "plan unavailable: " + e;
+        }
+    }
+
+    /**
+     * Statements of one request, counted by {@link SqlStatementRecorder}.
+     */
+    public static class RequestStatements {
+        private final AtomicInteger count = new AtomicInteger();
+        private final Map<String, Integer> perStatement = new ConcurrentHashMap<>();
+
+        void record(String sql) {
+            count.incrementAndGet();
+            perStatement.merge(sql, 1, Integer::sum);
+        }
+
+        public int getCount() {
+            return count.get();
+        }
+
+        String mostRepeated() {
+            return perStatement.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+        }
+    }
+
+    /**
+     * Executions of one SQL statement.
+     */
+    public static class StatementStats {
+        private final String sql;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+        private final AtomicBoolean planRequested = new AtomicBoolean();
+        private volatile String plan;
+
+        StatementStats(String sql) {
+            this.sql = sql;
+        }
+
+        void record(long elapsedMillis) {
+            executions.increment();
+            totalMillis.add(elapsedMillis);
+            maxMillis.accumulate(elapsedMillis);
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getExecutions() {
+            return executions.sum();
+        }
+
+        public long getTotalMillis() {
+            return totalMillis.sum();
+        }
+
+        public long getMaxMillis() {
+            return maxMillis.get();
+        }
+
+        public String getPlan() {
+            return plan;
+        }
+    }
+
+    /**
+     * Statements per request of one handler, like {@code DELETE /employees/{id}}.
+     */
+    public static class RequestStats {
+        private final String request;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder flagged = new LongAdder();
+        private final AtomicInteger maxStatements = new AtomicInteger();
+        private volatile String mostRepeated;
+
+        RequestStats(String request) {
+            this.request = request;
+        }
+
+        void record(int count, boolean nPlusOne, String mostRepeated) {
+            requests.increment();
+            statements.add(count);
+            maxStatements.accumulateAndGet(count, Math::max);
+            if (nPlusOne) {
+                flagged.increment();
+                this.mostRepeated = mostRepeated;
+            }
+        }
+
+        public String getRequest() {
+            return request;
+        }
+
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        public long getStatements() {
+            return statements.sum();
+        }
+
+        public int getMaxStatements() {
+            return maxStatements.get();
+        }
+
+        public long getFlagged() {
+            return flagged.sum();
+        }
+
+        public String getMostRepeated() {
+            return mostRepeated;
+        }
+    }
+}
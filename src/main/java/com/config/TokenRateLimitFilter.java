@@ -0,0 +1,48 @@
+package com.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Rate limits POST /auth/token, which anyone may call and which checks a BCrypt password each
+ * time, per client address and per username with {@link ClientRateLimiter}, so neither one client
+ * nor many guessing the password of one user keep the CPU busy. Runs before the Spring Security
+ * chain, limited requests are never authenticated, see {@link RateLimitConfig}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class TokenRateLimitFilter extends OncePerRequestFilter {
+    private final ClientRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public TokenRateLimitFilter(ClientRateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!"POST".equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long waitNanos = rateLimiter.tryAcquire("address:" + request.getRemoteAddr());
+        String username = request.getParameter("username");
+        if (waitNanos == 0 && username != null) {
+            waitNanos = rateLimiter.tryAcquire("username:" + username);
+        }
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RateLimitFilter.tooManyRequests(response, objectMapper, rateLimiter.getName(), waitNanos);
+    }
+}
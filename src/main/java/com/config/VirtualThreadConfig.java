@@ -0,0 +1,54 @@
+package com.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskSchedulerBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual threads instead of pools of platform threads: Tomcat runs every request on a
+ * virtual thread of its own, as do async requests like {@code /employees/export}, {@code @Async}
+ * methods and scheduled tasks like the outbox relay sending to employee.topic. A request blocked
+ * on the database then parks its virtual thread and frees the carrier thread for others,
+ * concurrency is bounded by the connection pool instead of {@code server.tomcat.threads.max}.
+ * <p>
+ * A virtual thread blocked inside {@code synchronized} keeps its carrier, see {@link VirtualThreadPinningMonitor}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Configuration
+@ConditionalOnProperty(value = "employee.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory()));
+    }
+
+    /**
+     * Takes the task decorator of the context if there is one, as the task executor of Spring Boot does.
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(ObjectProvider<TaskDecorator> taskDecorator) {
+        TaskExecutorAdapter taskExecutor = new TaskExecutorAdapter(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-virtual-", 0).factory()));
+        taskDecorator.ifUnique(taskExecutor::setTaskDecorator);
+        return taskExecutor;
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(TaskSchedulerBuilder builder) {
+        ThreadPoolTaskScheduler taskScheduler = builder.build();
+        taskScheduler.setThreadFactory(Thread.ofVirtual().name("scheduling-virtual-", 0).factory());
+        return taskScheduler;
+    }
+}
@@ -0,0 +1,86 @@
+package com.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads pinned to their carrier thread, e.g. blocked on I/O inside
+ * {@code synchronized} of a JDBC driver or of a cache load, from the jdk.VirtualThreadPinned
+ * events of the JDK flight recorder. Each pinning at least as long as the threshold is timed
+ * as employee.virtual.pinned tagged by the first frame outside the JDK, the first pinning with
+ * a stack is logged with it: the frame holding the monitor is further down.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Component
+@ConditionalOnProperty(value = "employee.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    public static final String PINNED_TIMER = "employee.virtual.pinned";
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 64;
+
+    private final MeterRegistry meterRegistry;
+    private final RecordingStream recordingStream = new RecordingStream();
+    private final Set<String> loggedStacks = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${employee.virtual-threads.pinned-threshold}") long thresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        recordingStream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::pinned);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void close() {
+        recordingStream.close();
+    }
+
+    void pinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String site = frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(VirtualThreadPinningMonitor::frame)
+                .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun."))
+                .findFirst()
+                .orElse("unknown");
+        Timer.builder(PINNED_TIMER)
+                .description("Time virtual threads blocked while pinned to their carrier thread")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(event.getDuration());
+        String stack = frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningMonitor::frame).collect(Collectors.joining("\n\t"));
+        if (loggedStacks.add(stack)) {
+            LOG.warn("Virtual thread pinned for {} ms at {}, further pinning with this stack is only timed:\n\t{}", event.getDuration().toMillis(), site, stack);
+        }
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+}
@@ -1,12 +1,33 @@
 package com.controller;
 
+import com.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/auth")
 public class AuthController {
+    private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
+
+    @Autowired
+    public AuthController(AuthenticationManager authenticationManager, TokenService tokenService) {
+        this.authenticationManager = authenticationManager;
+        this.tokenService = tokenService;
+    }
 
     @GetMapping("/login")
     public String login() {
@@ -17,4 +38,18 @@ public class AuthController {
     public String success() {
         return "success";
     }
+
+    /**
+     * Checks the password once and returns a bearer token for /employees/** of machine clients.
+     */
+    @PostMapping("/token")
+    @ResponseBody
+    public Map<String, Object> token(@RequestParam String username, @RequestParam String password) {
+        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("access_token", tokenService.issueToken(authentication));
+        body.put("token_type", "Bearer");
+        body.put("expires_in", tokenService.getTtlSeconds());
+        return body;
+    }
 }
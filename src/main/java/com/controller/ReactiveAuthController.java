@@ -0,0 +1,75 @@
+package com.controller;
+
+import com.service.TokenService;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link AuthController} of the reactive profile.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/auth")
+public class ReactiveAuthController {
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final TokenService tokenService;
+
+    @Autowired
+    public ReactiveAuthController(ReactiveAuthenticationManager authenticationManager, TokenService tokenService) {
+        this.authenticationManager = authenticationManager;
+        this.tokenService = tokenService;
+    }
+
+    @GetMapping("/login")
+    public String login() {
+        return "login";
+    }
+
+    @GetMapping("/success")
+    public String success() {
+        return "success";
+    }
+
+    /**
+     * Checks the password once and returns a bearer token for /employees/** of machine clients.
+     * Credentials are bound from the form or the query like {@code @RequestParam} of {@link AuthController}.
+     */
+    @PostMapping("/token")
+    @ResponseBody
+    public Mono<Map<String, Object>> token(@Valid Credentials credentials) {
+        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(credentials.getUsername(), credentials.getPassword()))
+                .map(authentication -> {
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("access_token", tokenService.issueToken(authentication));
+                    body.put("token_type", "Bearer");
+                    body.put("expires_in", tokenService.getTtlSeconds());
+                    return body;
+                });
+    }
+
+    @Data
+    public static class Credentials {
+        @NotEmpty(message = "must not be empty")
+        private String username;
+        @NotEmpty(message = "must not be empty")
+        private String password;
+    }
+}
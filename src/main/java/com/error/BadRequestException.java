@@ -0,0 +1,15 @@
+package com.error;
+
+
+/**
+ * Custom exception for malformed request parameters
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.error;
+
+
+/**
+ * Custom exception for a request rejected because its bulkhead is full, see {@link com.config.Bulkhead}
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -1,9 +1,13 @@
 package com.error;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -16,22 +20,30 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
- * Advice of AOP for exception handlers
+ * Advice of AOP for exception handlers of the servlet controllers,
+ * see {@link ReactiveGlobalExceptionHandler} for the reactive ones
  *
  * @author Sergey Ignatyuk
  * @version 1.0
  */
 
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler {
+    static final String CONCURRENCY_FAILURE_ERROR = "Employee was modified concurrently, try again";
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatus status, WebRequest request) {
+        return new ResponseEntity<>(bindingErrorsBody(ex.getBindingResult(), status), headers, status);
+    }
+
+    static Map<String, Object> bindingErrorsBody(BindingResult bindingResult, HttpStatus status) {
         Map<String, Object> body = new LinkedHashMap<>();
         body.put("timestamp", new Date());
         body.put("status", status.value());
 
         //Get all errors
-        List<String> errors = ex.getBindingResult()
+        List<String> errors = bindingResult
                 .getFieldErrors()
                 .stream()
                 .map(DefaultMessageSourceResolvable::getDefaultMessage)
@@ -39,35 +51,61 @@ public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler
 
         body.put("errors", errors);
 
-        return new ResponseEntity<>(body, headers, status);
+        return body;
     }
 
 
     @ExceptionHandler(ResourceNotFoundException.class)
     protected ResponseEntity<Object> handleResourceNotFoundException(ResourceNotFoundException ex) {
-        Map<String, Object> body = new LinkedHashMap<>();
-        body.put("timestamp", new Date());
-        body.put("status", HttpStatus.NOT_FOUND);
-        body.put("message", "Resource Not Found");
+        return errorResponse(HttpStatus.NOT_FOUND, "Resource Not Found", ex.getMessage());
+    }
 
-        List<String> errors = Stream.of(ex.getMessage()).collect(Collectors.toList());
+    @ExceptionHandler(ConstraintViolationException.class)
+    protected ResponseEntity<Object> handleConstraintViolationException(ConstraintViolationException ex) {
+        return errorResponse(HttpStatus.BAD_REQUEST, "Constraint Violation", ex.getMessage());
+    }
 
-        body.put("errors", errors);
+    @ExceptionHandler(BadRequestException.class)
+    protected ResponseEntity<Object> handleBadRequestException(BadRequestException ex) {
+        return errorResponse(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage());
+    }
 
-        return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
+    @ExceptionHandler(PreconditionFailedException.class)
+    protected ResponseEntity<Object> handlePreconditionFailedException(PreconditionFailedException ex) {
+        return errorResponse(HttpStatus.PRECONDITION_FAILED, "Precondition Failed", ex.getMessage());
     }
 
-    @ExceptionHandler(ConstraintViolationException.class)
-    protected ResponseEntity<Object> handleConstraintViolationException(ConstraintViolationException ex) {
+    @ExceptionHandler(BadCredentialsException.class)
+    protected ResponseEntity<Object> handleBadCredentialsException(BadCredentialsException ex) {
+        return errorResponse(HttpStatus.UNAUTHORIZED, "Unauthorized", ex.getMessage());
+    }
+
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    protected ResponseEntity<Object> handleConcurrencyFailureException(ConcurrencyFailureException ex) {
+        return errorResponse(HttpStatus.CONFLICT, "Conflict", CONCURRENCY_FAILURE_ERROR);
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    protected ResponseEntity<Object> handleBulkheadFullException(BulkheadFullException ex) {
+        ResponseEntity<Object> response = errorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", ex.getMessage());
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.set(HttpHeaders.RETRY_AFTER, "1");
+        return new ResponseEntity<>(response.getBody(), httpHeaders, response.getStatusCode());
+    }
+
+    /**
+     * Body of an error response with one error, shared with {@link ReactiveGlobalExceptionHandler}.
+     */
+    static ResponseEntity<Object> errorResponse(HttpStatus status, String message, String error) {
         Map<String, Object> body = new LinkedHashMap<>();
         body.put("timestamp", new Date());
-        body.put("status", HttpStatus.BAD_REQUEST);
-        body.put("message", "Constraint Violation");
+        body.put("status", status.value());
+        body.put("message", message);
 
-        List<String> errors = Stream.of(ex.getMessage()).collect(Collectors.toList());
+        List<String> errors = Stream.of(error).collect(Collectors.toList());
 
         body.put("errors", errors);
 
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(body, status);
     }
 }
@@ -0,0 +1,15 @@
+package com.error;
+
+
+/**
+ * Custom exception for If-Match header that does not match current version
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,67 @@
+package com.error;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import javax.validation.ConstraintViolationException;
+
+/**
+ * Advice of AOP for exception handlers of the reactive controllers, with the same
+ * response bodies as {@link CustomGlobalExceptionHandler} of the servlet ones
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGlobalExceptionHandler {
+    //@Valid request body
+    @ExceptionHandler(WebExchangeBindException.class)
+    protected ResponseEntity<Object> handleWebExchangeBindException(WebExchangeBindException ex) {
+        return new ResponseEntity<>(CustomGlobalExceptionHandler.bindingErrorsBody(ex.getBindingResult(), HttpStatus.BAD_REQUEST), HttpStatus.BAD_REQUEST);
+    }
+
+    //missing or unconvertible parameter, unreadable body
+    @ExceptionHandler(ServerWebInputException.class)
+    protected ResponseEntity<Object> handleServerWebInputException(ServerWebInputException ex) {
+        return CustomGlobalExceptionHandler.errorResponse(HttpStatus.BAD_REQUEST, "Bad Request", ex.getReason());
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    protected ResponseEntity<Object> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        return CustomGlobalExceptionHandler.errorResponse(HttpStatus.NOT_FOUND, "Resource Not Found", ex.getMessage());
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    protected ResponseEntity<Object> handleConstraintViolationException(ConstraintViolationException ex) {
+        return CustomGlobalExceptionHandler.errorResponse(HttpStatus.BAD_REQUEST, "Constraint Violation", ex.getMessage());
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    protected ResponseEntity<Object> handleBadRequestException(BadRequestException ex) {
+        return CustomGlobalExceptionHandler.errorResponse(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage());
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    protected ResponseEntity<Object> handlePreconditionFailedException(PreconditionFailedException ex) {
+        return CustomGlobalExceptionHandler.errorResponse(HttpStatus.PRECONDITION_FAILED, "Precondition Failed", ex.getMessage());
+    }
+
+    @ExceptionHandler(BadCredentialsException.class)
+    protected ResponseEntity<Object> handleBadCredentialsException(BadCredentialsException ex) {
+        return CustomGlobalExceptionHandler.errorResponse(HttpStatus.UNAUTHORIZED, "Unauthorized", ex.getMessage());
+    }
+
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    protected ResponseEntity<Object> handleConcurrencyFailureException(ConcurrencyFailureException ex) {
+        return CustomGlobalExceptionHandler.errorResponse(HttpStatus.CONFLICT, "Conflict", CustomGlobalExceptionHandler.CONCURRENCY_FAILURE_ERROR);
+    }
+}
@@ -0,0 +1,63 @@
+package com.model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Whitelist of {@link Employee} properties employees can be counted by.
+ * Age buckets are derived from the date of birth and move with the current date,
+ * so only the other dimensions can be counted incrementally.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public enum EmployeeDimension {
+    //department IDs are positive integers, a shorter one is the smaller one
+    DEPARTMENT_ID("departmentId", Employee::getDepartmentId, Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder())),
+    GENDER("gender", Employee::getGender, Comparator.naturalOrder()),
+    JOB_TITLE("jobTitle", Employee::getJobTitle, Comparator.naturalOrder()),
+    AGE("age", null, Comparator.naturalOrder());
+
+    public static final String PATTERN = "departmentId|gender|jobTitle|age";
+
+    private final String property;
+    private final Function<Employee, Object> extractor;
+    private final Comparator<String> valueOrder;
+
+    EmployeeDimension(String property, Function<Employee, Object> extractor, Comparator<String> valueOrder) {
+        this.property = property;
+        this.extractor = extractor;
+        this.valueOrder = valueOrder;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public boolean isCounted() {
+        return extractor != null;
+    }
+
+    /**
+     * @return order of {@link #format formatted} values of this dimension, numeric for numbers
+     */
+    public Comparator<String> getValueOrder() {
+        return valueOrder;
+    }
+
+    /**
+     * @return value of this dimension of {@code employee}, for counted dimensions only
+     */
+    public String format(Employee employee) {
+        return String.valueOf(extractor.apply(employee));
+    }
+
+    public static EmployeeDimension of(String property) {
+        return Arrays.stream(values())
+                .filter(dimension -> dimension.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown dimension: " + property));
+    }
+}
@@ -0,0 +1,53 @@
+package com.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * Outbox row: event about {@link Employee}s written in the same transaction
+ * as the change and relayed to employee.topic afterwards.
+ * {@code payload} is the JSON of {@link EmployeeEventMessage}.
+ * {@code writeOrder} is taken from a sequence by the database when the event is inserted, unlike
+ * {@code id}, which comes from blocks of the sequence that instances take in advance. {@code commitOrder}
+ * is given by {@link com.service.EmployeeOutboxRelay} once the event is committed, null until then.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "employee_events")
+public class EmployeeEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_events_seq")
+    @SequenceGenerator(name = "employee_events_seq", sequenceName = "employee_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "write_order", insertable = false, updatable = false)
+    private Long writeOrder;
+
+    @Column(name = "commit_order")
+    private Long commitOrder;
+
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "type")
+    @Enumerated(EnumType.STRING)
+    private EmployeeEventType type;
+
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "created_at")
+    private Date createdAt;
+}
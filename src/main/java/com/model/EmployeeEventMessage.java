@@ -0,0 +1,37 @@
+package com.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of a message on employee.topic. Which fields are set depends on {@code type}:
+ * <ul>
+ * <li>CREATED, UPDATED - {@code employee}, its version orders changes of one employee</li>
+ * <li>DELETED - {@code employeeIds}</li>
+ * <li>DEPARTMENT_MOVED - {@code fromDepartmentId}, {@code toDepartmentId}</li>
+ * <li>JOB_TITLE_CHANGED - {@code employeeIds}, {@code jobTitle}</li>
+ * </ul>
+ * Bulk changes increment the version of every affected employee by one.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeEventMessage {
+    private EmployeeEventType type;
+    private Employee employee;
+    private List<Long> employeeIds;
+    private Integer fromDepartmentId;
+    private Integer toDepartmentId;
+    private String jobTitle;
+}
@@ -0,0 +1,9 @@
+package com.model;
+
+public enum EmployeeEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    DEPARTMENT_MOVED,
+    JOB_TITLE_CHANGED
+}
@@ -0,0 +1,31 @@
+package com.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Filters of employee search, {@code null} fields do not filter.
+ * Names match by prefix, case sensitive so an index on the column can be used,
+ * both bounds of the date of birth range are inclusive.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeFilter {
+    private Integer departmentId;
+    private String jobTitle;
+    private String firstNamePrefix;
+    private String lastNamePrefix;
+    private String gender;
+    private LocalDate dateOfBirthFrom;
+    private LocalDate dateOfBirthTo;
+}
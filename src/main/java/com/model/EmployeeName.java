@@ -0,0 +1,23 @@
+package com.model;
+
+import io.swagger.annotations.ApiModel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Name of an employee suggested by autocomplete.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ApiModel(value = "employee name class")
+public class EmployeeName {
+    private Long id;
+    private String firstName;
+    private String lastName;
+}
@@ -0,0 +1,60 @@
+package com.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * One keyset page of {@link Employee}s together with the cursor of the next page.
+ * {@code nextCursor} is {@code null} when there are no more employees.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Data
+@AllArgsConstructor
+public class EmployeePage {
+    private List<Employee> employees;
+    private String nextCursor;
+
+    /**
+     * @return strong ETag of this page, see {@link #eTag(long[], long[], boolean)}
+     */
+    public String getETag() {
+        long[] ids = new long[employees.size()];
+        long[] versions = new long[employees.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = employees.get(i).getId();
+            versions[i] = employees.get(i).getVersion() == null ? 0 : employees.get(i).getVersion();
+        }
+        return eTag(ids, versions, nextCursor != null);
+    }
+
+    /**
+     * Strong ETag of a page from IDs and versions of its employees in page order.
+     * Every change of an employee increments its version, so the ETag changes
+     * whenever the page body does, without serializing it.
+     */
+    public static String eTag(long[] ids, long[] versions, boolean hasNext) {
+        ByteBuffer buffer = ByteBuffer.allocate(ids.length * 2 * Long.BYTES + 1);
+        for (int i = 0; i < ids.length; i++) {
+            buffer.putLong(ids[i]).putLong(versions[i]);
+        }
+        buffer.put((byte) (hasNext ? 1 : 0));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(buffer.array());
+            StringBuilder eTag = new StringBuilder("\"");
+            for (int i = 0; i < 16; i++) {
+                eTag.append(Character.forDigit((digest[i] >> 4) & 0xF, 16)).append(Character.forDigit(digest[i] & 0xF, 16));
+            }
+            return eTag.append('"').toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
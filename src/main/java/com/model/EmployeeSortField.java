@@ -0,0 +1,60 @@
+package com.model;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.function.Function;
+
+/**
+ * Whitelist of {@link Employee} properties that can be used for sorting
+ * and keyset pagination. Every value knows how to read its property from an
+ * employee and how to restore it from the string form stored in a cursor.
+ * Nulls sort after all other values, as in PostgreSQL.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public enum EmployeeSortField {
+    ID("id", Employee::getId, Long::valueOf),
+    FIRST_NAME("firstName", Employee::getFirstName, value -> value),
+    LAST_NAME("lastName", Employee::getLastName, value -> value),
+    DEPARTMENT_ID("departmentId", Employee::getDepartmentId, Integer::valueOf),
+    JOB_TITLE("jobTitle", Employee::getJobTitle, value -> value),
+    GENDER("gender", Employee::getGender, value -> value),
+    DATE_OF_BIRTH("dateOfBirth", employee -> employee.getDateOfBirth() == null ? null : employee.getDateOfBirth().getTime(), value -> new Date(Long.parseLong(value)));
+
+    public static final String PATTERN = "id|firstName|lastName|departmentId|jobTitle|gender|dateOfBirth";
+
+    private final String property;
+    private final Function<Employee, Object> extractor;
+    private final Function<String, Comparable<?>> parser;
+
+    EmployeeSortField(String property, Function<Employee, Object> extractor, Function<String, Comparable<?>> parser) {
+        this.property = property;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * @return the value of the property as a string, null if it is null
+     */
+    public String format(Employee employee) {
+        Object value = extractor.apply(employee);
+        return value == null ? null : value.toString();
+    }
+
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+
+    public static EmployeeSortField of(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown sort field: " + property));
+    }
+}
@@ -0,0 +1,68 @@
+package com.repository;
+
+import com.model.EmployeeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * JPA repository for {@link com.model.EmployeeEvent}
+ * Implementation of {@link JpaRepository} interface.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+public interface EmployeeEventRepository extends JpaRepository<EmployeeEvent, Long> {
+    /**
+     * Oldest numbered events, locked until the end of the transaction so that
+     * concurrent relays do not send them twice or out of order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from EmployeeEvent e where e.commitOrder is not null order by e.commitOrder")
+    List<EmployeeEvent> findOldest(Pageable pageable);
+
+    /**
+     * Committed events the relay has not numbered yet, in the order they were written.
+     */
+    @Query("select e from EmployeeEvent e where e.commitOrder is null order by e.writeOrder")
+    List<EmployeeEvent> findNotNumbered(Pageable pageable);
+
+    /**
+     * IDs of committed events the relay has not numbered yet. A snapshot has the changes of
+     * these events, though their commit orders will be after its last commit order.
+     */
+    @Query("select e.id from EmployeeEvent e where e.commitOrder is null")
+    List<Long> findNotNumberedIds();
+
+    /**
+     * Last commit order given by the relay, locked until the end of the transaction,
+     * so that relays number events one at a time. Writers of events never lock it.
+     */
+    @Query(value = "select last_commit_order from employee_events_relay where id = 1 for update", nativeQuery = true)
+    long lockLastCommitOrder();
+
+    @Modifying
+    @Query(value = "update employee_events_relay set last_commit_order = :commitOrder where id = 1", nativeQuery = true)
+    void updateLastCommitOrder(@Param("commitOrder") long commitOrder);
+
+    @Query(value = "select last_commit_order from employee_events_relay where id = 1", nativeQuery = true)
+    long findLastCommitOrder();
+
+    /**
+     * @return number of events committed so far, numbered or not: it grows by the events of
+     * every transaction that commits
+     */
+    @Query(value = "select r.last_commit_order + (select count(*) from employee_events e where e.commit_order is null)"
+            + " from employee_events_relay r where r.id = 1", nativeQuery = true)
+    long countCommittedEvents();
+
+    @Query("select min(e.createdAt) from EmployeeEvent e")
+    Date findOldestCreatedAt();
+}
@@ -2,6 +2,16 @@ package com.repository;
 
 import com.model.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * JPA repository for {@link com.model.Employee}
  * Implementation of {@link JpaRepository} interface.
@@ -9,5 +19,44 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * @author Sergey Ignatyuk
  * @version 1.0
  */
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
+    /**
+     * Reads the employee with a row lock, held until the end of the transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Employee e where e.id = :id")
+    Optional<Employee> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * @return pairs of department ID and number of employees
+     */
+    @Query("select e.departmentId, count(e) from Employee e group by e.departmentId")
+    List<Object[]> countByDepartmentId();
+
+    /**
+     * @return pairs of gender and number of employees
+     */
+    @Query("select e.gender, count(e) from Employee e group by e.gender")
+    List<Object[]> countByGender();
+
+    /**
+     * @return pairs of job title and number of employees
+     */
+    @Query("select e.jobTitle, count(e) from Employee e group by e.jobTitle")
+    List<Object[]> countByJobTitle();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned Employee e set e.departmentId = :toDepartmentId where e.departmentId = :fromDepartmentId")
+    int updateDepartmentIdByDepartmentId(@Param("fromDepartmentId") int fromDepartmentId, @Param("toDepartmentId") int toDepartmentId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned Employee e set e.jobTitle = :jobTitle where e.id in :ids")
+    int updateJobTitleByIdIn(@Param("ids") Collection<Long> ids, @Param("jobTitle") String jobTitle);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Employee e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
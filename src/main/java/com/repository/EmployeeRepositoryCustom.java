@@ -0,0 +1,71 @@
+package com.repository;
+
+import com.model.Employee;
+import com.model.EmployeeFilter;
+import com.model.EmployeeName;
+import com.model.EmployeeSortField;
+import org.springframework.data.domain.Sort;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Custom queries for {@link com.model.Employee} that can not be expressed
+ * by Spring Data derived queries.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public interface EmployeeRepositoryCustom {
+    /**
+     * Keyset page: employees that go after ({@code lastValue}, {@code lastId})
+     * in the order of {@code sortField} and then {@code id}, both in {@code direction}.
+     * When {@code lastId} is {@code null} the first page is returned.
+     */
+    List<Employee> findPage(EmployeeSortField sortField, Sort.Direction direction, Comparable<?> lastValue, Long lastId, int limit);
+
+    /**
+     * Keyset page as {@link #findPage} of employees matching all filters of {@code filter}.
+     */
+    List<Employee> searchPage(EmployeeFilter filter, EmployeeSortField sortField, Sort.Direction direction, Comparable<?> lastValue, Long lastId, int limit);
+
+    /**
+     * Same page as {@link #findPage} but only ID and version of each employee,
+     * enough to tell whether the page changed without loading entities.
+     *
+     * @return pairs of ID and version
+     */
+    List<Object[]> findPageVersions(EmployeeSortField sortField, Sort.Direction direction, Comparable<?> lastValue, Long lastId, int limit);
+
+    /**
+     * Counts employees by date of birth ranges in one scan: before {@code bounds[0]},
+     * from {@code bounds[i - 1]} inclusive to {@code bounds[i]} exclusive, and from the
+     * last bound on. Bounds must be ascending.
+     *
+     * @return {@code bounds.length + 1} counts
+     */
+    long[] countByDateOfBirthRanges(Date[] bounds);
+
+    /**
+     * At most {@code limit} employees whose first or last name starts with {@code prefix}
+     * ignoring case, ordered by the matching name and then {@code id}, like
+     * {@link com.service.EmployeeNameIndex#complete}. {@code lower(name)} does not use the
+     * name indexes, this is for when the index is not loaded.
+     */
+    List<EmployeeName> findNamesByPrefix(String prefix, int limit);
+
+    /**
+     * Passes every employee, ordered by {@code id}, to {@code action} reading them
+     * through a forward-only cursor. Each employee is detached after {@code action}
+     * so the persistence context does not grow. Must be called inside a transaction.
+     */
+    void forEachEmployee(Consumer<Employee> action);
+
+    /**
+     * Persists {@code employees} in JDBC batches, flushing and clearing the
+     * persistence context after every batch. Must be called inside a transaction.
+     */
+    List<Employee> saveAllInBatches(List<Employee> employees);
+}
@@ -0,0 +1,231 @@
+package com.repository;
+
+import com.model.Employee;
+import com.model.EmployeeFilter;
+import com.model.EmployeeName;
+import com.model.EmployeeSortField;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link EmployeeRepositoryCustom} interface.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+    private static final int FETCH_SIZE = 1000;
+    //same as hibernate.jdbc.batch_size
+    private static final int BATCH_SIZE = 50;
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Employee> findPage(EmployeeSortField sortField, Sort.Direction direction, Comparable<?> lastValue, Long lastId, int limit) {
+        CriteriaQuery<Employee> query = entityManager.getCriteriaBuilder().createQuery(Employee.class);
+        Root<Employee> root = query.from(Employee.class);
+        return pageQuery(query, root, new ArrayList<>(), sortField, direction, lastValue, lastId, limit).getResultList();
+    }
+
+    @Override
+    public List<Employee> searchPage(EmployeeFilter filter, EmployeeSortField sortField, Sort.Direction direction, Comparable<?> lastValue, Long lastId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Employee> query = cb.createQuery(Employee.class);
+        Root<Employee> root = query.from(Employee.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getDepartmentId() != null) {
+            predicates.add(cb.equal(root.get("departmentId"), filter.getDepartmentId()));
+        }
+        if (filter.getJobTitle() != null) {
+            predicates.add(cb.equal(root.get("jobTitle"), filter.getJobTitle()));
+        }
+        if (filter.getFirstNamePrefix() != null) {
+            predicates.add(cb.like(root.get("firstName"), likePrefix(filter.getFirstNamePrefix()), LIKE_ESCAPE));
+        }
+        if (filter.getLastNamePrefix() != null) {
+            predicates.add(cb.like(root.get("lastName"), likePrefix(filter.getLastNamePrefix()), LIKE_ESCAPE));
+        }
+        if (filter.getGender() != null) {
+            //gender is stored as given, male or Male, Postgres indexes lower(gender) for this predicate
+            predicates.add(cb.equal(cb.lower(root.get("gender")), filter.getGender().toLowerCase(Locale.ROOT)));
+        }
+        //a half-open range on the column itself, a function of it would not use the index
+        if (filter.getDateOfBirthFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("dateOfBirth"), startOfDay(filter.getDateOfBirthFrom())));
+        }
+        if (filter.getDateOfBirthTo() != null) {
+            predicates.add(cb.lessThan(root.get("dateOfBirth"), startOfDay(filter.getDateOfBirthTo().plusDays(1))));
+        }
+        return pageQuery(query, root, predicates, sortField, direction, lastValue, lastId, limit).getResultList();
+    }
+
+    @Override
+    public List<Object[]> findPageVersions(EmployeeSortField sortField, Sort.Direction direction, Comparable<?> lastValue, Long lastId, int limit) {
+        CriteriaQuery<Object[]> query = entityManager.getCriteriaBuilder().createQuery(Object[].class);
+        Root<Employee> root = query.from(Employee.class);
+        query.multiselect(root.get(EmployeeSortField.ID.getProperty()), root.get("version"));
+        return pageQuery(query, root, new ArrayList<>(), sortField, direction, lastValue, lastId, limit).getResultList();
+    }
+
+    @Override
+    public long[] countByDateOfBirthRanges(Date[] bounds) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Employee> root = query.from(Employee.class);
+        Path<Date> dateOfBirth = root.get("dateOfBirth");
+
+        //sum(case when range then 1 else 0 end) per range, so the table is read once
+        List<Selection<?>> sums = new ArrayList<>();
+        for (int i = 0; i <= bounds.length; i++) {
+            Predicate inRange;
+            if (i == 0) {
+                inRange = cb.lessThan(dateOfBirth, bounds[0]);
+            } else if (i == bounds.length) {
+                inRange = cb.greaterThanOrEqualTo(dateOfBirth, bounds[i - 1]);
+            } else {
+                inRange = cb.and(cb.greaterThanOrEqualTo(dateOfBirth, bounds[i - 1]), cb.lessThan(dateOfBirth, bounds[i]));
+            }
+            sums.add(cb.sum(cb.<Long>selectCase().when(inRange, 1L).otherwise(0L)));
+        }
+        query.multiselect(sums);
+
+        Object[] row = entityManager.createQuery(query).getSingleResult();
+        long[] counts = new long[row.length];
+        for (int i = 0; i < row.length; i++) {
+            //sum of no rows is null
+            counts[i] = row[i] == null ? 0 : ((Number) row[i]).longValue();
+        }
+        return counts;
+    }
+
+    @Override
+    public List<EmployeeName> findNamesByPrefix(String prefix, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        //the first limit matches by each name, merged so that an employee matching by both is returned once
+        Map<Long, String> matchingNames = new HashMap<>();
+        Map<Long, EmployeeName> names = new HashMap<>();
+        for (String property : List.of("firstName", "lastName")) {
+            for (EmployeeName name : namesByPrefix(property, key, limit)) {
+                String matchingName = ("firstName".equals(property) ? name.getFirstName() : name.getLastName()).toLowerCase(Locale.ROOT);
+                matchingNames.merge(name.getId(), matchingName, (first, last) -> first.compareTo(last) <= 0 ? first : last);
+                names.put(name.getId(), name);
+            }
+        }
+        return matchingNames.keySet().stream()
+                .sorted(Comparator.comparing((Long id) -> matchingNames.get(id)).thenComparing(Comparator.naturalOrder()))
+                .limit(limit)
+                .map(names::get)
+                .collect(Collectors.toList());
+    }
+
+    private List<EmployeeName> namesByPrefix(String property, String key, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeName> query = cb.createQuery(EmployeeName.class);
+        Root<Employee> root = query.from(Employee.class);
+        Expression<String> name = cb.lower(root.get(property));
+        query.select(cb.construct(EmployeeName.class, root.get("id"), root.get("firstName"), root.get("lastName")))
+                .where(cb.like(name, likePrefix(key), LIKE_ESCAPE))
+                .orderBy(cb.asc(name), cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> TypedQuery<T> pageQuery(CriteriaQuery<T> query, Root<Employee> root, List<Predicate> predicates, EmployeeSortField sortField,
+                                        Sort.Direction direction, Comparable<?> lastValue, Long lastId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Path<Comparable> sortPath = root.get(sortField.getProperty());
+        Path<Long> idPath = root.get(EmployeeSortField.ID.getProperty());
+        boolean asc = direction.isAscending();
+
+        if (lastId != null) {
+            Predicate afterId = asc ? cb.greaterThan(idPath, lastId) : cb.lessThan(idPath, lastId);
+            if (sortField == EmployeeSortField.ID) {
+                predicates.add(afterId);
+            } else if (lastValue == null) {
+                //nulls are greater than all values, PostgreSQL sorts them so, H2 with h2.sortNullsHigh
+                Predicate afterNull = cb.and(cb.isNull(sortPath), afterId);
+                predicates.add(asc ? afterNull : cb.or(cb.isNotNull(sortPath), afterNull));
+            } else {
+                Comparable value = lastValue;
+                Predicate afterValue = asc ? cb.greaterThan(sortPath, value) : cb.lessThan(sortPath, value);
+                Predicate afterPosition = cb.or(afterValue, cb.and(cb.equal(sortPath, value), afterId));
+                predicates.add(asc ? cb.or(afterPosition, cb.isNull(sortPath)) : afterPosition);
+            }
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        if (sortField == EmployeeSortField.ID) {
+            query.orderBy(asc ? cb.asc(idPath) : cb.desc(idPath));
+        } else {
+            query.orderBy(asc ? cb.asc(sortPath) : cb.desc(sortPath), asc ? cb.asc(idPath) : cb.desc(idPath));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit);
+    }
+
+    private static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private static Date startOfDay(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    @Override
+    public void forEachEmployee(Consumer<Employee> action) {
+        //the typed query unwraps to a Hibernate query of the same type
+        @SuppressWarnings("unchecked")
+        Query<Employee> query = entityManager.createQuery("select e from Employee e order by e.id", Employee.class)
+                .unwrap(Query.class);
+        try (ScrollableResults results = query
+                .setFetchSize(FETCH_SIZE)
+                .setReadOnly(true)
+                .setCacheable(false)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                Employee employee = (Employee) results.get(0);
+                action.accept(employee);
+                entityManager.detach(employee);
+            }
+        }
+    }
+
+    @Override
+    public List<Employee> saveAllInBatches(List<Employee> employees) {
+        for (int i = 0; i < employees.size(); i++) {
+            entityManager.persist(employees.get(i));
+            if ((i + 1) % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return employees;
+    }
+}
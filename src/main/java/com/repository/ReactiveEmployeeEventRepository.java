@@ -0,0 +1,43 @@
+package com.repository;
+
+import com.model.EmployeeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Writes {@link EmployeeEvent}s to the outbox over R2DBC for the reactive profile,
+ * they are relayed by {@link com.service.EmployeeOutboxRelay} like those written with JPA.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeEventRepository {
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveEmployeeEventRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Inserts the event, the database gives it its write order like to those written with JPA.
+     */
+    public Mono<Void> save(EmployeeEvent event) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("insert into employee_events (id, employee_id, type, payload, created_at)"
+                + " values (nextval('employee_events_seq'), :employeeId, :type, :payload, :createdAt)")
+                .bind("type", event.getType().name())
+                .bind("payload", event.getPayload())
+                .bind("createdAt", LocalDateTime.ofInstant(event.getCreatedAt().toInstant(), ZoneId.systemDefault()));
+        spec = event.getEmployeeId() == null ? spec.bindNull("employeeId", Long.class) : spec.bind("employeeId", event.getEmployeeId());
+        return spec.then();
+    }
+}
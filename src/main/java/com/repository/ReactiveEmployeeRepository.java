@@ -0,0 +1,206 @@
+package com.repository;
+
+import com.model.Employee;
+import com.model.EmployeeSortField;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Non-blocking access to the employees table over R2DBC for the reactive profile,
+ * with the same keyset pagination as {@link EmployeeRepositoryImpl#findPage}.
+ * Plain SQL with {@link DatabaseClient}, the columns are those mapped by {@link Employee}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeRepository {
+    private static final String SELECT = "select id, first_name, last_name, department_id, job_title, gender, date_of_birth, version from employees";
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveEmployeeRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<Employee> findPage(EmployeeSortField sortField, Sort.Direction direction, Comparable<?> lastValue, Long lastId, int limit) {
+        return pageQuery(SELECT, sortField, direction, lastValue, lastId, limit)
+                .map((row, metadata) -> employee(row))
+                .all();
+    }
+
+    /**
+     * @return IDs and versions of the page {@link #findPage} would return, without the other columns
+     */
+    public Flux<Object[]> findPageVersions(EmployeeSortField sortField, Sort.Direction direction, Comparable<?> lastValue, Long lastId, int limit) {
+        return pageQuery("select id, version from employees", sortField, direction, lastValue, lastId, limit)
+                .map((row, metadata) -> new Object[]{row.get("id", Long.class), row.get("version", Long.class)})
+                .all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec pageQuery(String select, EmployeeSortField sortField, Sort.Direction direction,
+                                                        Comparable<?> lastValue, Long lastId, int limit) {
+        String column = column(sortField);
+        String after = direction.isAscending() ? " > " : " < ";
+        String order = direction.isAscending() ? " asc" : " desc";
+
+        StringBuilder sql = new StringBuilder(select);
+        if (lastId != null) {
+            if (sortField == EmployeeSortField.ID) {
+                sql.append(" where id").append(after).append(":lastId");
+            } else if (lastValue == null) {
+                //nulls are greater than all values, as in EmployeeRepositoryImpl
+                sql.append(" where (").append(column).append(" is null and id").append(after).append(":lastId")
+                        .append(direction.isAscending() ? ")" : " or " + column + " is not null)");
+            } else {
+                sql.append(" where (").append(column).append(after).append(":lastValue or (")
+                        .append(column).append(" = :lastValue and id").append(after).append(":lastId)")
+                        .append(direction.isAscending() ? " or " + column + " is null)" : ")");
+            }
+        }
+        sql.append(" order by ");
+        if (sortField != EmployeeSortField.ID) {
+            sql.append(column).append(order).append(", ");
+        }
+        sql.append("id").append(order).append(" limit :limit");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString()).bind("limit", limit);
+        if (lastId != null) {
+            spec = spec.bind("lastId", lastId);
+            if (sortField != EmployeeSortField.ID && lastValue != null) {
+                spec = spec.bind("lastValue", lastValue instanceof Date ? toLocalDateTime((Date) lastValue) : lastValue);
+            }
+        }
+        return spec;
+    }
+
+    public Mono<Employee> findById(Long id) {
+        return databaseClient.sql(SELECT + " where id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> employee(row))
+                .one();
+    }
+
+    public Mono<Long> findVersionById(Long id) {
+        return databaseClient.sql("select version from employees where id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> row.get("version", Long.class))
+                .one();
+    }
+
+    /**
+     * Inserts {@code employee} with an ID from employees_seq and version 0.
+     * The fetched sequence value itself is the ID. The pooled optimizer of Hibernate hands out
+     * hi-49..hi for each value hi it fetches, and every value is fetched by one caller only,
+     * so the IDs never collide.
+     */
+    public Mono<Employee> insert(Employee employee) {
+        return databaseClient.sql("select nextval('employees_seq')")
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> databaseClient.sql("insert into employees (id, first_name, last_name, department_id, job_title, gender, date_of_birth, version)"
+                        + " values (:id, :firstName, :lastName, :departmentId, :jobTitle, :gender, :dateOfBirth, 0)")
+                        .bind("id", id)
+                        .bind("firstName", employee.getFirstName())
+                        .bind("lastName", employee.getLastName())
+                        .bind("departmentId", employee.getDepartmentId())
+                        .bind("jobTitle", employee.getJobTitle())
+                        .bind("gender", employee.getGender())
+                        .bind("dateOfBirth", toLocalDateTime(employee.getDateOfBirth()))
+                        .then()
+                        .then(Mono.fromCallable(() -> {
+                            employee.setId(id);
+                            employee.setVersion(0L);
+                            return employee;
+                        })));
+    }
+
+    /**
+     * Writes department and job title of {@code employee} if its version is still the one it was read with.
+     *
+     * @return {@code employee} with the incremented version
+     * @throws OptimisticLockingFailureException when the employee was changed or deleted concurrently
+     */
+    public Mono<Employee> update(Employee employee) {
+        return databaseClient.sql("update employees set department_id = :departmentId, job_title = :jobTitle, version = version + 1"
+                + " where id = :id and version = :version")
+                .bind("departmentId", employee.getDepartmentId())
+                .bind("jobTitle", employee.getJobTitle())
+                .bind("id", employee.getId())
+                .bind("version", employee.getVersion())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        return Mono.error(new OptimisticLockingFailureException("Employee with ID: " + employee.getId() + " was modified concurrently"));
+                    }
+                    employee.setVersion(employee.getVersion() + 1);
+                    return Mono.just(employee);
+                });
+    }
+
+    /**
+     * @return number of deleted employees, 0 or 1
+     */
+    public Mono<Integer> deleteById(Long id) {
+        return databaseClient.sql("delete from employees where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static String column(EmployeeSortField sortField) {
+        switch (sortField) {
+            case ID:
+                return "id";
+            case FIRST_NAME:
+                return "first_name";
+            case LAST_NAME:
+                return "last_name";
+            case DEPARTMENT_ID:
+                return "department_id";
+            case JOB_TITLE:
+                return "job_title";
+            case GENDER:
+                return "gender";
+            case DATE_OF_BIRTH:
+                return "date_of_birth";
+            default:
+                throw new IllegalArgumentException("Unknown sort field: " + sortField);
+        }
+    }
+
+    private static Employee employee(Row row) {
+        LocalDateTime dateOfBirth = row.get("date_of_birth", LocalDateTime.class);
+        Integer departmentId = row.get("department_id", Integer.class);
+        return Employee.builder()
+                .id(row.get("id", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .departmentId(departmentId == null ? 0 : departmentId)
+                .jobTitle(row.get("job_title", String.class))
+                .gender(row.get("gender", String.class))
+                .dateOfBirth(dateOfBirth == null ? null : Date.from(dateOfBirth.atZone(ZoneId.systemDefault()).toInstant()))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+    //timestamp columns hold the local time of the JVM, as written by Hibernate
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+}
@@ -1,81 +1,302 @@
 package com.rest;
 
+import com.config.Bulkhead;
+import com.config.BulkheadConfig;
+import com.error.BadRequestException;
+import com.error.PreconditionFailedException;
 import com.model.Employee;
+import com.model.EmployeeDimension;
+import com.model.EmployeeFilter;
+import com.model.EmployeeName;
+import com.model.EmployeePage;
+import com.model.EmployeeSortField;
+import com.service.EmployeeExportService;
 import com.service.EmployeeService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import javax.validation.Valid;
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for {@link com.model.Employee}'s pages.
+ * Reads and writes run asynchronously on their own {@link Bulkhead}s, see {@link BulkheadConfig},
+ * the export streams on the task executor of async requests.
+ * Employees of request bodies are validated once, by {@link EmployeeService}.
  *
  * @author Sergey Ignatyuk
  * @version 1.0
  */
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/employees")
 @Validated
 @Api(value = "employee resources", description = "APIs for working with employees")
 public class EmployeeController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 10000;
+    public static final int MAX_IDS_SIZE = 1000;
+    public static final int MAX_SUGGESTIONS = 50;
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+
     private final EmployeeService employeeService;
+    private final EmployeeExportService employeeExportService;
+    private final Bulkhead readBulkhead;
+    private final Bulkhead writeBulkhead;
 
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeExportService employeeExportService,
+                              @Qualifier(BulkheadConfig.READ_BULKHEAD) Bulkhead readBulkhead,
+                              @Qualifier(BulkheadConfig.WRITE_BULKHEAD) Bulkhead writeBulkhead) {
         this.employeeService = employeeService;
+        this.employeeExportService = employeeExportService;
+        this.readBulkhead = readBulkhead;
+        this.writeBulkhead = writeBulkhead;
     }
 
     @GetMapping
     @PreAuthorize("hasAuthority('employees:read')")
-    @ApiOperation(value = "get all employees")
-    public ResponseEntity<List<Employee>> getEmployees() {
-        return new ResponseEntity<>(employeeService.getEmployees(), HttpStatus.OK);
+    @ApiOperation(value = "get page of employees, cursor of the next page is returned in X-Next-Cursor header")
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployees(@RequestParam(required = false) String cursor,
+                                                                          @RequestParam(defaultValue = "50") @Min(value = 1, message = "must be between 1 and " + MAX_PAGE_SIZE) @Max(value = MAX_PAGE_SIZE, message = "must be between 1 and " + MAX_PAGE_SIZE) int size,
+                                                                          @RequestParam(defaultValue = "id") @Pattern(regexp = EmployeeSortField.PATTERN, message = "must be one of " + EmployeeSortField.PATTERN) String sort,
+                                                                          @RequestParam(defaultValue = "asc") @Pattern(regexp = "asc|desc", message = "must be asc or desc") String direction,
+                                                                          WebRequest webRequest) {
+        return readBulkhead.supply(() -> {
+            //only IDs and versions of the page are read to answer a conditional request
+            if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                String eTag = employeeService.getEmployeesETag(cursor, size, sort, direction);
+                if (isNotModified(webRequest, eTag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+                }
+            }
+            EmployeePage page = employeeService.getEmployees(cursor, size, sort, direction);
+            HttpHeaders httpHeaders = new HttpHeaders();
+            httpHeaders.setETag(page.getETag());
+            if (page.getNextCursor() != null) {
+                httpHeaders.set(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return new ResponseEntity<>(page.getEmployees(), httpHeaders, HttpStatus.OK);
+        });
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('employees:read')")
+    @ApiOperation(value = "search page of employees by department, job title, name prefixes, gender and date of birth range, cursor of the next page is returned in X-Next-Cursor header")
+    public CompletableFuture<ResponseEntity<List<Employee>>> searchEmployees(@RequestParam(required = false) @Min(value = 1, message = "must between 1 and 2") @Max(value = 2, message = "must between 1 and 2") Integer departmentId,
+                                                                             @RequestParam(required = false) @Size(min = 2, max = 25, message = "must be between 2 and 25 characters") String jobTitle,
+                                                                             @RequestParam(required = false) @Size(min = 1, max = 15, message = "must be between 1 and 15 characters") String firstName,
+                                                                             @RequestParam(required = false) @Size(min = 1, max = 15, message = "must be between 1 and 15 characters") String lastName,
+                                                                             @RequestParam(required = false) @Pattern(regexp = "male|Male|female|Female", message = "must be male or female") String gender,
+                                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateOfBirthFrom,
+                                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateOfBirthTo,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             @RequestParam(defaultValue = "50") @Min(value = 1, message = "must be between 1 and " + MAX_PAGE_SIZE) @Max(value = MAX_PAGE_SIZE, message = "must be between 1 and " + MAX_PAGE_SIZE) int size,
+                                                                             @RequestParam(defaultValue = "id") @Pattern(regexp = EmployeeSortField.PATTERN, message = "must be one of " + EmployeeSortField.PATTERN) String sort,
+                                                                             @RequestParam(defaultValue = "asc") @Pattern(regexp = "asc|desc", message = "must be asc or desc") String direction) {
+        if (dateOfBirthFrom != null && dateOfBirthTo != null && dateOfBirthFrom.isAfter(dateOfBirthTo)) {
+            throw new BadRequestException("dateOfBirthFrom must not be after dateOfBirthTo");
+        }
+        EmployeeFilter filter = EmployeeFilter.builder()
+                .departmentId(departmentId)
+                .jobTitle(jobTitle)
+                .firstNamePrefix(firstName)
+                .lastNamePrefix(lastName)
+                .gender(gender)
+                .dateOfBirthFrom(dateOfBirthFrom)
+                .dateOfBirthTo(dateOfBirthTo)
+                .build();
+        return readBulkhead.supply(() -> {
+            EmployeePage page = employeeService.searchEmployees(filter, cursor, size, sort, direction);
+            HttpHeaders httpHeaders = new HttpHeaders();
+            if (page.getNextCursor() != null) {
+                httpHeaders.set(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return new ResponseEntity<>(page.getEmployees(), httpHeaders, HttpStatus.OK);
+        });
+    }
+
+    @GetMapping("/autocomplete")
+    @PreAuthorize("hasAuthority('employees:read')")
+    @ApiOperation(value = "employees whose first or last name starts with prefix, ignoring case")
+    public CompletableFuture<ResponseEntity<List<EmployeeName>>> completeNames(@RequestParam @Size(min = 1, max = 15, message = "must be between 1 and 15 characters") String prefix,
+                                                                               @RequestParam(defaultValue = "10") @Min(value = 1, message = "must be between 1 and " + MAX_SUGGESTIONS) @Max(value = MAX_SUGGESTIONS, message = "must be between 1 and " + MAX_SUGGESTIONS) int limit) {
+        return readBulkhead.supply(() -> new ResponseEntity<>(employeeService.completeNames(prefix, limit), HttpStatus.OK));
+    }
+
+    @GetMapping("/counts")
+    @PreAuthorize("hasAuthority('employees:read')")
+    @ApiOperation(value = "number of employees by department, gender, job title or age bucket")
+    public CompletableFuture<ResponseEntity<Map<String, Long>>> countEmployees(@RequestParam @Pattern(regexp = EmployeeDimension.PATTERN, message = "must be one of " + EmployeeDimension.PATTERN) String by) {
+        return readBulkhead.supply(() -> new ResponseEntity<>(employeeService.countEmployees(EmployeeDimension.of(by)), HttpStatus.OK));
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('employees:read')")
+    @ApiOperation(value = "stream all employees as NDJSON or gzip-compressed CSV")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "ndjson") @Pattern(regexp = "ndjson|csv", message = "must be ndjson or csv") String format) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        if ("csv".equals(format)) {
+            httpHeaders.setContentType(APPLICATION_GZIP);
+            httpHeaders.setContentDisposition(ContentDisposition.builder("attachment").filename("employees.csv.gz").build());
+            return new ResponseEntity<>(employeeExportService::exportCsvGzip, httpHeaders, HttpStatus.OK);
+        }
+        httpHeaders.setContentType(APPLICATION_NDJSON);
+        return new ResponseEntity<>(employeeExportService::exportNdjson, httpHeaders, HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('employees:read')")
     @ApiOperation(value = "get employee by ID")
-    public ResponseEntity<Object> getEmployeeById(@PathVariable @Min(value = 1, message = "must be greater than or equal to 1") Long id) {
-        return new ResponseEntity<>(employeeService.getEmployeeById(id), HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<Object>> getEmployeeById(@PathVariable @Min(value = 1, message = "must be greater than or equal to 1") Long id,
+                                                                     WebRequest webRequest) {
+        return readBulkhead.supply(() -> {
+            //only the version is read to answer a conditional request
+            if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                String eTag = versionETag(employeeService.getEmployeeVersionById(id));
+                if (isNotModified(webRequest, eTag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+                }
+            }
+            Employee employee = employeeService.getEmployeeById(id);
+            return new ResponseEntity<>(employee, eTagHeaders(employee), HttpStatus.OK);
+        });
     }
 
     @PostMapping
     @PreAuthorize("hasAuthority('employees:write')")
     @ApiOperation(value = "create new employee")
-    public ResponseEntity<HttpHeaders> addEmployee(@Valid @RequestBody Employee employee, UriComponentsBuilder uriComponentsBuilder) {
-        employeeService.addEmployee(employee);
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.setLocation(uriComponentsBuilder.path("/employees/{id}").buildAndExpand(employee.getId()).toUri());
-        return new ResponseEntity<>(httpHeaders, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<HttpHeaders>> addEmployee(@RequestBody Employee employee, UriComponentsBuilder uriComponentsBuilder) {
+        return writeBulkhead.supply(() -> {
+            employeeService.addEmployee(employee);
+            HttpHeaders httpHeaders = new HttpHeaders();
+            httpHeaders.setLocation(uriComponentsBuilder.path("/employees/{id}").buildAndExpand(employee.getId()).toUri());
+            return new ResponseEntity<>(httpHeaders, HttpStatus.CREATED);
+        });
+    }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasAuthority('employees:write')")
+    @ApiOperation(value = "create new employees in one transaction, returns their IDs")
+    public CompletableFuture<ResponseEntity<List<Long>>> addEmployees(@RequestBody @Size(min = 1, max = MAX_BATCH_SIZE, message = "must contain between 1 and " + MAX_BATCH_SIZE + " employees") List<Employee> employees) {
+        return writeBulkhead.supply(() -> new ResponseEntity<>(employeeService.addEmployees(employees), HttpStatus.CREATED));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('employees:write')")
-    @ApiOperation(value = "update department & job employee by ID")
-    public ResponseEntity<Employee> editEmployeeById(@PathVariable @Min(value = 1, message = "must be greater than or equal to 1") Long id,
-                                                     @Min(value = 1, message = "must between 1 and 2") @Max(value = 2, message = "must between 1 and 2") @RequestParam int departmentId,
-                                                     @RequestParam @Size(min = 2, max = 25, message = "must be between 3 and 25 characters") String jobTitle) {
-        return new ResponseEntity<>(employeeService.editEmployeeById(id, departmentId, jobTitle), HttpStatus.OK);
+    @ApiOperation(value = "update department & job employee by ID, only if version matches If-Match header when it is given")
+    public CompletableFuture<ResponseEntity<Employee>> editEmployeeById(@PathVariable @Min(value = 1, message = "must be greater than or equal to 1") Long id,
+                                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                        @Min(value = 1, message = "must between 1 and 2") @Max(value = 2, message = "must between 1 and 2") @RequestParam int departmentId,
+                                                                        @RequestParam @Size(min = 2, max = 25, message = "must be between 3 and 25 characters") String jobTitle) {
+        Long version = parseVersion(ifMatch);
+        return writeBulkhead.supply(() -> {
+            Employee employee = employeeService.editEmployeeById(id, version, departmentId, jobTitle);
+            return new ResponseEntity<>(employee, eTagHeaders(employee), HttpStatus.OK);
+        });
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAuthority('employees:write')")
     @ApiOperation(value = "delete employee by ID")
-    public ResponseEntity<Void> deleteEmployeeById(@PathVariable @Min(value = 1, message = "must be greater than or equal to 1") Long id) {
-        employeeService.deleteEmployeeById(id);
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    public CompletableFuture<ResponseEntity<Void>> deleteEmployeeById(@PathVariable @Min(value = 1, message = "must be greater than or equal to 1") Long id) {
+        return writeBulkhead.supply(() -> {
+            employeeService.deleteEmployeeById(id);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        });
+    }
+
+    @PutMapping("/department")
+    @PreAuthorize("hasAuthority('employees:write')")
+    @ApiOperation(value = "move all employees of department to another department, returns number of updated employees")
+    public CompletableFuture<ResponseEntity<Integer>> moveEmployeesToDepartment(@Min(value = 1, message = "must between 1 and 2") @Max(value = 2, message = "must between 1 and 2") @RequestParam int fromDepartmentId,
+                                                                                @Min(value = 1, message = "must between 1 and 2") @Max(value = 2, message = "must between 1 and 2") @RequestParam int toDepartmentId) {
+        return writeBulkhead.supply(() -> new ResponseEntity<>(employeeService.moveEmployeesToDepartment(fromDepartmentId, toDepartmentId), HttpStatus.OK));
+    }
+
+    @PutMapping("/job-title")
+    @PreAuthorize("hasAuthority('employees:write')")
+    @ApiOperation(value = "update job of employees by IDs, returns number of updated employees")
+    public CompletableFuture<ResponseEntity<Integer>> editJobTitleByIds(@RequestParam @Size(min = 1, max = MAX_IDS_SIZE, message = "must contain between 1 and " + MAX_IDS_SIZE + " IDs") List<Long> ids,
+                                                                        @RequestParam @Size(min = 2, max = 25, message = "must be between 3 and 25 characters") String jobTitle) {
+        return writeBulkhead.supply(() -> new ResponseEntity<>(employeeService.editJobTitleByIds(ids, jobTitle), HttpStatus.OK));
+    }
+
+    @DeleteMapping
+    @PreAuthorize("hasAuthority('employees:write')")
+    @ApiOperation(value = "delete employees by IDs, returns number of deleted employees")
+    public CompletableFuture<ResponseEntity<Integer>> deleteEmployeesByIds(@RequestParam @Size(min = 1, max = MAX_IDS_SIZE, message = "must contain between 1 and " + MAX_IDS_SIZE + " IDs") List<Long> ids) {
+        return writeBulkhead.supply(() -> new ResponseEntity<>(employeeService.deleteEmployeesByIds(ids), HttpStatus.OK));
+    }
+
+    /**
+     * Compares the ETag with If-None-Match without touching the response: until the async
+     * dispatch the response belongs to the request thread, a bulkhead thread only reads the request.
+     */
+    static boolean isNotModified(WebRequest webRequest, String eTag) {
+        return new ServletWebRequest(((NativeWebRequest) webRequest).getNativeRequest(HttpServletRequest.class)).checkNotModified(eTag);
+    }
+
+    static HttpHeaders eTagHeaders(Employee employee) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        if (employee.getVersion() != null) {
+            httpHeaders.setETag(versionETag(employee.getVersion()));
+        }
+        return httpHeaders;
+    }
+
+    static String versionETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @return version of the single strong entity tag of {@code ifMatch}, null when it is absent or *
+     * @throws PreconditionFailedException for a weak entity tag, If-Match compares strongly, so it never matches
+     * @throws BadRequestException for anything else, e.g. a list of entity tags
+     */
+    static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.startsWith("W/\"")) {
+            throw new PreconditionFailedException("Weak entity tag " + eTag + " never matches If-Match");
+        }
+        String version = eTag.length() > 2 && eTag.startsWith("\"") && eTag.endsWith("\"") ? eTag.substring(1, eTag.length() - 1) : "";
+        if (version.isEmpty() || !version.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            throw new BadRequestException("Invalid If-Match header: " + ifMatch);
+        }
+        try {
+            return Long.valueOf(version);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid If-Match header: " + ifMatch);
+        }
     }
 }
@@ -0,0 +1,124 @@
+package com.rest;
+
+import com.model.Employee;
+import com.model.EmployeePage;
+import com.model.EmployeeSortField;
+import com.service.ReactiveEmployeeService;
+import com.valid.EmployeeValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Reactive variant of {@link EmployeeController} for the reactive profile: the same paths,
+ * authorities, validation and headers, served on the event loop over R2DBC, so a slow
+ * database holds connections of the pool but no threads.
+ * <p>
+ * Covers reading pages and single employees and writing single employees. Search,
+ * autocomplete, counts, export and the bulk operations are served by {@link EmployeeController} only.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/employees")
+@Validated
+public class ReactiveEmployeeController {
+    private final ReactiveEmployeeService employeeService;
+    private final EmployeeValidator employeeValidator;
+
+    @Autowired
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService, EmployeeValidator employeeValidator) {
+        this.employeeService = employeeService;
+        this.employeeValidator = employeeValidator;
+    }
+
+    @InitBinder("employee")
+    public void initEmployeeBinder(WebDataBinder binder) {
+        binder.replaceValidators(employeeValidator);
+    }
+
+    @GetMapping
+    @PreAuthorize("hasAuthority('employees:read')")
+    public Mono<ResponseEntity<List<Employee>>> getEmployees(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "50") @Min(value = 1, message = "must be between 1 and " + EmployeeController.MAX_PAGE_SIZE) @Max(value = EmployeeController.MAX_PAGE_SIZE, message = "must be between 1 and " + EmployeeController.MAX_PAGE_SIZE) int size,
+                                                             @RequestParam(defaultValue = "id") @Pattern(regexp = EmployeeSortField.PATTERN, message = "must be one of " + EmployeeSortField.PATTERN) String sort,
+                                                             @RequestParam(defaultValue = "asc") @Pattern(regexp = "asc|desc", message = "must be asc or desc") String direction,
+                                                             ServerWebExchange exchange) {
+        if (exchange.getRequest().getHeaders().getIfNoneMatch().isEmpty()) {
+            return employeeService.getEmployees(cursor, size, sort, direction).map(ReactiveEmployeeController::pageResponse);
+        }
+        //only IDs and versions of the page are read to answer a conditional request
+        return employeeService.getEmployeesETag(cursor, size, sort, direction).flatMap(eTag -> exchange.checkNotModified(eTag)
+                ? Mono.just(new ResponseEntity<List<Employee>>(HttpStatus.NOT_MODIFIED))
+                : employeeService.getEmployees(cursor, size, sort, direction).map(ReactiveEmployeeController::pageResponse));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAuthority('employees:read')")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable @Min(value = 1, message = "must be greater than or equal to 1") Long id,
+                                                          ServerWebExchange exchange) {
+        if (exchange.getRequest().getHeaders().getIfNoneMatch().isEmpty()) {
+            return employeeService.getEmployeeById(id)
+                    .map(employee -> new ResponseEntity<>(employee, EmployeeController.eTagHeaders(employee), HttpStatus.OK));
+        }
+        //only the version is read to answer a conditional request
+        return employeeService.getEmployeeVersionById(id).flatMap(version -> exchange.checkNotModified(EmployeeController.versionETag(version))
+                ? Mono.just(new ResponseEntity<Employee>(HttpStatus.NOT_MODIFIED))
+                : employeeService.getEmployeeById(id)
+                .map(employee -> new ResponseEntity<>(employee, EmployeeController.eTagHeaders(employee), HttpStatus.OK)));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAuthority('employees:write')")
+    public Mono<ResponseEntity<Void>> addEmployee(@Validated @RequestBody Employee employee, UriComponentsBuilder uriComponentsBuilder) {
+        return employeeService.addEmployee(employee).map(created -> {
+            HttpHeaders httpHeaders = new HttpHeaders();
+            httpHeaders.setLocation(uriComponentsBuilder.path("/employees/{id}").buildAndExpand(created.getId()).toUri());
+            return new ResponseEntity<>(httpHeaders, HttpStatus.CREATED);
+        });
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAuthority('employees:write')")
+    public Mono<ResponseEntity<Employee>> editEmployeeById(@PathVariable @Min(value = 1, message = "must be greater than or equal to 1") Long id,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                           @Min(value = 1, message = "must between 1 and 2") @Max(value = 2, message = "must between 1 and 2") @RequestParam int departmentId,
+                                                           @RequestParam @Size(min = 2, max = 25, message = "must be between 3 and 25 characters") String jobTitle) {
+        return employeeService.editEmployeeById(id, EmployeeController.parseVersion(ifMatch), departmentId, jobTitle)
+                .map(employee -> new ResponseEntity<>(employee, EmployeeController.eTagHeaders(employee), HttpStatus.OK));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAuthority('employees:write')")
+    public Mono<ResponseEntity<Void>> deleteEmployeeById(@PathVariable @Min(value = 1, message = "must be greater than or equal to 1") Long id) {
+        return employeeService.deleteEmployeeById(id)
+                .thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    }
+
+    private static ResponseEntity<List<Employee>> pageResponse(EmployeePage page) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setETag(page.getETag());
+        if (page.getNextCursor() != null) {
+            httpHeaders.set(EmployeeController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return new ResponseEntity<>(page.getEmployees(), httpHeaders, HttpStatus.OK);
+    }
+}
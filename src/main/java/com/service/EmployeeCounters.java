@@ -0,0 +1,302 @@
+package com.service;
+
+import com.model.Employee;
+import com.model.EmployeeDimension;
+import com.repository.EmployeeEventRepository;
+import com.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Headcounts by department, gender and job title kept in memory, so that they are
+ * served without a GROUP BY over the employees table.
+ * <p>
+ * Counters follow the writes of this instance in {@link EmployeeServiceImpl} after they
+ * commit. Writes that do not tell which values they changed, like bulk deletes,
+ * invalidate the counters of a dimension. {@link #reconcile()} replaces the counters
+ * with counts of one database snapshot, which also brings in writes of other instances
+ * and loads invalid counters. Counters are invalid until the first reconciliation.
+ * <p>
+ * Writes of this instance are numbered in the order they are applied. A snapshot starts
+ * while none of them is committing, so it has exactly the writes applied so far, and those
+ * applied after it are applied again on top of it. A commit waits only for the start of a
+ * snapshot, not for its counts. Counters differing from the snapshot are counted as
+ * mismatches only when every event committed between two snapshots, see
+ * {@link EmployeeEventRepository#countCommittedEvents()}, was written by this instance.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Component
+public class EmployeeCounters {
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeCounters.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeEventRepository employeeEventRepository;
+    private final TransactionTemplate readTransactionTemplate;
+    private final Counter mismatches;
+    //read locked by commits of writes until they are applied, write locked by the start of a snapshot
+    private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    //guarded by this
+    private final Map<EmployeeDimension, Map<String, Long>> counts = new EnumMap<>(EmployeeDimension.class);
+    private long appliedWrites;
+    private long snapshotCommittedEvents;
+    private final List<Write> writesAfterSnapshot = new ArrayList<>();
+
+    @Autowired
+    public EmployeeCounters(EmployeeRepository employeeRepository, EmployeeEventRepository employeeEventRepository,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.employeeEventRepository = employeeEventRepository;
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setReadOnly(true);
+        //counts and the number of committed events of one snapshot, even when called in a transaction
+        this.readTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.readTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.mismatches = Counter.builder("employee.counters.mismatches")
+                .description("Counters found different from the database by reconciliation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return copy of counts of {@code dimension} ordered by {@link EmployeeDimension#getValueOrder() value}, empty when they are invalid
+     */
+    public synchronized Optional<Map<String, Long>> get(EmployeeDimension dimension) {
+        Map<String, Long> dimensionCounts = counts.get(dimension);
+        return dimensionCounts == null ? Optional.empty() : Optional.of(sorted(dimension, dimensionCounts));
+    }
+
+    /**
+     * Counts {@code employees}, written with one event each.
+     */
+    public void created(Collection<Employee> employees) {
+        Write write = new Write(employees.size());
+        for (Employee employee : employees) {
+            for (EmployeeDimension dimension : EmployeeDimension.values()) {
+                if (dimension.isCounted()) {
+                    write.add(dimension, dimension.format(employee), 1);
+                }
+            }
+        }
+        afterCommit(write);
+    }
+
+    public void deleted(Employee employee) {
+        Write write = new Write(1);
+        for (EmployeeDimension dimension : EmployeeDimension.values()) {
+            if (dimension.isCounted()) {
+                write.add(dimension, dimension.format(employee), -1);
+            }
+        }
+        afterCommit(write);
+    }
+
+    public void edited(int oldDepartmentId, String oldJobTitle, Employee employee) {
+        Write write = new Write(1);
+        write.add(EmployeeDimension.DEPARTMENT_ID, String.valueOf(oldDepartmentId), -1);
+        write.add(EmployeeDimension.DEPARTMENT_ID, String.valueOf(employee.getDepartmentId()), 1);
+        write.add(EmployeeDimension.JOB_TITLE, String.valueOf(oldJobTitle), -1);
+        write.add(EmployeeDimension.JOB_TITLE, String.valueOf(employee.getJobTitle()), 1);
+        afterCommit(write);
+    }
+
+    public void moved(int fromDepartmentId, int toDepartmentId, int count) {
+        Write write = new Write(1);
+        write.add(EmployeeDimension.DEPARTMENT_ID, String.valueOf(fromDepartmentId), -count);
+        write.add(EmployeeDimension.DEPARTMENT_ID, String.valueOf(toDepartmentId), count);
+        afterCommit(write);
+    }
+
+    /**
+     * Invalidates counters of {@code dimensions} until the next reconciliation.
+     */
+    public void invalidate(EmployeeDimension... dimensions) {
+        Write write = new Write(1);
+        write.invalidated.addAll(List.of(dimensions));
+        afterCommit(write);
+    }
+
+    /**
+     * Must not be called while a write of this instance is committing on the same thread.
+     */
+    @Scheduled(fixedDelayString = "${employee.counters.reconcile-delay}")
+    public void reconcile() {
+        Map<EmployeeDimension, Map<String, Long>> actual = new EnumMap<>(EmployeeDimension.class);
+        AtomicLong writes = new AtomicLong();
+        long committedEvents = readTransactionTemplate.execute(status -> {
+            long committed;
+            //the first query starts the snapshot
+            commitLock.writeLock().lock();
+            try {
+                committed = employeeEventRepository.countCommittedEvents();
+                writes.set(appliedWrites());
+            } finally {
+                commitLock.writeLock().unlock();
+            }
+            for (EmployeeDimension dimension : EmployeeDimension.values()) {
+                if (dimension.isCounted()) {
+                    actual.put(dimension, countInDatabase(dimension));
+                }
+            }
+            return committed;
+        });
+
+        synchronized (this) {
+            if (committedEvents < snapshotCommittedEvents) {
+                LOG.debug("Skipping reconciliation of counters with a snapshot older than the last one");
+                return;
+            }
+            long localEvents = writesAfterSnapshot.stream()
+                    .filter(write -> write.sequence <= writes.get())
+                    .mapToLong(write -> write.events)
+                    .sum();
+            //otherwise other instances changed the database meanwhile
+            boolean onlyLocalWrites = committedEvents - snapshotCommittedEvents == localEvents;
+            writesAfterSnapshot.removeIf(write -> write.sequence <= writes.get());
+            writesAfterSnapshot.forEach(write -> write.applyTo(actual));
+
+            actual.forEach((dimension, actualCounts) -> {
+                Map<String, Long> dimensionCounts = counts.get(dimension);
+                if (onlyLocalWrites && dimensionCounts != null && !dimensionCounts.equals(actualCounts)) {
+                    LOG.warn("Counters by {} were {}, database has {}", dimension.getProperty(), dimensionCounts, actualCounts);
+                    mismatches.increment();
+                }
+            });
+            counts.clear();
+            counts.putAll(actual);
+            snapshotCommittedEvents = committedEvents;
+        }
+    }
+
+    /**
+     * @return counts of a counted {@code dimension} with GROUP BY, ordered by value
+     */
+    public Map<String, Long> countInDatabase(EmployeeDimension dimension) {
+        switch (dimension) {
+            case DEPARTMENT_ID:
+                return toMap(dimension, employeeRepository.countByDepartmentId());
+            case GENDER:
+                return toMap(dimension, employeeRepository.countByGender());
+            case JOB_TITLE:
+                return toMap(dimension, employeeRepository.countByJobTitle());
+            default:
+                throw new IllegalArgumentException("Employees are not counted by " + dimension.getProperty());
+        }
+    }
+
+    /**
+     * Applies {@code write} when the current transaction commits, or at once without one.
+     * No snapshot starts from the commit until the write is applied.
+     */
+    private void afterCommit(Write write) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            synchronized (this) {
+                write.applyTo(counts);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitLock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                apply(write);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (locked) {
+                    commitLock.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private synchronized void apply(Write write) {
+        write.sequence = ++appliedWrites;
+        write.applyTo(counts);
+        writesAfterSnapshot.add(write);
+    }
+
+    private synchronized long appliedWrites() {
+        return appliedWrites;
+    }
+
+    private static Map<String, Long> toMap(EmployeeDimension dimension, List<Object[]> rows) {
+        Map<String, Long> map = new TreeMap<>(dimension.getValueOrder());
+        for (Object[] row : rows) {
+            map.put(String.valueOf(row[0]), (Long) row[1]);
+        }
+        return map;
+    }
+
+    private static Map<String, Long> sorted(EmployeeDimension dimension, Map<String, Long> counts) {
+        Map<String, Long> map = new TreeMap<>(dimension.getValueOrder());
+        map.putAll(counts);
+        return map;
+    }
+
+    /**
+     * Changes of counts by one write, and its number in the order writes were applied.
+     */
+    private static class Write {
+        private final int events;
+        private final Map<EmployeeDimension, Map<String, Long>> deltas = new EnumMap<>(EmployeeDimension.class);
+        private final Set<EmployeeDimension> invalidated = EnumSet.noneOf(EmployeeDimension.class);
+        private long sequence;
+
+        private Write(int events) {
+            this.events = events;
+        }
+
+        private void add(EmployeeDimension dimension, String value, long delta) {
+            deltas.computeIfAbsent(dimension, key -> new HashMap<>()).merge(value, delta, Long::sum);
+        }
+
+        private void applyTo(Map<EmployeeDimension, Map<String, Long>> counts) {
+            deltas.forEach((dimension, dimensionDeltas) -> {
+                Map<String, Long> dimensionCounts = counts.get(dimension);
+                if (dimensionCounts != null) {
+                    //a value written by another instance may not be counted yet, counts stay positive
+                    dimensionDeltas.forEach((value, delta) -> dimensionCounts.compute(value, (key, count) -> {
+                        long sum = (count == null ? 0 : count) + delta;
+                        return sum > 0 ? sum : null;
+                    }));
+                }
+            });
+            invalidated.forEach(counts::remove);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.service;
+
+import com.model.Employee;
+
+import java.util.List;
+
+/**
+ * Service interface for events about {@link com.model.Employee}s.
+ * Events are written to the outbox and must be called inside the
+ * transaction that makes the change.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public interface EmployeeEventService {
+    void employeeCreated(Employee employee);
+
+    void employeesCreated(List<Employee> employees);
+
+    void employeeUpdated(Employee employee);
+
+    void employeesDeleted(List<Long> ids);
+
+    void departmentMoved(int fromDepartmentId, int toDepartmentId);
+
+    void jobTitleChanged(List<Long> ids, String jobTitle);
+}
@@ -0,0 +1,117 @@
+package com.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.model.Employee;
+import com.model.EmployeeEvent;
+import com.model.EmployeeEventMessage;
+import com.model.EmployeeEventType;
+import com.repository.EmployeeEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link EmployeeEventService} interface.
+ * Events are only inserted, without any lock: the database gives them their write order,
+ * {@link EmployeeOutboxRelay} numbers them once they are committed.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Service
+public class EmployeeEventServiceImpl implements EmployeeEventService {
+    private final EmployeeEventRepository employeeEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public EmployeeEventServiceImpl(EmployeeEventRepository employeeEventRepository, ObjectMapper objectMapper) {
+        this.employeeEventRepository = employeeEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeeCreated(Employee employee) {
+        save(event(employee.getId(), EmployeeEventMessage.builder()
+                .type(EmployeeEventType.CREATED)
+                .employee(employee)
+                .build()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeesCreated(List<Employee> employees) {
+        save(employees.stream()
+                .map(employee -> event(employee.getId(), EmployeeEventMessage.builder()
+                        .type(EmployeeEventType.CREATED)
+                        .employee(employee)
+                        .build()))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeeUpdated(Employee employee) {
+        save(event(employee.getId(), EmployeeEventMessage.builder()
+                .type(EmployeeEventType.UPDATED)
+                .employee(employee)
+                .build()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeesDeleted(List<Long> ids) {
+        save(event(ids.size() == 1 ? ids.get(0) : null, EmployeeEventMessage.builder()
+                .type(EmployeeEventType.DELETED)
+                .employeeIds(ids)
+                .build()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void departmentMoved(int fromDepartmentId, int toDepartmentId) {
+        save(event(null, EmployeeEventMessage.builder()
+                .type(EmployeeEventType.DEPARTMENT_MOVED)
+                .fromDepartmentId(fromDepartmentId)
+                .toDepartmentId(toDepartmentId)
+                .build()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void jobTitleChanged(List<Long> ids, String jobTitle) {
+        save(event(null, EmployeeEventMessage.builder()
+                .type(EmployeeEventType.JOB_TITLE_CHANGED)
+                .employeeIds(ids)
+                .jobTitle(jobTitle)
+                .build()));
+    }
+
+    private void save(EmployeeEvent event) {
+        save(List.of(event));
+    }
+
+    private void save(List<EmployeeEvent> events) {
+        employeeEventRepository.saveAll(events);
+    }
+
+    private EmployeeEvent event(Long employeeId, EmployeeEventMessage message) {
+        try {
+            return EmployeeEvent.builder()
+                    .employeeId(employeeId)
+                    .type(message.getType())
+                    .payload(objectMapper.writeValueAsString(message))
+                    .createdAt(new Date())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can not serialize employee event " + message.getType(), e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for streaming export of all {@link com.model.Employee}s
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public interface EmployeeExportService {
+    void exportNdjson(OutputStream outputStream) throws IOException;
+
+    void exportCsvGzip(OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,113 @@
+package com.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.model.Employee;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementation of {@link EmployeeExportService} interface.
+ * Employees are written one by one as they are read from the database cursor,
+ * nothing is collected in memory.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Service
+public class EmployeeExportServiceImpl implements EmployeeExportService {
+    private static final String CSV_HEADER = "id,firstName,lastName,departmentId,jobTitle,gender,dateOfBirth";
+    //same as @JsonFormat of Employee.dateOfBirth, Jackson formats dates in UTC
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE.withZone(ZoneOffset.UTC);
+
+    private final EmployeeService employeeService;
+    private final ObjectWriter objectWriter;
+
+    @Autowired
+    public EmployeeExportServiceImpl(EmployeeService employeeService, ObjectMapper objectMapper) {
+        this.employeeService = employeeService;
+        //do not close or flush the response stream after every employee
+        this.objectWriter = objectMapper.writerFor(Employee.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    }
+
+    @Override
+    public void exportNdjson(OutputStream outputStream) throws IOException {
+        try {
+            employeeService.exportEmployees(employee -> {
+                try {
+                    objectWriter.writeValue(outputStream, employee);
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        outputStream.flush();
+    }
+
+    @Override
+    public void exportCsvGzip(OutputStream outputStream) throws IOException {
+        GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 8192);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzipOutputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        try {
+            employeeService.exportEmployees(employee -> {
+                try {
+                    writeCsvLine(writer, employee);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        gzipOutputStream.finish();
+        outputStream.flush();
+    }
+
+    private static void writeCsvLine(Writer writer, Employee employee) throws IOException {
+        writer.write(String.valueOf(employee.getId()));
+        writer.write(',');
+        writeCsvValue(writer, employee.getFirstName());
+        writer.write(',');
+        writeCsvValue(writer, employee.getLastName());
+        writer.write(',');
+        writer.write(Integer.toString(employee.getDepartmentId()));
+        writer.write(',');
+        writeCsvValue(writer, employee.getJobTitle());
+        writer.write(',');
+        writeCsvValue(writer, employee.getGender());
+        writer.write(',');
+        if (employee.getDateOfBirth() != null) {
+            writer.write(DATE_FORMATTER.format(employee.getDateOfBirth().toInstant()));
+        }
+        writer.write('\n');
+    }
+
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,333 @@
+package com.service;
+
+import com.config.EmployeeTopicConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.model.Employee;
+import com.model.EmployeeEventMessage;
+import com.model.EmployeeName;
+import com.repository.EmployeeEventRepository;
+import com.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jms.annotation.JmsListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Case insensitive prefix index of employee first and last names for autocomplete.
+ * <p>
+ * Every employee has two keys {@code lowercase name + '\0' + id} in a sorted map,
+ * one per name, so the matches of a prefix are the keys from the prefix onwards
+ * that start with it. A lookup costs a log n seek plus the returned matches.
+ * <p>
+ * The index is loaded from the employees table in the background once the application is
+ * ready, together with the last commit order and the IDs of events not numbered yet in the
+ * same snapshot; until then names are completed by the database, see {@link #isBootstrapped()},
+ * and a failed first load is tried again on the next check. It then follows the CREATED and DELETED events on employee.topic,
+ * so writes of every instance reach it within the outbox relay delay. Names of an
+ * employee never change, other events are only counted. Like {@link EmployeeReadModel},
+ * an event is applied only if its commit order is after the last one applied or loaded
+ * and the snapshot does not have it already, and the database is checked every check-delay: when events are missing, or the last
+ * committed event is not applied for longer than max-delay, the index is loaded again.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Component
+@ConditionalOnProperty(value = "employee.name-index.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeNameIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeNameIndex.class);
+    private static final char SEPARATOR = '\0';
+    //estimates for 64 bit JVM with compressed oops: skip list node, its share of index
+    //nodes, EmployeeName with a boxed ID, String with a Latin-1 value array
+    private static final int ENTRY_BYTES = 24 + 8;
+    private static final int NAME_BYTES = 24 + 16 + 16;
+    private static final int STRING_BYTES = 24 + 16;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeEventRepository employeeEventRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTransactionTemplate;
+    private final Executor executor;
+    private final long maxDelayMillis;
+
+    private volatile Names names = new Names();
+    private final Object loadLock = new Object();
+    //events received before the first load or during a load, applied after its snapshot, null otherwise
+    private List<Runnable> pendingEvents = new ArrayList<>();
+    private volatile boolean bootstrapped;
+    private volatile boolean loadFailed;
+    private volatile long appliedCommitOrder;
+    //committed events in the snapshot that are numbered after its last commit order
+    private Set<Long> loadedEventIds = new HashSet<>();
+    private volatile boolean gap;
+    //first check that found a committed event not applied yet, 0 when none
+    private volatile long behindSince;
+    private volatile long behindCommitOrder;
+
+    @Autowired
+    public EmployeeNameIndex(EmployeeRepository employeeRepository, EmployeeEventRepository employeeEventRepository,
+                             ObjectMapper objectMapper, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                             @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor,
+                             @Value("${employee.name-index.max-delay}") long maxDelayMillis) {
+        this.employeeRepository = employeeRepository;
+        this.employeeEventRepository = employeeEventRepository;
+        this.objectMapper = objectMapper;
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setReadOnly(true);
+        //the employees and the last commit order of one snapshot
+        this.readTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.executor = executor;
+        this.maxDelayMillis = maxDelayMillis;
+
+        Gauge.builder("employee.name-index.size", this, EmployeeNameIndex::size)
+                .description("Number of employees in the name index")
+                .register(meterRegistry);
+        Gauge.builder("employee.name-index.memory", this, EmployeeNameIndex::getMemoryBytes)
+                .description("Estimated heap used by the name index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the index on the application task executor once the listener is already
+     * subscribed, so no event is missed and startup does not wait for the table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        executor.execute(this::load);
+    }
+
+    /**
+     * Loads the index again when its first load failed, it misses events or it is behind
+     * the database for longer than max-delay.
+     */
+    @Scheduled(fixedDelayString = "${employee.name-index.check-delay}")
+    public void check() {
+        if (!bootstrapped) {
+            if (loadFailed) {
+                load();
+            }
+            return;
+        }
+        try {
+            long committed = employeeEventRepository.findLastCommitOrder();
+            if (committed > appliedCommitOrder && behindSince == 0) {
+                behindCommitOrder = committed;
+                behindSince = System.currentTimeMillis();
+            }
+            if (gap || behindMillis() > maxDelayMillis) {
+                LOG.warn("Employee name index is {}, loading it again", gap ? "missing events" : "behind the database for " + behindMillis() + " ms");
+                load();
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to check employee name index against the database", e);
+        }
+    }
+
+    @JmsListener(destination = JmsProducerServiceImpl.EMPLOYEE_TOPIC, containerFactory = EmployeeTopicConfig.EMPLOYEE_TOPIC_LISTENER_FACTORY)
+    public void onEvent(String payload,
+                        @Header(JmsProducerServiceImpl.EVENT_ID_PROPERTY) long eventId,
+                        @Header(JmsProducerServiceImpl.COMMIT_ORDER_PROPERTY) long commitOrder) {
+        EmployeeEventMessage message;
+        try {
+            message = objectMapper.readValue(payload, EmployeeEventMessage.class);
+        } catch (JsonProcessingException e) {
+            LOG.error("Skipping malformed employee event {}", eventId, e);
+            return;
+        }
+        synchronized (loadLock) {
+            if (pendingEvents != null) {
+                pendingEvents.add(() -> apply(eventId, commitOrder, message));
+                return;
+            }
+            apply(eventId, commitOrder, message);
+        }
+    }
+
+    /**
+     * @return whether the index is loaded, {@link #complete} finds nothing before
+     */
+    public boolean isBootstrapped() {
+        return bootstrapped;
+    }
+
+    /**
+     * @return at most {@code limit} employees whose first or last name starts with
+     * {@code prefix} ignoring case, ordered by the matching name
+     */
+    public List<EmployeeName> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        //an employee matching by both names is returned once
+        Map<Long, EmployeeName> matches = new LinkedHashMap<>();
+        for (Map.Entry<String, EmployeeName> entry : names.byKey.tailMap(key).entrySet()) {
+            if (matches.size() == limit || !entry.getKey().startsWith(key)) {
+                break;
+            }
+            matches.putIfAbsent(entry.getValue().getId(), entry.getValue());
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    public int size() {
+        return names.byId.size();
+    }
+
+    public long getMemoryBytes() {
+        return names.memoryBytes.get();
+    }
+
+    /**
+     * Loads names into a new index while events are buffered, then applies the buffered
+     * events after the snapshot and switches to the new index.
+     */
+    private synchronized void load() {
+        long start = System.currentTimeMillis();
+        synchronized (loadLock) {
+            if (pendingEvents == null) {
+                pendingEvents = new ArrayList<>();
+            }
+        }
+        Names loaded = new Names();
+        Set<Long> eventIds = new HashSet<>();
+        long commitOrder;
+        try {
+            commitOrder = readTransactionTemplate.execute(status -> {
+                long lastCommitOrder = employeeEventRepository.findLastCommitOrder();
+                eventIds.addAll(employeeEventRepository.findNotNumberedIds());
+                employeeRepository.forEachEmployee(loaded::put);
+                return lastCommitOrder;
+            });
+        } catch (RuntimeException e) {
+            if (!bootstrapped) {
+                loadFailed = true;
+                LOG.error("Failed to load employee name index, names are completed by the database", e);
+                return;
+            }
+            //the current index goes on with the events received meanwhile
+            synchronized (loadLock) {
+                pendingEvents.forEach(Runnable::run);
+                pendingEvents = null;
+            }
+            throw e;
+        }
+        synchronized (loadLock) {
+            names = loaded;
+            appliedCommitOrder = commitOrder;
+            loadedEventIds = eventIds;
+            gap = false;
+            behindSince = 0;
+            loadFailed = false;
+            pendingEvents.forEach(Runnable::run);
+            pendingEvents = null;
+            bootstrapped = true;
+        }
+        LOG.info("Indexed names of {} employees in {} ms, about {} KB", loaded.byId.size(),
+                System.currentTimeMillis() - start, loaded.memoryBytes.get() / 1024);
+    }
+
+    private long behindMillis() {
+        long since = behindSince;
+        return since == 0 ? 0 : System.currentTimeMillis() - since;
+    }
+
+    private void apply(long eventId, long commitOrder, EmployeeEventMessage message) {
+        if (commitOrder <= appliedCommitOrder) {
+            LOG.debug("Skipping employee event {} applied or loaded already", eventId);
+            return;
+        }
+        if (commitOrder > appliedCommitOrder + 1 && !gap) {
+            gap = true;
+            LOG.warn("Employee events {} to {} are missing in name index", appliedCommitOrder + 1, commitOrder - 1);
+        }
+        if (loadedEventIds.remove(eventId)) {
+            LOG.debug("Skipping employee event {} loaded already", eventId);
+        } else {
+            switch (message.getType()) {
+                case CREATED:
+                    names.put(message.getEmployee());
+                    break;
+                case DELETED:
+                    message.getEmployeeIds().forEach(names::remove);
+                    break;
+                default:
+                    break;
+            }
+        }
+        appliedCommitOrder = commitOrder;
+        if (commitOrder >= behindCommitOrder) {
+            behindSince = 0;
+        }
+    }
+
+    private static String key(String name, Long id) {
+        return normalize(name) + SEPARATOR + id;
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static long memory(EmployeeName name) {
+        long first = name.getFirstName() == null ? 0 : name.getFirstName().length();
+        long last = name.getLastName() == null ? 0 : name.getLastName().length();
+        //two keys with the ID appended, and the names of the value
+        return 2 * (ENTRY_BYTES + STRING_BYTES + 20) + first + last + NAME_BYTES + 2 * STRING_BYTES + first + last;
+    }
+
+    /**
+     * Keys and names of one load, replaced as a whole by the next load.
+     */
+    private static class Names {
+        private final ConcurrentSkipListMap<String, EmployeeName> byKey = new ConcurrentSkipListMap<>();
+        private final Map<Long, EmployeeName> byId = new ConcurrentHashMap<>();
+        private final AtomicLong memoryBytes = new AtomicLong();
+
+        private void put(Employee employee) {
+            EmployeeName name = new EmployeeName(employee.getId(), employee.getFirstName(), employee.getLastName());
+            if (byId.putIfAbsent(name.getId(), name) != null) {
+                return;
+            }
+            byKey.put(key(name.getFirstName(), name.getId()), name);
+            byKey.put(key(name.getLastName(), name.getId()), name);
+            memoryBytes.addAndGet(memory(name));
+        }
+
+        private void remove(Long id) {
+            EmployeeName name = byId.remove(id);
+            if (name == null) {
+                return;
+            }
+            byKey.remove(key(name.getFirstName(), id));
+            byKey.remove(key(name.getLastName(), id));
+            memoryBytes.addAndGet(-memory(name));
+        }
+    }
+}
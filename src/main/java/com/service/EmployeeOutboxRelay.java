@@ -0,0 +1,134 @@
+package com.service;
+
+import com.model.EmployeeEvent;
+import com.repository.EmployeeEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jms.JmsException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the employee_events outbox to employee.topic in batches.
+ * Events are deleted only after they were sent, in the same transaction that
+ * locked them, so delivery is at least once: a crash between send and commit
+ * sends the batch again.
+ * <p>
+ * Writers only insert events. The relay numbers committed events first, in the
+ * order they were written, one relay at a time, see
+ * {@link EmployeeEventRepository#lockLastCommitOrder()}, and then sends them in
+ * that commit order, so consumers order events by it and find gaps. A resent
+ * event keeps its number. Events of two writes of the same employee keep the
+ * order of the writes: the later write inserts its events after taking the row
+ * locks the other held until it committed, or fails its version check.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Component
+@ConditionalOnProperty(value = "employee.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeOutboxRelay {
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeOutboxRelay.class);
+
+    private final EmployeeEventRepository employeeEventRepository;
+    private final JmsProducerService jmsProducerService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter published;
+    private final Counter failures;
+    private final Timer deliveryLag;
+
+    @Autowired
+    public EmployeeOutboxRelay(EmployeeEventRepository employeeEventRepository, JmsProducerService jmsProducerService,
+                               PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                               @Value("${employee.outbox.batch-size}") int batchSize) {
+        this.employeeEventRepository = employeeEventRepository;
+        this.jmsProducerService = jmsProducerService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+
+        meterRegistry.gauge("employee.outbox.pending", pending);
+        TimeGauge.builder("employee.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest event not yet sent")
+                .register(meterRegistry);
+        this.published = meterRegistry.counter("employee.outbox.published");
+        this.failures = meterRegistry.counter("employee.outbox.failures");
+        this.deliveryLag = Timer.builder("employee.outbox.delivery")
+                .description("Time from writing an event to sending it")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${employee.outbox.relay-delay}")
+    public void relay() {
+        Integer numbered;
+        do {
+            numbered = transactionTemplate.execute(status -> numberBatch());
+        } while (numbered != null && numbered == batchSize);
+
+        Integer sent;
+        do {
+            sent = transactionTemplate.execute(status -> relayBatch());
+        } while (sent != null && sent == batchSize);
+
+        Date oldest = employeeEventRepository.findOldestCreatedAt();
+        lagMillis.set(oldest == null ? 0 : Math.max(0, System.currentTimeMillis() - oldest.getTime()));
+        pending.set(employeeEventRepository.count());
+    }
+
+    /**
+     * Gives the next commit orders to committed events not numbered yet.
+     *
+     * @return number of events numbered, less than batch size when all are numbered
+     */
+    private int numberBatch() {
+        long commitOrder = employeeEventRepository.lockLastCommitOrder();
+        List<EmployeeEvent> events = employeeEventRepository.findNotNumbered(PageRequest.of(0, batchSize));
+        for (EmployeeEvent event : events) {
+            event.setCommitOrder(++commitOrder);
+        }
+        employeeEventRepository.updateLastCommitOrder(commitOrder);
+        return events.size();
+    }
+
+    /**
+     * @return number of events sent, less than batch size when the outbox is drained or the broker failed
+     */
+    private int relayBatch() {
+        List<EmployeeEvent> events = employeeEventRepository.findOldest(PageRequest.of(0, batchSize));
+        int sent = 0;
+        try {
+            for (EmployeeEvent event : events) {
+                jmsProducerService.sendEvent(event);
+                deliveryLag.record(System.currentTimeMillis() - event.getCreatedAt().getTime(), TimeUnit.MILLISECONDS);
+                sent++;
+            }
+        } catch (JmsException e) {
+            failures.increment();
+            LOG.warn("Failed to relay employee event {}, will retry", events.get(sent).getId(), e);
+        }
+        if (sent > 0) {
+            employeeEventRepository.deleteInBatch(events.subList(0, sent));
+            published.increment(sent);
+        }
+        return sent;
+    }
+}
@@ -0,0 +1,333 @@
+package com.service;
+
+import com.config.CacheConfig;
+import com.config.EmployeeTopicConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.model.Employee;
+import com.model.EmployeeEventMessage;
+import com.repository.EmployeeEventRepository;
+import com.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jms.annotation.JmsListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory copy of the employees table kept up to date by events on employee.topic,
+ * so that reads on secondary instances do not touch the database.
+ * <p>
+ * On startup the table is loaded with one streaming query, together with the last
+ * commit order given by {@link EmployeeOutboxRelay} and the IDs of committed events it has
+ * not numbered yet, in the same snapshot. Events received meanwhile are buffered and applied
+ * after the snapshot. An event is applied only if its commit order is after the last one
+ * applied or loaded and it is not one of those IDs, which skips the duplicates of the at
+ * least once outbox relay and the events the snapshot already has, so bulk events bump
+ * a local version at most once. A CREATED or UPDATED employee replaces the local one
+ * only if its version is newer.
+ * <p>
+ * Commit orders of committed events have no gaps, so a gap means events were lost, e.g.
+ * sent while this instance was disconnected from the non-durable subscription. The database
+ * is checked every check-delay: when the model has a gap, or has not applied the last
+ * committed event for longer than max-delay, it is out of service and loaded again.
+ * Reads go to the database meanwhile.
+ * <p>
+ * Stored employees are never modified, every change puts a new copy.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Component
+@ConditionalOnProperty(value = "employee.read-model.enabled", havingValue = "true")
+public class EmployeeReadModel implements HealthIndicator {
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeReadModel.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeEventRepository employeeEventRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTransactionTemplate;
+    private final long maxDelayMillis;
+
+    private volatile ConcurrentSkipListMap<Long, Employee> employees = new ConcurrentSkipListMap<>();
+    private final Object bootstrapLock = new Object();
+    private List<Runnable> pendingEvents = new ArrayList<>();
+    private volatile boolean bootstrapped;
+    private volatile boolean loadFailed;
+    private volatile long appliedCommitOrder;
+    //committed events in the snapshot that are numbered after its last commit order
+    private Set<Long> loadedEventIds = new HashSet<>();
+    private volatile boolean gap;
+    //first check that found a committed event not applied yet, 0 when none
+    private volatile long behindSince;
+    private volatile long behindCommitOrder;
+    private volatile long lastEventAt;
+    private volatile long lastEventDelayMillis;
+
+    @Autowired
+    public EmployeeReadModel(EmployeeRepository employeeRepository, EmployeeEventRepository employeeEventRepository,
+                             ObjectMapper objectMapper, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                             @Value("${employee.read-model.max-delay}") long maxDelayMillis) {
+        this.employeeRepository = employeeRepository;
+        this.employeeEventRepository = employeeEventRepository;
+        this.objectMapper = objectMapper;
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setReadOnly(true);
+        //the employees and the last commit order of one snapshot
+        this.readTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.maxDelayMillis = maxDelayMillis;
+
+        Gauge.builder("employee.read-model.size", this, readModel -> readModel.employees.size())
+                .description("Number of employees in the read model")
+                .register(meterRegistry);
+        TimeGauge.builder("employee.read-model.delay", this, TimeUnit.MILLISECONDS, readModel -> readModel.lastEventDelayMillis)
+                .description("Time from writing the last applied event to applying it")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the snapshot once the listener is already subscribed, so no event is missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        load();
+    }
+
+    /**
+     * Loads the model again when its first load failed, it has a gap or it is behind
+     * the database for longer than max-delay.
+     */
+    @Scheduled(fixedDelayString = "${employee.read-model.check-delay}")
+    public void check() {
+        if (!bootstrapped) {
+            if (loadFailed) {
+                load();
+            }
+            return;
+        }
+        long committed;
+        try {
+            committed = employeeEventRepository.findLastCommitOrder();
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to check employee read model against the database", e);
+            return;
+        }
+        if (committed > appliedCommitOrder && behindSince == 0) {
+            behindCommitOrder = committed;
+            behindSince = System.currentTimeMillis();
+        }
+        if (gap || behindMillis() > maxDelayMillis) {
+            LOG.warn("Employee read model is {}, loading it again", gap ? "missing events" : "behind the database for " + behindMillis() + " ms");
+            load();
+        }
+    }
+
+    @JmsListener(destination = JmsProducerServiceImpl.EMPLOYEE_TOPIC, containerFactory = EmployeeTopicConfig.EMPLOYEE_TOPIC_LISTENER_FACTORY)
+    public void onEvent(String payload,
+                        @Header(JmsProducerServiceImpl.EVENT_ID_PROPERTY) long eventId,
+                        @Header(JmsProducerServiceImpl.CREATED_AT_PROPERTY) long createdAt,
+                        @Header(JmsProducerServiceImpl.COMMIT_ORDER_PROPERTY) long commitOrder) {
+        EmployeeEventMessage message;
+        try {
+            message = readMessage(payload);
+        } catch (JsonProcessingException e) {
+            LOG.error("Skipping malformed employee event {}", eventId, e);
+            return;
+        }
+        //applied under the lock too, so that a load does not switch maps in the middle of an event
+        synchronized (bootstrapLock) {
+            if (!bootstrapped) {
+                pendingEvents.add(() -> apply(eventId, createdAt, commitOrder, message));
+                return;
+            }
+            apply(eventId, createdAt, commitOrder, message);
+        }
+    }
+
+    public boolean isBootstrapped() {
+        return bootstrapped;
+    }
+
+    /**
+     * @return copy of the employee, callers may change it
+     */
+    public Optional<Employee> findById(Long id) {
+        return Optional.ofNullable(employees.get(id)).map(CacheConfig::copyEmployee);
+    }
+
+    /**
+     * @return live read-only view of employees ordered by ID, until the model is loaded again,
+     * the employees are shared, copy them before handing them out
+     */
+    public NavigableMap<Long, Employee> getEmployees() {
+        return Collections.unmodifiableNavigableMap(employees);
+    }
+
+    @Override
+    public Health health() {
+        long behindMillis = behindMillis();
+        Health.Builder health = bootstrapped && !gap && behindMillis <= maxDelayMillis ? Health.up() : Health.outOfService();
+        health.withDetail("bootstrapped", bootstrapped)
+                .withDetail("size", employees.size())
+                .withDetail("commitOrder", appliedCommitOrder)
+                .withDetail("missingEvents", gap)
+                .withDetail("behindMs", behindMillis)
+                .withDetail("lastEventDelayMs", lastEventDelayMillis)
+                .withDetail("maxDelayMs", maxDelayMillis);
+        if (lastEventAt > 0) {
+            health.withDetail("lastEventAt", new Date(lastEventAt));
+        }
+        return health.build();
+    }
+
+    /**
+     * Loads employees into a new map while events are buffered, then applies the buffered
+     * events after the snapshot and switches to the new map.
+     */
+    private synchronized void load() {
+        long start = System.currentTimeMillis();
+        synchronized (bootstrapLock) {
+            bootstrapped = false;
+            if (pendingEvents == null) {
+                pendingEvents = new ArrayList<>();
+            }
+        }
+        ConcurrentSkipListMap<Long, Employee> loaded = new ConcurrentSkipListMap<>();
+        Set<Long> eventIds = new HashSet<>();
+        long commitOrder;
+        try {
+            commitOrder = readTransactionTemplate.execute(status -> {
+                long lastCommitOrder = employeeEventRepository.findLastCommitOrder();
+                eventIds.addAll(employeeEventRepository.findNotNumberedIds());
+                employeeRepository.forEachEmployee(employee -> loaded.put(employee.getId(), employee));
+                return lastCommitOrder;
+            });
+        } catch (RuntimeException e) {
+            loadFailed = true;
+            LOG.error("Failed to load employee read model, reads go to the database", e);
+            return;
+        }
+        synchronized (bootstrapLock) {
+            employees = loaded;
+            appliedCommitOrder = commitOrder;
+            loadedEventIds = eventIds;
+            gap = false;
+            behindSince = 0;
+            loadFailed = false;
+            pendingEvents.forEach(Runnable::run);
+            pendingEvents = null;
+            bootstrapped = true;
+        }
+        LOG.info("Loaded {} employees into read model in {} ms", loaded.size(), System.currentTimeMillis() - start);
+    }
+
+    private long behindMillis() {
+        long since = behindSince;
+        return since == 0 ? 0 : System.currentTimeMillis() - since;
+    }
+
+    private void apply(long eventId, long createdAt, long commitOrder, EmployeeEventMessage message) {
+        if (commitOrder <= appliedCommitOrder) {
+            LOG.debug("Skipping employee event {} applied or loaded already", eventId);
+            return;
+        }
+        if (commitOrder > appliedCommitOrder + 1 && !gap) {
+            gap = true;
+            LOG.warn("Employee events {} to {} are missing", appliedCommitOrder + 1, commitOrder - 1);
+        }
+        if (loadedEventIds.remove(eventId)) {
+            LOG.debug("Skipping employee event {} loaded already", eventId);
+        } else {
+            change(message);
+        }
+        appliedCommitOrder = commitOrder;
+        if (commitOrder >= behindCommitOrder) {
+            behindSince = 0;
+        }
+        long now = System.currentTimeMillis();
+        lastEventAt = now;
+        lastEventDelayMillis = Math.max(0, now - createdAt);
+    }
+
+    private void change(EmployeeEventMessage message) {
+        switch (message.getType()) {
+            case CREATED:
+            case UPDATED:
+                putIfNewer(message.getEmployee());
+                break;
+            case DELETED:
+                message.getEmployeeIds().forEach(employees::remove);
+                break;
+            case DEPARTMENT_MOVED:
+                employees.values().stream()
+                        .filter(employee -> employee.getDepartmentId() == message.getFromDepartmentId())
+                        .forEach(employee -> employees.computeIfPresent(employee.getId(), (id, current) ->
+                                current.getDepartmentId() != message.getFromDepartmentId() ? current
+                                        : changed(current, message.getToDepartmentId(), current.getJobTitle())));
+                break;
+            case JOB_TITLE_CHANGED:
+                message.getEmployeeIds().forEach(employeeId -> employees.computeIfPresent(employeeId, (id, current) ->
+                        message.getJobTitle().equals(current.getJobTitle()) ? current
+                                : changed(current, current.getDepartmentId(), message.getJobTitle())));
+                break;
+        }
+    }
+
+    private void putIfNewer(Employee employee) {
+        employees.merge(employee.getId(), employee, (current, received) ->
+                received.getVersion() > current.getVersion() ? received : current);
+    }
+
+    /**
+     * Employee version is read only in JSON, so it is taken from the payload separately.
+     */
+    private EmployeeEventMessage readMessage(String payload) throws JsonProcessingException {
+        JsonNode node = objectMapper.readTree(payload);
+        EmployeeEventMessage message = objectMapper.treeToValue(node, EmployeeEventMessage.class);
+        if (message.getEmployee() != null) {
+            message.getEmployee().setVersion(node.path("employee").path("version").asLong());
+        }
+        return message;
+    }
+
+    private static Employee changed(Employee employee, int departmentId, String jobTitle) {
+        return Employee.builder()
+                .id(employee.getId())
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .departmentId(departmentId)
+                .jobTitle(jobTitle)
+                .gender(employee.getGender())
+                .dateOfBirth(employee.getDateOfBirth())
+                .version(employee.getVersion() + 1)
+                .build();
+    }
+}
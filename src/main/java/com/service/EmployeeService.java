@@ -1,8 +1,14 @@
 package com.service;
 
 import com.model.Employee;
+import com.model.EmployeeDimension;
+import com.model.EmployeeFilter;
+import com.model.EmployeeName;
+import com.model.EmployeePage;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Service interface for {@link com.model.Employee}
@@ -12,13 +18,51 @@ import java.util.List;
  */
 
 public interface EmployeeService {
-    List<Employee> getEmployees();
+    EmployeePage getEmployees(String cursor, int size, String sort, String direction);
+
+    /**
+     * @return ETag of the page {@link #getEmployees} would return, without loading employees
+     */
+    String getEmployeesETag(String cursor, int size, String sort, String direction);
+
+    /**
+     * Page of employees matching {@code filter}, a cursor is only valid with the same filter.
+     */
+    EmployeePage searchEmployees(EmployeeFilter filter, String cursor, int size, String sort, String direction);
 
     Employee getEmployeeById(Long id);
 
+    /**
+     * @return version of the employee, without loading it
+     */
+    Long getEmployeeVersionById(Long id);
+
+    /**
+     * @return at most {@code limit} employees whose first or last name starts with {@code prefix}, ignoring case
+     */
+    List<EmployeeName> completeNames(String prefix, int limit);
+
+    /**
+     * @return number of employees by value of {@code dimension}
+     */
+    Map<String, Long> countEmployees(EmployeeDimension dimension);
+
     void addEmployee(Employee employee);
 
-    Employee editEmployeeById(Long id, int departmentId, String jobTitle);
+    List<Long> addEmployees(List<Employee> employees);
+
+    /**
+     * @param expectedVersion version from If-Match header, {@code null} to update any version
+     */
+    Employee editEmployeeById(Long id, Long expectedVersion, int departmentId, String jobTitle);
 
     void deleteEmployeeById(Long id);
+
+    int moveEmployeesToDepartment(int fromDepartmentId, int toDepartmentId);
+
+    int editJobTitleByIds(List<Long> ids, String jobTitle);
+
+    int deleteEmployeesByIds(List<Long> ids);
+
+    void exportEmployees(Consumer<Employee> consumer);
 }
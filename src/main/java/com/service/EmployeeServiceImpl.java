@@ -1,20 +1,51 @@
 package com.service;
 
+import com.config.CacheConfig;
+import com.error.BadRequestException;
+import com.error.PreconditionFailedException;
 import com.error.ResourceNotFoundException;
 import com.model.Employee;
+import com.model.EmployeeDimension;
+import com.model.EmployeeFilter;
+import com.model.EmployeeName;
+import com.model.EmployeePage;
+import com.model.EmployeeSortField;
 import com.repository.EmployeeRepository;
+import com.valid.EmployeeValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of {@link EmployeeService} interface.
+ * Employees are validated by {@link EmployeeValidator} before they are written, for every
+ * caller including {@link com.rest.EmployeeController}, which does not validate them itself;
+ * Hibernate does not validate them again.
  *
  * @author Sergey Ignatyuk
  * @version 1.0
@@ -22,48 +53,318 @@ import java.util.stream.Collectors;
 
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeServiceImpl.class);
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final int AGE_BUCKET_STEP = 10;
+    private static final String[] AGE_BUCKETS = {"0-19", "20-29", "30-39", "40-49", "50-59", "60+"};
 
     private final EmployeeRepository employeeRepository;
-    private final JmsProducerService jmsProducerService;
+    private final EmployeeEventService employeeEventService;
+    private final EmployeeNameIndex employeeNameIndex;
+    private final EmployeeCounters employeeCounters;
+    private final EmployeeValidator employeeValidator;
+    private final TransactionTemplate writeTransactionTemplate;
 
     @Autowired
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository, JmsProducerService jmsProducerService) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EmployeeEventService employeeEventService,
+                               @Nullable EmployeeNameIndex employeeNameIndex, EmployeeCounters employeeCounters,
+                               EmployeeValidator employeeValidator, PlatformTransactionManager transactionManager) {
         this.employeeRepository = employeeRepository;
-        this.jmsProducerService = jmsProducerService;
+        this.employeeEventService = employeeEventService;
+        this.employeeNameIndex = employeeNameIndex;
+        this.employeeCounters = employeeCounters;
+        this.employeeValidator = employeeValidator;
+        this.writeTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.writeTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.writeTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public EmployeePage getEmployees(String cursor, int size, String sort, String direction) {
+        EmployeeSortField sortField = EmployeeSortField.of(sort);
+        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+        Position position = Position.of(cursor, sortField, sortDirection, sort, direction);
+
+        //one extra row tells whether there is a next page
+        List<Employee> employees = employeeRepository.findPage(sortField, sortDirection, position.lastValue, position.lastId, size + 1);
+        return page(employees, size, sortField, sortDirection);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public EmployeePage searchEmployees(EmployeeFilter filter, String cursor, int size, String sort, String direction) {
+        EmployeeSortField sortField = EmployeeSortField.of(sort);
+        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+        Position position = Position.of(cursor, sortField, sortDirection, sort, direction);
+
+        List<Employee> employees = employeeRepository.searchPage(filter, sortField, sortDirection, position.lastValue, position.lastId, size + 1);
+        return page(employees, size, sortField, sortDirection);
     }
 
     @Override
     @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
-    public List<Employee> getEmployees() {
-        return employeeRepository.findAll().stream().sorted(((o1, o2) -> (int) (o1.getId() - o2.getId()))).collect(Collectors.toList());
+    public String getEmployeesETag(String cursor, int size, String sort, String direction) {
+        EmployeeSortField sortField = EmployeeSortField.of(sort);
+        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+        Position position = Position.of(cursor, sortField, sortDirection, sort, direction);
+
+        return pageETag(employeeRepository.findPageVersions(sortField, sortDirection, position.lastValue, position.lastId, size + 1), size);
     }
 
     @Override
     @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_CACHE, sync = true)
     public Employee getEmployeeById(Long id) {
         return employeeRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Employee with ID: " + id + " Not Found!"));
     }
 
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.SERIALIZABLE)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Long getEmployeeVersionById(Long id) {
+        return employeeRepository.findVersionById(id).orElseThrow(() -> new ResourceNotFoundException("Employee with ID: " + id + " Not Found!"));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<EmployeeName> completeNames(String prefix, int limit) {
+        if (employeeNameIndex == null || !employeeNameIndex.isBootstrapped()) {
+            return employeeRepository.findNamesByPrefix(prefix, limit);
+        }
+        return employeeNameIndex.complete(prefix, limit);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<String, Long> countEmployees(EmployeeDimension dimension) {
+        if (dimension == EmployeeDimension.AGE) {
+            return countEmployeesByAge();
+        }
+        return employeeCounters.get(dimension).orElseGet(() -> employeeCounters.countInDatabase(dimension));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<Employee> consumer) {
+        employeeRepository.forEachEmployee(consumer);
+    }
+
+    @Override
     public void addEmployee(Employee employee) {
-        employeeRepository.save(employee);
-        jmsProducerService.sendMessage(String.format("Employee %s %s created!", employee.getFirstName(), employee.getLastName()));
+        //before the transaction takes a connection
+        employeeValidator.validate(employee, "addEmployee.employee");
+        writeTransactionTemplate.executeWithoutResult(status -> {
+            employeeRepository.save(employee);
+            employeeEventService.employeeCreated(employee);
+            employeeCounters.created(List.of(employee));
+        });
+    }
+
+    @Override
+    public List<Long> addEmployees(List<Employee> employees) {
+        employeeValidator.validate(employees, "addEmployees.employees");
+        return writeTransactionTemplate.execute(status -> {
+            //ids always come from the sequence
+            employees.forEach(employee -> employee.setId(null));
+            employeeRepository.saveAllInBatches(employees);
+            employeeEventService.employeesCreated(employees);
+            employeeCounters.created(employees);
+            return employees.stream()
+                    .map(Employee::getId)
+                    .collect(Collectors.toList());
+        });
     }
 
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.SERIALIZABLE)
-    public Employee editEmployeeById(Long id, int departmentId, String jobTitle) {
-        Employee employee = employeeRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Employee with ID: " + id + " Not Found!"));
-        employee.setDepartmentId(departmentId);
-        employee.setJobTitle(jobTitle);
-        return employeeRepository.save(employee);
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    public Employee editEmployeeById(Long id, Long expectedVersion, int departmentId, String jobTitle) {
+        return inWriteTransaction(id, employee -> {
+            if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+                throw new PreconditionFailedException("Employee with ID: " + id + " has version " + employee.getVersion() + ", expected " + expectedVersion);
+            }
+            int oldDepartmentId = employee.getDepartmentId();
+            String oldJobTitle = employee.getJobTitle();
+            employee.setDepartmentId(departmentId);
+            employee.setJobTitle(jobTitle);
+            employeeValidator.validate(employee, "editEmployeeById.employee");
+            //flush to get the new version into the event
+            employee = employeeRepository.saveAndFlush(employee);
+            employeeEventService.employeeUpdated(employee);
+            employeeCounters.edited(oldDepartmentId, oldJobTitle, employee);
+            return employee;
+        });
     }
 
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.SERIALIZABLE)
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
     public void deleteEmployeeById(Long id) {
-        Employee employee = employeeRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Employee with ID: " + id + " Not Found!"));
-        employeeRepository.delete(employee);
+        inWriteTransaction(id, employee -> {
+            employeeRepository.delete(employee);
+            employeeEventService.employeesDeleted(List.of(id));
+            employeeCounters.deleted(employee);
+            return null;
+        });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.READ_COMMITTED)
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    public int moveEmployeesToDepartment(int fromDepartmentId, int toDepartmentId) {
+        int updated = employeeRepository.updateDepartmentIdByDepartmentId(fromDepartmentId, toDepartmentId);
+        employeeEventService.departmentMoved(fromDepartmentId, toDepartmentId);
+        employeeCounters.moved(fromDepartmentId, toDepartmentId, updated);
+        return updated;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.READ_COMMITTED)
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    public int editJobTitleByIds(List<Long> ids, String jobTitle) {
+        int updated = employeeRepository.updateJobTitleByIdIn(ids, jobTitle);
+        employeeEventService.jobTitleChanged(ids, jobTitle);
+        //previous job titles are unknown
+        employeeCounters.invalidate(EmployeeDimension.JOB_TITLE);
+        return updated;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.READ_COMMITTED)
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    public int deleteEmployeesByIds(List<Long> ids) {
+        int deleted = employeeRepository.deleteByIdIn(ids);
+        employeeEventService.employeesDeleted(ids);
+        //values of deleted employees are unknown
+        employeeCounters.invalidate(EmployeeDimension.DEPARTMENT_ID, EmployeeDimension.GENDER, EmployeeDimension.JOB_TITLE);
+        return deleted;
+    }
+
+    /**
+     * Runs read-modify-write {@code action} on employee {@code id} in a new READ COMMITTED transaction.
+     * The first attempt reads the employee without a lock. If the version check fails on commit
+     * because of a concurrent write, the whole transaction is repeated after a random back-off,
+     * reading the employee with a row lock, so that it can not conflict again; a lock timeout is
+     * retried too, at most {@link #MAX_WRITE_ATTEMPTS} attempts in all.
+     */
+    private <T> T inWriteTransaction(Long id, Function<Employee, T> action) {
+        for (int attempt = 1; ; attempt++) {
+            boolean lock = attempt > 1;
+            try {
+                return writeTransactionTemplate.execute(status -> action.apply(
+                        (lock ? employeeRepository.findByIdForUpdate(id) : employeeRepository.findById(id))
+                                .orElseThrow(() -> new ResourceNotFoundException("Employee with ID: " + id + " Not Found!"))));
+            } catch (ConcurrencyFailureException e) {
+                if (attempt == MAX_WRITE_ATTEMPTS) {
+                    throw e;
+                }
+                LOG.debug("Concurrent write of employee {}, attempt {} of {}: {}", id, attempt, MAX_WRITE_ATTEMPTS, e.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    private static void backOff(int attempt) {
+        try {
+            //random exponential delay so that conflicting writers do not collide again
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 10L << attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying write", e);
+        }
+    }
+
+    /**
+     * Position after the last employee of the previous page, nothing for the first page.
+     * Shared with {@link ReactiveEmployeeServiceImpl}.
+     */
+    static final class Position {
+        Comparable<?> lastValue;
+        Long lastId;
+
+        static Position of(String cursor, EmployeeSortField sortField, Sort.Direction sortDirection, String sort, String direction) {
+            Position position = new Position();
+            if (cursor != null) {
+                String[] parts = decodeCursor(cursor);
+                if (!parts[0].equals(sortField.getProperty()) || !parts[1].equals(sortDirection.name())) {
+                    throw new BadRequestException("Cursor does not match sort " + sort + " " + direction);
+                }
+                try {
+                    position.lastId = Long.valueOf(parts[2]);
+                    position.lastValue = parts.length == 4 ? sortField.parse(parts[3]) : null;
+                } catch (NumberFormatException e) {
+                    throw new BadRequestException("Invalid cursor: " + cursor);
+                }
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Counts in one query by ranges of date of birth: an employee is at least N years
+     * old when born before the day after today N years ago.
+     */
+    private Map<String, Long> countEmployeesByAge() {
+        LocalDate today = LocalDate.now();
+        Date[] bounds = new Date[AGE_BUCKETS.length - 1];
+        for (int i = 0; i < bounds.length; i++) {
+            int age = AGE_BUCKET_STEP * (AGE_BUCKETS.length - i);
+            bounds[i] = Date.from(today.minusYears(age).plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        }
+        //ranges go from the oldest, buckets from the youngest
+        long[] counts = employeeRepository.countByDateOfBirthRanges(bounds);
+        Map<String, Long> ages = new LinkedHashMap<>();
+        for (int i = 0; i < AGE_BUCKETS.length; i++) {
+            ages.put(AGE_BUCKETS[i], counts[counts.length - 1 - i]);
+        }
+        return ages;
+    }
+
+    static EmployeePage page(List<Employee> employees, int size, EmployeeSortField sortField, Sort.Direction sortDirection) {
+        String nextCursor = null;
+        if (employees.size() > size) {
+            employees = employees.subList(0, size);
+            nextCursor = encodeCursor(sortField, sortDirection, employees.get(size - 1));
+        }
+        return new EmployeePage(employees, nextCursor);
+    }
+
+    /**
+     * @param versions IDs and versions of the page with one extra row, which tells whether there is a next page
+     * @return ETag of the page, equal to {@link EmployeePage#getETag()}
+     */
+    static String pageETag(List<Object[]> versions, int size) {
+        int count = Math.min(size, versions.size());
+        long[] pageIds = new long[count];
+        long[] pageVersions = new long[count];
+        for (int i = 0; i < count; i++) {
+            pageIds[i] = (Long) versions.get(i)[0];
+            Long version = (Long) versions.get(i)[1];
+            pageVersions[i] = version == null ? 0 : version;
+        }
+        return EmployeePage.eTag(pageIds, pageVersions, versions.size() > size);
+    }
+
+    /**
+     * Cursor of the position after {@code last}: sort:direction:id:value, the value last as it may
+     * contain ':', and left out with its separator when it is null.
+     */
+    static String encodeCursor(EmployeeSortField sortField, Sort.Direction direction, Employee last) {
+        String cursor = String.join(":", sortField.getProperty(), direction.name(), String.valueOf(last.getId()));
+        String lastValue = sortField.format(last);
+        if (lastValue != null) {
+            cursor = cursor + ":" + lastValue;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 4);
+            if (parts.length >= 3) {
+                return parts;
+            }
+        } catch (IllegalArgumentException ignored) {
+            //not a base64 string, reported below
+        }
+        throw new BadRequestException("Invalid cursor: " + cursor);
     }
 }
@@ -1,7 +1,10 @@
 package com.service;
 
-import com.model.Employee;
+import com.model.EmployeeEvent;
 
 public interface JmsProducerService {
-    void sendMessage(String message);
+    /**
+     * Sends outbox {@code event} to employee.topic, failures are propagated.
+     */
+    void sendEvent(EmployeeEvent event);
 }
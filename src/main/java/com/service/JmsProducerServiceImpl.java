@@ -1,5 +1,8 @@
 package com.service;
 
+import com.model.EmployeeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,21 +12,55 @@ import org.springframework.stereotype.Component;
 @Component
 public class JmsProducerServiceImpl implements JmsProducerService {
     private static final Logger LOG = LoggerFactory.getLogger(JmsProducerService.class);
+    public static final String EMPLOYEE_TOPIC = "employee.topic";
+    public static final String EVENT_ID_PROPERTY = "eventId";
+    public static final String EVENT_TYPE_PROPERTY = "eventType";
+    public static final String EMPLOYEE_ID_PROPERTY = "employeeId";
+    public static final String CREATED_AT_PROPERTY = "createdAt";
+    public static final String COMMIT_ORDER_PROPERTY = "commitOrder";
+
+    public static final String SEND_TIMER = "employee.jms.send";
 
     private final JmsTemplate jmsTemplate;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
-    public JmsProducerServiceImpl(JmsTemplate jmsTemplate) {
+    public JmsProducerServiceImpl(JmsTemplate jmsTemplate, MeterRegistry meterRegistry) {
         this.jmsTemplate = jmsTemplate;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
-    public void sendMessage(String message) {
+    public void sendEvent(EmployeeEvent event) {
+        LOG.debug("Sending employee event {} of type {} in commit order {}", event.getId(), event.getType(), event.getCommitOrder());
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            LOG.info("Attempting Send message to Topic: " + "employee.topic");
-            jmsTemplate.convertAndSend("employee.topic", message);
-        } catch (Exception e) {
-            LOG.error("Recieved Exception during send Message: ", e);
+            convertAndSend(event);
+            sample.stop(sendTimer("sendEvent", null));
+        } catch (RuntimeException e) {
+            sample.stop(sendTimer("sendEvent", e));
+            throw e;
         }
     }
+
+    private void convertAndSend(EmployeeEvent event) {
+        jmsTemplate.convertAndSend(EMPLOYEE_TOPIC, event.getPayload(), message -> {
+            message.setLongProperty(EVENT_ID_PROPERTY, event.getId());
+            message.setStringProperty(EVENT_TYPE_PROPERTY, event.getType().name());
+            message.setLongProperty(CREATED_AT_PROPERTY, event.getCreatedAt().getTime());
+            message.setLongProperty(COMMIT_ORDER_PROPERTY, event.getCommitOrder());
+            if (event.getEmployeeId() != null) {
+                message.setLongProperty(EMPLOYEE_ID_PROPERTY, event.getEmployeeId());
+            }
+            return message;
+        });
+    }
+
+    private Timer sendTimer(String method, Exception exception) {
+        return Timer.builder(SEND_TIMER)
+                .tag("method", method)
+                .tag("outcome", exception == null ? "SUCCESS" : "FAILURE")
+                .tag("exception", exception == null ? "none" : exception.getClass().getSimpleName())
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,41 @@
+package com.service;
+
+import com.model.Employee;
+import com.model.EmployeePage;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking service interface for {@link com.model.Employee} of the reactive profile,
+ * the subset of {@link EmployeeService} served by {@link com.rest.ReactiveEmployeeController}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public interface ReactiveEmployeeService {
+    Mono<EmployeePage> getEmployees(String cursor, int size, String sort, String direction);
+
+    /**
+     * @return ETag of the page, from IDs and versions only
+     */
+    Mono<String> getEmployeesETag(String cursor, int size, String sort, String direction);
+
+    Mono<Employee> getEmployeeById(Long id);
+
+    /**
+     * @return version of the employee, without loading it
+     */
+    Mono<Long> getEmployeeVersionById(Long id);
+
+    /**
+     * @return {@code employee} with the ID it was created with
+     */
+    Mono<Employee> addEmployee(Employee employee);
+
+    /**
+     * @param expectedVersion version from If-Match header, {@code null} to update any version
+     */
+    Mono<Employee> editEmployeeById(Long id, Long expectedVersion, int departmentId, String jobTitle);
+
+    Mono<Void> deleteEmployeeById(Long id);
+}
@@ -0,0 +1,174 @@
+package com.service;
+
+import com.error.PreconditionFailedException;
+import com.error.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.model.Employee;
+import com.model.EmployeeEvent;
+import com.model.EmployeeEventMessage;
+import com.model.EmployeeEventType;
+import com.model.EmployeePage;
+import com.model.EmployeeSortField;
+import com.repository.ReactiveEmployeeEventRepository;
+import com.repository.ReactiveEmployeeRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Implementation of {@link ReactiveEmployeeService} interface over R2DBC. Writes and their
+ * outbox events commit together like in {@link EmployeeServiceImpl}.
+ * <p>
+ * Reactive transactions have a manager of their own instead of a bean: JPA needs to stay
+ * the only {@link org.springframework.transaction.TransactionManager} bean for {@code @Transactional}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final Duration WRITE_BACK_OFF = Duration.ofMillis(5);
+
+    private final ReactiveEmployeeRepository employeeRepository;
+    private final ReactiveEmployeeEventRepository employeeEventRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionalOperator writeTransactionalOperator;
+
+    @Autowired
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository employeeRepository, ReactiveEmployeeEventRepository employeeEventRepository,
+                                       ObjectMapper objectMapper, ConnectionFactory connectionFactory) {
+        this.employeeRepository = employeeRepository;
+        this.employeeEventRepository = employeeEventRepository;
+        this.objectMapper = objectMapper;
+        //READ COMMITTED is the default of the database, setting it would cost a statement per transaction
+        this.writeTransactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory),
+                new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Override
+    public Mono<EmployeePage> getEmployees(String cursor, int size, String sort, String direction) {
+        return Mono.defer(() -> {
+            EmployeeSortField sortField = EmployeeSortField.of(sort);
+            Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+            EmployeeServiceImpl.Position position = EmployeeServiceImpl.Position.of(cursor, sortField, sortDirection, sort, direction);
+
+            //one extra row tells whether there is a next page
+            return employeeRepository.findPage(sortField, sortDirection, position.lastValue, position.lastId, size + 1)
+                    .collectList()
+                    .map(employees -> EmployeeServiceImpl.page(employees, size, sortField, sortDirection));
+        });
+    }
+
+    @Override
+    public Mono<String> getEmployeesETag(String cursor, int size, String sort, String direction) {
+        return Mono.defer(() -> {
+            EmployeeSortField sortField = EmployeeSortField.of(sort);
+            Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+            EmployeeServiceImpl.Position position = EmployeeServiceImpl.Position.of(cursor, sortField, sortDirection, sort, direction);
+
+            return employeeRepository.findPageVersions(sortField, sortDirection, position.lastValue, position.lastId, size + 1)
+                    .collectList()
+                    .map(versions -> EmployeeServiceImpl.pageETag(versions, size));
+        });
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(Long id) {
+        return employeeRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    @Override
+    public Mono<Long> getEmployeeVersionById(Long id) {
+        return employeeRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    @Override
+    public Mono<Employee> addEmployee(Employee employee) {
+        return employeeRepository.insert(employee)
+                .flatMap(created -> employeeEventRepository.save(event(created.getId(), EmployeeEventMessage.builder()
+                        .type(EmployeeEventType.CREATED)
+                        .employee(created)
+                        .build()))
+                        .thenReturn(created))
+                .as(writeTransactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Employee> editEmployeeById(Long id, Long expectedVersion, int departmentId, String jobTitle) {
+        return inWriteTransaction(employeeRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)))
+                .flatMap(employee -> {
+                    if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+                        return Mono.error(new PreconditionFailedException("Employee with ID: " + id + " has version " + employee.getVersion() + ", expected " + expectedVersion));
+                    }
+                    employee.setDepartmentId(departmentId);
+                    employee.setJobTitle(jobTitle);
+                    return employeeRepository.update(employee);
+                })
+                .flatMap(employee -> employeeEventRepository.save(event(employee.getId(), EmployeeEventMessage.builder()
+                        .type(EmployeeEventType.UPDATED)
+                        .employee(employee)
+                        .build()))
+                        .thenReturn(employee)));
+    }
+
+    @Override
+    public Mono<Void> deleteEmployeeById(Long id) {
+        return employeeRepository.deleteById(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.<Void>error(notFound(id))
+                        : employeeEventRepository.save(event(id, EmployeeEventMessage.builder()
+                        .type(EmployeeEventType.DELETED)
+                        .employeeIds(List.of(id))
+                        .build())))
+                .as(writeTransactionalOperator::transactional);
+    }
+
+    /**
+     * Runs read-modify-write {@code action} in a new transaction, repeated
+     * on a version conflict like {@link EmployeeServiceImpl}, without blocking between attempts.
+     */
+    private <T> Mono<T> inWriteTransaction(Mono<T> action) {
+        return action
+                .as(writeTransactionalOperator::transactional)
+                .retryWhen(Retry.backoff(MAX_WRITE_ATTEMPTS - 1, WRITE_BACK_OFF)
+                        .filter(OptimisticLockingFailureException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    private EmployeeEvent event(Long employeeId, EmployeeEventMessage message) {
+        try {
+            return EmployeeEvent.builder()
+                    .employeeId(employeeId)
+                    .type(message.getType())
+                    .payload(objectMapper.writeValueAsString(message))
+                    .createdAt(new Date())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can not serialize employee event " + message.getType(), e);
+        }
+    }
+
+    private static ResourceNotFoundException notFound(Long id) {
+        return new ResourceNotFoundException("Employee with ID: " + id + " Not Found!");
+    }
+}
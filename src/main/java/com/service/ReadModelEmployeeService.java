@@ -0,0 +1,161 @@
+package com.service;
+
+import com.config.CacheConfig;
+import com.error.BadRequestException;
+import com.error.ResourceNotFoundException;
+import com.model.Employee;
+import com.model.EmployeeDimension;
+import com.model.EmployeeFilter;
+import com.model.EmployeeName;
+import com.model.EmployeePage;
+import com.model.EmployeeSortField;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of {@link EmployeeService} interface serving reads by ID and
+ * pages sorted by ID from {@link EmployeeReadModel}. Other reads, writes and reads
+ * before the read model is loaded go to {@link EmployeeServiceImpl}.
+ * Reads are eventually consistent, a write is visible after its event is relayed.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Service
+@Primary
+@ConditionalOnProperty(value = "employee.read-model.enabled", havingValue = "true")
+public class ReadModelEmployeeService implements EmployeeService {
+    private final EmployeeService employeeService;
+    private final EmployeeReadModel employeeReadModel;
+
+    @Autowired
+    public ReadModelEmployeeService(@Qualifier("employeeServiceImpl") EmployeeService employeeService, EmployeeReadModel employeeReadModel) {
+        this.employeeService = employeeService;
+        this.employeeReadModel = employeeReadModel;
+    }
+
+    @Override
+    public EmployeePage getEmployees(String cursor, int size, String sort, String direction) {
+        if (!employeeReadModel.isBootstrapped() || EmployeeSortField.of(sort) != EmployeeSortField.ID) {
+            return employeeService.getEmployees(cursor, size, sort, direction);
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+        NavigableMap<Long, Employee> employees = employeeReadModel.getEmployees();
+        if (sortDirection.isDescending()) {
+            employees = employees.descendingMap();
+        }
+        if (cursor != null) {
+            String[] parts = EmployeeServiceImpl.decodeCursor(cursor);
+            if (!parts[0].equals(EmployeeSortField.ID.getProperty()) || !parts[1].equals(sortDirection.name())) {
+                throw new BadRequestException("Cursor does not match sort " + sort + " " + direction);
+            }
+            try {
+                employees = employees.tailMap(Long.valueOf(parts[2]), false);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+        }
+
+        List<Employee> page = new ArrayList<>(size);
+        String nextCursor = null;
+        for (Employee employee : employees.values()) {
+            if (page.size() == size) {
+                nextCursor = EmployeeServiceImpl.encodeCursor(EmployeeSortField.ID, sortDirection, page.get(size - 1));
+                break;
+            }
+            page.add(CacheConfig.copyEmployee(employee));
+        }
+        return new EmployeePage(page, nextCursor);
+    }
+
+    @Override
+    public String getEmployeesETag(String cursor, int size, String sort, String direction) {
+        if (!employeeReadModel.isBootstrapped() || EmployeeSortField.of(sort) != EmployeeSortField.ID) {
+            return employeeService.getEmployeesETag(cursor, size, sort, direction);
+        }
+        //a page in memory is as cheap as its versions
+        return getEmployees(cursor, size, sort, direction).getETag();
+    }
+
+    @Override
+    public EmployeePage searchEmployees(EmployeeFilter filter, String cursor, int size, String sort, String direction) {
+        return employeeService.searchEmployees(filter, cursor, size, sort, direction);
+    }
+
+    @Override
+    public Employee getEmployeeById(Long id) {
+        if (!employeeReadModel.isBootstrapped()) {
+            return employeeService.getEmployeeById(id);
+        }
+        return employeeReadModel.findById(id).orElseThrow(() -> new ResourceNotFoundException("Employee with ID: " + id + " Not Found!"));
+    }
+
+    @Override
+    public Long getEmployeeVersionById(Long id) {
+        if (!employeeReadModel.isBootstrapped()) {
+            return employeeService.getEmployeeVersionById(id);
+        }
+        return getEmployeeById(id).getVersion();
+    }
+
+    @Override
+    public List<EmployeeName> completeNames(String prefix, int limit) {
+        return employeeService.completeNames(prefix, limit);
+    }
+
+    @Override
+    public Map<String, Long> countEmployees(EmployeeDimension dimension) {
+        return employeeService.countEmployees(dimension);
+    }
+
+    @Override
+    public void addEmployee(Employee employee) {
+        employeeService.addEmployee(employee);
+    }
+
+    @Override
+    public List<Long> addEmployees(List<Employee> employees) {
+        return employeeService.addEmployees(employees);
+    }
+
+    @Override
+    public Employee editEmployeeById(Long id, Long expectedVersion, int departmentId, String jobTitle) {
+        return employeeService.editEmployeeById(id, expectedVersion, departmentId, jobTitle);
+    }
+
+    @Override
+    public void deleteEmployeeById(Long id) {
+        employeeService.deleteEmployeeById(id);
+    }
+
+    @Override
+    public int moveEmployeesToDepartment(int fromDepartmentId, int toDepartmentId) {
+        return employeeService.moveEmployeesToDepartment(fromDepartmentId, toDepartmentId);
+    }
+
+    @Override
+    public int editJobTitleByIds(List<Long> ids, String jobTitle) {
+        return employeeService.editJobTitleByIds(ids, jobTitle);
+    }
+
+    @Override
+    public int deleteEmployeesByIds(List<Long> ids) {
+        return employeeService.deleteEmployeesByIds(ids);
+    }
+
+    @Override
+    public void exportEmployees(Consumer<Employee> consumer) {
+        employeeService.exportEmployees(consumer);
+    }
+}
@@ -0,0 +1,25 @@
+package com.service;
+
+import org.springframework.security.core.Authentication;
+
+/**
+ * Service interface for signed API tokens of machine clients.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public interface TokenService {
+    /**
+     * @return token carrying the name and authorities of {@code authentication}
+     */
+    String issueToken(Authentication authentication);
+
+    /**
+     * @return authenticated principal of the token
+     * @throws org.springframework.security.authentication.BadCredentialsException when the token is malformed, forged or expired
+     */
+    Authentication verifyToken(String token);
+
+    long getTtlSeconds();
+}
@@ -0,0 +1,125 @@
+package com.service;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link TokenService} interface with HMAC-SHA256 signed tokens
+ * {@code base64url(payload).base64url(signature)}, the payload is
+ * {@code base64url(name):base64url(expiresAt):base64url(authorities)}, so no field can contain the separator.
+ * Verification needs no session and no password hash, a token stays valid until it expires.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class TokenServiceImpl implements TokenService {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final Clock clock;
+    //Mac is not thread safe, initializing one per request costs more than signing
+    private final ThreadLocal<Mac> mac;
+
+    public TokenServiceImpl(byte[] secret, long ttlSeconds, Clock clock) {
+        if (secret == null || secret.length == 0) {
+            throw new IllegalArgumentException("Token secret is not set");
+        }
+        if (secret.length < 32) {
+            throw new IllegalArgumentException("Token secret must have at least 256 bits");
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+        this.clock = clock;
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    @Override
+    public String issueToken(Authentication authentication) {
+        String authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+        long expiresAt = clock.instant().getEpochSecond() + ttlSeconds;
+        byte[] payload = String.join(":", encode(authentication.getName()), encode(String.valueOf(expiresAt)), encode(authorities))
+                .getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(mac.get().doFinal(payload));
+    }
+
+    @Override
+    public Authentication verifyToken(String token) {
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            throw new BadCredentialsException("Malformed token");
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BadCredentialsException("Malformed token");
+        }
+        //constant time comparison does not tell how much of a forged signature was right
+        if (!MessageDigest.isEqual(mac.get().doFinal(payload), signature)) {
+            throw new BadCredentialsException("Invalid token signature");
+        }
+
+        String[] parts = new String(payload, StandardCharsets.UTF_8).split(":", -1);
+        if (parts.length != 3) {
+            throw new BadCredentialsException("Malformed token");
+        }
+        String name;
+        long expiresAt;
+        String authorities;
+        try {
+            name = decode(parts[0]);
+            expiresAt = Long.parseLong(decode(parts[1]));
+            authorities = decode(parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new BadCredentialsException("Malformed token");
+        }
+        if (expiresAt <= clock.instant().getEpochSecond()) {
+            throw new BadCredentialsException("Token expired");
+        }
+        return new UsernamePasswordAuthenticationToken(name, null, AuthorityUtils.commaSeparatedStringToAuthorityList(authorities));
+    }
+
+    @Override
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    private static String encode(String field) {
+        return ENCODER.encodeToString(field.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String field) {
+        return new String(DECODER.decode(field), StandardCharsets.UTF_8);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Can not initialize " + ALGORITHM, e);
+        }
+    }
+}
@@ -16,7 +16,13 @@ import java.lang.annotation.*;
 @Target( { ElementType.METHOD, ElementType.FIELD })
 @Retention(RetentionPolicy.RUNTIME)
 public @interface CustomDateConstraint {
-    String message() default "Invalid date format";
+    String message() default "{employee.dateOfBirth.range}";
+
+    /**
+     * Earliest valid date, yyyy-MM-dd, the latest is today.
+     */
+    String min() default "1900-01-01";
+
     Class<?>[] groups() default {};
     Class<? extends Payload>[] payload() default {};
 }
@@ -2,26 +2,38 @@ package com.valid;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
 
 /**
- * Custom date validator
+ * Custom date validator: the date is between min of {@link CustomDateConstraint} and now.
+ * Dates are compared as epoch milliseconds, min is parsed once, a check allocates nothing.
+ * Dates of JSON bodies are parsed at midnight UTC, so is min.
  *
  * @author Sergey Ignatyuk
  * @version 1.0
  */
 
 public class CustomDateValidator implements ConstraintValidator<CustomDateConstraint, Date> {
-    private static final String DATE_PATTERN = "yyyy-MM-dd";
+    //immutable and thread-safe, unlike SimpleDateFormat
+    static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private long minMillis;
 
     @Override
     public void initialize(CustomDateConstraint constraintAnnotation) {
+        minMillis = LocalDate.parse(constraintAnnotation.min(), DATE_FORMATTER).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
     }
 
     @Override
     public boolean isValid(Date date, ConstraintValidatorContext constraintValidatorContext) {
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat(DATE_PATTERN);
-        return true;
+        //null is checked by @NotNull
+        if (date == null) {
+            return true;
+        }
+        long millis = date.getTime();
+        return millis >= minMillis && millis <= System.currentTimeMillis();
     }
 }
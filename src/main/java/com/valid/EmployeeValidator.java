@@ -0,0 +1,343 @@
+package com.valid;
+
+import com.model.Employee;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import javax.validation.ConstraintViolationException;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fast path of the Bean Validation of {@link Employee}: the constraints of its annotations
+ * checked in plain code instead of by reflection and regular expressions, with the same
+ * messages. The bounds of {@code @Size}, {@code @Min} and {@code @Max} are read from the
+ * annotations once, the patterns are checked to be those implemented here. Messages are
+ * resolved from messages.properties in the locale of the request, like Bean Validation does,
+ * and only for violations: violations are bits of an int, a valid employee allocates nothing.
+ * <p>
+ * A constraint added to {@link Employee} must be added here too, EmployeeValidatorTest
+ * compares both validators.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@Component
+public class EmployeeValidator implements Validator {
+    enum Violation {
+        FIRST_NAME_EMPTY("firstName", NotEmpty.class),
+        FIRST_NAME_PATTERN("firstName", Pattern.class),
+        FIRST_NAME_SIZE("firstName", Size.class),
+        LAST_NAME_EMPTY("lastName", NotEmpty.class),
+        LAST_NAME_PATTERN("lastName", Pattern.class),
+        LAST_NAME_SIZE("lastName", Size.class),
+        //@NotNull of the int department ID always holds
+        DEPARTMENT_ID_MIN("departmentId", Min.class),
+        DEPARTMENT_ID_MAX("departmentId", Max.class),
+        JOB_TITLE_EMPTY("jobTitle", NotEmpty.class),
+        JOB_TITLE_SIZE("jobTitle", Size.class),
+        GENDER_EMPTY("gender", NotEmpty.class),
+        GENDER_PATTERN("gender", Pattern.class),
+        DATE_OF_BIRTH_NULL("dateOfBirth", NotNull.class),
+        DATE_OF_BIRTH_RANGE("dateOfBirth", CustomDateConstraint.class);
+
+        private final String field;
+        private final Class<? extends Annotation> annotation;
+
+        Violation(String field, Class<? extends Annotation> annotation) {
+            this.field = field;
+            this.annotation = annotation;
+        }
+
+        int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    private static final Violation[] VIOLATIONS = Violation.values();
+    //attributes of constraint annotations interpolated into their messages
+    private static final String[] MESSAGE_PARAMETERS = {"min", "max", "value"};
+    private static final String NAME_REGEXP = "[^\\s]*";
+    private static final String GENDER_REGEXP = "male|Male|female|Female";
+
+    private final MessageSource messageSource;
+    private final String[] messageTemplates = new String[VIOLATIONS.length];
+    private final Annotation[] annotations = new Annotation[VIOLATIONS.length];
+    //placeholders of the message parameters of each annotation and their values
+    private final Map<Violation, Map<String, String>> messageParameters = new EnumMap<>(Violation.class);
+    private final int firstNameMin;
+    private final int firstNameMax;
+    private final int lastNameMin;
+    private final int lastNameMax;
+    private final long departmentIdMin;
+    private final long departmentIdMax;
+    private final int jobTitleMin;
+    private final int jobTitleMax;
+    private final CustomDateValidator dateOfBirthValidator = new CustomDateValidator();
+
+    @Autowired
+    public EmployeeValidator(MessageSource messageSource) {
+        this.messageSource = messageSource;
+        for (Violation violation : VIOLATIONS) {
+            Annotation annotation = annotation(violation);
+            if (annotation == null) {
+                throw new IllegalStateException("Employee." + violation.field + " has no @" + violation.annotation.getSimpleName());
+            }
+            annotations[violation.ordinal()] = annotation;
+            messageTemplates[violation.ordinal()] = (String) attribute(annotation, "message");
+            Map<String, String> parameters = new LinkedHashMap<>();
+            for (String parameter : MESSAGE_PARAMETERS) {
+                if (hasAttribute(annotation, parameter)) {
+                    parameters.put("{" + parameter + "}", String.valueOf(attribute(annotation, parameter)));
+                }
+            }
+            messageParameters.put(violation, parameters);
+        }
+        Size firstNameSize = (Size) annotations[Violation.FIRST_NAME_SIZE.ordinal()];
+        this.firstNameMin = firstNameSize.min();
+        this.firstNameMax = firstNameSize.max();
+        Size lastNameSize = (Size) annotations[Violation.LAST_NAME_SIZE.ordinal()];
+        this.lastNameMin = lastNameSize.min();
+        this.lastNameMax = lastNameSize.max();
+        this.departmentIdMin = ((Min) annotations[Violation.DEPARTMENT_ID_MIN.ordinal()]).value();
+        this.departmentIdMax = ((Max) annotations[Violation.DEPARTMENT_ID_MAX.ordinal()]).value();
+        Size jobTitleSize = (Size) annotations[Violation.JOB_TITLE_SIZE.ordinal()];
+        this.jobTitleMin = jobTitleSize.min();
+        this.jobTitleMax = jobTitleSize.max();
+        requirePattern(Violation.FIRST_NAME_PATTERN, NAME_REGEXP);
+        requirePattern(Violation.LAST_NAME_PATTERN, NAME_REGEXP);
+        requirePattern(Violation.GENDER_PATTERN, GENDER_REGEXP);
+        dateOfBirthValidator.initialize((CustomDateConstraint) annotations[Violation.DATE_OF_BIRTH_RANGE.ordinal()]);
+    }
+
+    /**
+     * @return bits of the {@link Violation}s of the employee, 0 if it is valid
+     */
+    public int violations(Employee employee) {
+        int violations = 0;
+        String firstName = employee.getFirstName();
+        if (isEmpty(firstName)) {
+            violations |= Violation.FIRST_NAME_EMPTY.bit();
+        }
+        if (hasWhitespace(firstName)) {
+            violations |= Violation.FIRST_NAME_PATTERN.bit();
+        }
+        if (!hasSize(firstName, firstNameMin, firstNameMax)) {
+            violations |= Violation.FIRST_NAME_SIZE.bit();
+        }
+        String lastName = employee.getLastName();
+        if (isEmpty(lastName)) {
+            violations |= Violation.LAST_NAME_EMPTY.bit();
+        }
+        if (hasWhitespace(lastName)) {
+            violations |= Violation.LAST_NAME_PATTERN.bit();
+        }
+        if (!hasSize(lastName, lastNameMin, lastNameMax)) {
+            violations |= Violation.LAST_NAME_SIZE.bit();
+        }
+        if (employee.getDepartmentId() < departmentIdMin) {
+            violations |= Violation.DEPARTMENT_ID_MIN.bit();
+        }
+        if (employee.getDepartmentId() > departmentIdMax) {
+            violations |= Violation.DEPARTMENT_ID_MAX.bit();
+        }
+        String jobTitle = employee.getJobTitle();
+        if (isEmpty(jobTitle)) {
+            violations |= Violation.JOB_TITLE_EMPTY.bit();
+        }
+        if (!hasSize(jobTitle, jobTitleMin, jobTitleMax)) {
+            violations |= Violation.JOB_TITLE_SIZE.bit();
+        }
+        String gender = employee.getGender();
+        if (isEmpty(gender)) {
+            violations |= Violation.GENDER_EMPTY.bit();
+        }
+        if (gender != null && !isGender(gender)) {
+            violations |= Violation.GENDER_PATTERN.bit();
+        }
+        if (employee.getDateOfBirth() == null) {
+            violations |= Violation.DATE_OF_BIRTH_NULL.bit();
+        }
+        if (!dateOfBirthValidator.isValid(employee.getDateOfBirth(), null)) {
+            violations |= Violation.DATE_OF_BIRTH_RANGE.bit();
+        }
+        return violations;
+    }
+
+    /**
+     * @return messages of the violations in the locale of the request, in the order of the fields of {@link Employee}
+     */
+    public List<String> messages(int violations) {
+        Locale locale = LocaleContextHolder.getLocale();
+        List<String> violationMessages = new ArrayList<>(Integer.bitCount(violations));
+        for (Violation violation : VIOLATIONS) {
+            if ((violations & violation.bit()) != 0) {
+                violationMessages.add(message(violation, locale));
+            }
+        }
+        return violationMessages;
+    }
+
+    /**
+     * Validates an employee to be written as Bean Validation of {@link Employee} does.
+     *
+     * @param path path of the employee in messages, e.g. {@code addEmployee.employee}
+     * @throws ConstraintViolationException as {@link #validate(List, String)}
+     */
+    public void validate(Employee employee, String path) {
+        int violations = violations(employee);
+        if (violations != 0) {
+            throw new ConstraintViolationException(appendMessages(new StringBuilder(), violations, path, LocaleContextHolder.getLocale()).toString(), Set.of());
+        }
+    }
+
+    /**
+     * Validates the employees of a request body as method validation of {@code List<@Valid Employee>} does.
+     *
+     * @param path path of the list in messages, e.g. {@code addEmployees.employees}
+     * @throws ConstraintViolationException with the messages of all violations, each prefixed by
+     *                                      the path of its field, e.g. {@code addEmployees.employees[0].firstName: }
+     */
+    public void validate(List<Employee> employees, String path) {
+        StringBuilder message = null;
+        for (int i = 0; i < employees.size(); i++) {
+            int violations = violations(employees.get(i));
+            if (violations == 0) {
+                continue;
+            }
+            if (message == null) {
+                message = new StringBuilder();
+            }
+            appendMessages(message, violations, path + '[' + i + ']', LocaleContextHolder.getLocale());
+        }
+        if (message != null) {
+            throw new ConstraintViolationException(message.toString(), Set.of());
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return Employee.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        int violations = violations((Employee) target);
+        if (violations == 0) {
+            return;
+        }
+        Locale locale = LocaleContextHolder.getLocale();
+        for (Violation violation : VIOLATIONS) {
+            if ((violations & violation.bit()) != 0) {
+                errors.rejectValue(violation.field, violation.annotation.getSimpleName(), message(violation, locale));
+            }
+        }
+    }
+
+    private StringBuilder appendMessages(StringBuilder message, int violations, String path, Locale locale) {
+        for (Violation violation : VIOLATIONS) {
+            if ((violations & violation.bit()) != 0) {
+                if (message.length() > 0) {
+                    message.append(", ");
+                }
+                message.append(path).append('.').append(violation.field)
+                        .append(": ").append(message(violation, locale));
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Resolves the message of the annotation as the message interpolator of Bean Validation
+     * configured by Spring does: a {key} from the message source in the locale, then the
+     * attributes of the annotation.
+     */
+    private String message(Violation violation, Locale locale) {
+        String message = messageTemplates[violation.ordinal()];
+        if (message.startsWith("{") && message.endsWith("}")) {
+            message = messageSource.getMessage(message.substring(1, message.length() - 1), null, message, locale);
+        }
+        for (Map.Entry<String, String> parameter : messageParameters.get(violation).entrySet()) {
+            message = message.replace(parameter.getKey(), parameter.getValue());
+        }
+        return message;
+    }
+
+    private void requirePattern(Violation violation, String regexp) {
+        String actual = ((Pattern) annotations[violation.ordinal()]).regexp();
+        if (!actual.equals(regexp)) {
+            throw new IllegalStateException("@Pattern of Employee." + violation.field + " is " + actual
+                    + ", EmployeeValidator checks " + regexp);
+        }
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    //[^\s]*, null is valid
+    private static boolean hasWhitespace(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //null is valid
+    private static boolean hasSize(String value, int min, int max) {
+        return value == null || (value.length() >= min && value.length() <= max);
+    }
+
+    //male|Male|female|Female
+    private static boolean isGender(String value) {
+        return value.equals("male") || value.equals("Male") || value.equals("female") || value.equals("Female");
+    }
+
+    private static Annotation annotation(Violation violation) {
+        try {
+            return Employee.class.getDeclaredField(violation.field).getAnnotation(violation.annotation);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Employee has no field " + violation.field, e);
+        }
+    }
+
+    private static boolean hasAttribute(Annotation annotation, String name) {
+        try {
+            annotation.annotationType().getMethod(name);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static Object attribute(Annotation annotation, String name) {
+        try {
+            return annotation.annotationType().getMethod(name).invoke(annotation);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No " + name + " of " + annotation, e);
+        }
+    }
+}
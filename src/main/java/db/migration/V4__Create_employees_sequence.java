@@ -0,0 +1,35 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Creates the sequence used by {@link com.model.Employee} ids instead of the identity
+ * column, so Hibernate can batch inserts. Written in Java because neither PostgreSQL
+ * nor H2 can start a sequence from a query in plain SQL.
+ * Hibernate uses the pooled optimizer: a value N reserves ids N-49..N, so the sequence
+ * starts 50 above the current maximum id.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class V4__Create_employees_sequence extends BaseJavaMigration {
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet resultSet = statement.executeQuery("select coalesce(max(id), 0) from employees")) {
+                resultSet.next();
+                maxId = resultSet.getLong(1);
+            }
+            statement.execute("create sequence employees_seq start with " + (maxId + ALLOCATION_SIZE)
+                    + " increment by " + ALLOCATION_SIZE);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+-- Employee events are numbered by the outbox relay instead of their writers, which no longer lock a counter row.
+-- Writers take write_order from a sequence when they insert an event, the relay gives committed events their
+-- commit_order in write_order and keeps the last one in employee_events_relay, which only relays write
+create sequence employee_events_write_order_seq start with 1 increment by 1;
+alter table employee_events add column write_order int8 default nextval('employee_events_write_order_seq') not null;
+create index idx_employee_events_write_order on employee_events (write_order);
+alter table employee_events alter column commit_order drop not null;
+
+create table employee_events_relay
+(
+    id                int4 not null,
+    last_commit_order int8 not null,
+    primary key (id)
+);
+
+-- events not sent yet keep their commit orders
+insert into employee_events_relay (id, last_commit_order)
+select id, last_commit_order
+from employee_events_commit_order;
+
+drop table employee_events_commit_order;
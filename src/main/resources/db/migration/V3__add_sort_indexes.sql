@@ -0,0 +1,7 @@
+-- Composite indexes for keyset pagination: (sort column, id)
+create index idx_employees_first_name_id on employees (first_name, id);
+create index idx_employees_last_name_id on employees (last_name, id);
+create index idx_employees_department_id_id on employees (department_id, id);
+create index idx_employees_job_title_id on employees (job_title, id);
+create index idx_employees_gender_id on employees (gender, id);
+create index idx_employees_date_of_birth_id on employees (date_of_birth, id);
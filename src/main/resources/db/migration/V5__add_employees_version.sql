@@ -0,0 +1,2 @@
+-- Version column for optimistic locking of employees
+alter table employees add column version int8 default 0 not null;
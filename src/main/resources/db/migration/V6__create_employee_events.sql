@@ -0,0 +1,12 @@
+-- Table: employee_events, outbox of events relayed to employee.topic
+create table employee_events
+(
+    id          int8        not null,
+    employee_id int8,
+    type        varchar(32) not null,
+    payload     varchar     not null,
+    created_at  timestamp   not null,
+    primary key (id)
+);
+
+create sequence employee_events_seq start with 1 increment by 50;
@@ -0,0 +1,4 @@
+-- Composite indexes for combined filters of employee search, single filters use the indexes of V3
+create index idx_employees_department_id_job_title_id on employees (department_id, job_title, id);
+create index idx_employees_department_id_date_of_birth on employees (department_id, date_of_birth);
+create index idx_employees_gender_date_of_birth on employees (gender, date_of_birth);
@@ -0,0 +1,16 @@
+-- Order of employee events by commit of their transactions, the outbox relay sends events in this order.
+-- Writers take it from the single row of employee_events_commit_order, which stays locked until they commit
+alter table employee_events add column commit_order int8;
+update employee_events set commit_order = id;
+alter table employee_events alter column commit_order set not null;
+create index idx_employee_events_commit_order on employee_events (commit_order);
+
+create table employee_events_commit_order
+(
+    id                int4 not null,
+    last_commit_order int8 not null,
+    primary key (id)
+);
+
+insert into employee_events_commit_order (id, last_commit_order)
+select 1, coalesce(max(commit_order), 0) from employee_events;
@@ -3,7 +3,8 @@ package com;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {"employee.auth.token.secret=dGVzdC1vbmx5LXRva2VuLXNlY3JldC0zMi1ieXRlcyE=",
+        "spring.activemq.broker-url=vm://application?broker.persistent=false&broker.useJmx=false"})
 class EmployeeApplicationTests {
 
     @Test
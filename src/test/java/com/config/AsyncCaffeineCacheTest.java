@@ -0,0 +1,106 @@
+package com.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of {@link AsyncCaffeineCache}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class AsyncCaffeineCacheTest {
+    private final AsyncCaffeineCache cache = new AsyncCaffeineCache("employees", Caffeine.newBuilder().maximumSize(100).buildAsync());
+
+    @Test
+    public void givenLoadInFlight_whenGet_thenWaitForIt() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            release.await();
+            return "loaded";
+        }));
+        loading.await(5, TimeUnit.SECONDS);
+
+        CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            loads.incrementAndGet();
+            return "loaded again";
+        }));
+        release.countDown();
+
+        assertEquals("loaded", first.get(5, TimeUnit.SECONDS));
+        assertEquals("loaded", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals("loaded", cache.get(1L).get());
+    }
+
+    @Test
+    public void givenEvictionDuringLoad_whenLoaded_thenNotCached() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> stale = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            loading.countDown();
+            release.await();
+            return "stale";
+        }));
+        loading.await(5, TimeUnit.SECONDS);
+
+        cache.evict(1L);
+        release.countDown();
+
+        assertEquals("stale", stale.get(5, TimeUnit.SECONDS));
+        assertNull(cache.get(1L));
+        assertEquals("fresh", cache.get(1L, () -> "fresh"));
+    }
+
+    @Test
+    public void givenFailingLoad_whenGet_thenThrowAndNotCached() {
+        IllegalStateException failure = new IllegalStateException("Not Found");
+        try {
+            cache.get(1L, () -> {
+                throw failure;
+            });
+            fail();
+        } catch (Cache.ValueRetrievalException e) {
+            assertSame(failure, e.getCause());
+        }
+
+        assertNull(cache.get(1L));
+        assertEquals("loaded", cache.get(1L, () -> "loaded"));
+    }
+
+    @Test
+    public void givenSettleWindow_whenLoadedAfterEviction_thenNotCached() {
+        AsyncCaffeineCache settlingCache = new AsyncCaffeineCache("employees", Caffeine.newBuilder().maximumSize(100).buildAsync(), Duration.ofMinutes(1));
+        settlingCache.put(1L, "old");
+        settlingCache.put(2L, "other");
+
+        settlingCache.evict(1L);
+
+        assertEquals("replica", settlingCache.get(1L, () -> "replica"));
+        assertNull(settlingCache.get(1L));
+        assertEquals("primary", settlingCache.get(1L, () -> "primary"));
+        assertEquals("other", settlingCache.get(2L, () -> "loaded"));
+
+        settlingCache.clear();
+
+        assertEquals("loaded", settlingCache.get(2L, () -> "loaded"));
+        assertNull(settlingCache.get(2L));
+    }
+}
@@ -0,0 +1,106 @@
+package com.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link BoundedAsyncAppender} and {@link SamplingTurboFilter}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class BoundedAsyncAppenderTest {
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void givenQueueFilling_whenLog_thenDropBelowWarnThenAll() throws Exception {
+        CountDownLatch appending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ListAppender<ILoggingEvent> slowAppender = new ListAppender<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                appending.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.append(event);
+            }
+        };
+        slowAppender.setContext(loggerContext);
+        slowAppender.start();
+        BoundedAsyncAppender asyncAppender = new BoundedAsyncAppender();
+        asyncAppender.setContext(loggerContext);
+        asyncAppender.setName("ASYNC");
+        asyncAppender.setQueueSize(4);
+        asyncAppender.setOverloadThreshold(2);
+        asyncAppender.addAppender(slowAppender);
+        asyncAppender.start();
+        asyncAppender.bindTo(meterRegistry);
+        Logger logger = loggerContext.getLogger("test");
+        logger.addAppender(asyncAppender);
+
+        //taken by the worker, the queue is empty again
+        logger.info("first");
+        assertTrue(appending.await(5, TimeUnit.SECONDS));
+        logger.info("queued");
+        logger.info("queued");
+        logger.info("queued while 2 places left");
+        logger.info("dropped while 1 place left");
+        logger.warn("queued while 1 place left");
+        logger.error("dropped while full");
+
+        assertEquals(1.0, dropped("overload"), 0.0);
+        assertEquals(1.0, dropped("full"), 0.0);
+        assertEquals(4.0, meterRegistry.get(BoundedAsyncAppender.QUEUED_GAUGE).gauge().value(), 0.0);
+        release.countDown();
+        asyncAppender.stop();
+        assertEquals(5, slowAppender.list.size());
+    }
+
+    @Test
+    public void givenSampledLogger_whenLog_thenOneOfEveryNBelowWarn() {
+        SamplingTurboFilter samplingTurboFilter = new SamplingTurboFilter();
+        samplingTurboFilter.addSample("hot = 3");
+        samplingTurboFilter.start();
+        loggerContext.addTurboFilter(samplingTurboFilter);
+        samplingTurboFilter.bindTo(meterRegistry);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        Logger hot = loggerContext.getLogger("hot");
+        hot.setLevel(Level.INFO);
+        hot.addAppender(appender);
+
+        for (int i = 0; i < 6; i++) {
+            if (hot.isInfoEnabled()) {
+                hot.info("sent {}", i);
+            }
+            hot.debug("disabled {}", i);
+        }
+        hot.warn("never sampled");
+
+        assertEquals(3, appender.list.size());
+        assertEquals("sent 0", appender.list.get(0).getFormattedMessage());
+        assertEquals("sent 3", appender.list.get(1).getFormattedMessage());
+        assertEquals(4.0, meterRegistry.get(SamplingTurboFilter.SAMPLED_COUNTER).tag("logger", "hot").functionCounter().count(), 0.0);
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get(BoundedAsyncAppender.DROPPED_COUNTER).tag("reason", reason).functionCounter().count();
+    }
+}
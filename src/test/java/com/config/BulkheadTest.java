@@ -0,0 +1,128 @@
+package com.config;
+
+import com.error.BulkheadFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of {@link Bulkhead}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class BulkheadTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Bulkhead bulkhead = new Bulkhead("write", 1, 1, new CustomizableThreadFactory("write-"), meterRegistry);
+
+    @After
+    public void tearDown() {
+        bulkhead.close();
+    }
+
+    @Test
+    public void givenThreadsBusyAndQueueFull_whenSupply_thenRejected() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = bulkhead.supply(() -> {
+            running.countDown();
+            await(release);
+            return "first";
+        });
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = bulkhead.supply(() -> "queued");
+
+        assertEquals(1.0, meterRegistry.get(Bulkhead.ACTIVE_GAUGE).tag("bulkhead", "write").gauge().value(), 0.0);
+        assertEquals(1.0, meterRegistry.get(Bulkhead.QUEUED_GAUGE).tag("bulkhead", "write").gauge().value(), 0.0);
+        try {
+            bulkhead.supply(() -> "rejected");
+            fail();
+        } catch (BulkheadFullException e) {
+            assertEquals(1.0, meterRegistry.get(Bulkhead.REJECTED_COUNTER).tag("bulkhead", "write").counter().count(), 0.0);
+        }
+
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(2, meterRegistry.get(Bulkhead.WAIT_TIMER).tag("bulkhead", "write").timer().count());
+    }
+
+    @Test
+    public void givenLocaleOfCaller_whenSupply_thenTaskRunsWithIt() throws Exception {
+        LocaleContextHolder.setLocale(Locale.GERMAN);
+        try {
+            assertEquals(Locale.GERMAN, bulkhead.supply(LocaleContextHolder::getLocale).get(5, TimeUnit.SECONDS));
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+        assertEquals(Locale.getDefault(), bulkhead.supply(LocaleContextHolder::getLocale).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void givenVirtualThreads_whenSupply_thenRunsOnCallerThreadBounded() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BulkheadConfig bulkheadConfig = new BulkheadConfig(true, new StaticListableBeanFactory().getBeanProvider(TaskDecorator.class));
+        Bulkhead bulkhead = bulkheadConfig.writeBulkhead(1, 1, meterRegistry);
+        assertSame(Thread.currentThread(), bulkhead.supply(Thread::currentThread).get());
+
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> bulkhead.supply(() -> {
+            running.countDown();
+            await(release);
+            return "first";
+        }).thenAccept(first::complete));
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> bulkhead.supply(() -> "queued").thenAccept(queued::complete));
+        while (meterRegistry.get(Bulkhead.QUEUED_GAUGE).tag("bulkhead", "write").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertEquals(1.0, meterRegistry.get(Bulkhead.ACTIVE_GAUGE).tag("bulkhead", "write").gauge().value(), 0.0);
+        try {
+            bulkhead.supply(() -> "rejected");
+            fail();
+        } catch (BulkheadFullException e) {
+            assertEquals(1.0, meterRegistry.get(Bulkhead.REJECTED_COUNTER).tag("bulkhead", "write").counter().count(), 0.0);
+        }
+
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(3, meterRegistry.get(Bulkhead.WAIT_TIMER).tag("bulkhead", "write").timer().count());
+        try {
+            bulkhead.supply(() -> {
+                throw new IllegalStateException("failed");
+            }).join();
+            fail();
+        } catch (CompletionException e) {
+            assertEquals("failed", e.getCause().getMessage());
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
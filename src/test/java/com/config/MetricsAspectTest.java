@@ -0,0 +1,92 @@
+package com.config;
+
+import com.error.ResourceNotFoundException;
+import com.repository.EmployeeRepository;
+import com.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests of {@link MetricsAspect}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import(MetricsAspect.class)
+public class MetricsAspectTest {
+    @Autowired
+    private MetricsAspect metricsAspect;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @TestConfiguration
+    @EnableAspectJAutoProxy
+    static class MetricsAspectTestContextConfiguration {
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    public void whenRepositoryCalled_thenTimedByMethod() {
+        employeeRepository.findById(1L);
+        employeeRepository.updateJobTitleByIdIn(List.of(1L), "Architect");
+
+        assertEquals(1, repositoryTimer("findById", "SUCCESS").count());
+        assertEquals(1, repositoryTimer("updateJobTitleByIdIn", "SUCCESS").count());
+    }
+
+    @Test
+    public void whenServiceFails_thenTimedWithFailureOutcome() {
+        EmployeeService target = Mockito.mock(EmployeeService.class);
+        when(target.getEmployeeById(1L)).thenReturn(null);
+        when(target.getEmployeeById(2L)).thenThrow(new ResourceNotFoundException("Employee with ID: 2 Not Found!"));
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addAspect(metricsAspect);
+        EmployeeService employeeService = proxyFactory.getProxy();
+
+        employeeService.getEmployeeById(1L);
+        try {
+            employeeService.getEmployeeById(2L);
+        } catch (ResourceNotFoundException ignored) {
+            //recorded as FAILURE
+        }
+
+        assertEquals(1, meterRegistry.get(MetricsAspect.SERVICE_TIMER).tag("method", "getEmployeeById").tag("outcome", "SUCCESS").timer().count());
+        Timer failures = meterRegistry.get(MetricsAspect.SERVICE_TIMER).tag("method", "getEmployeeById").tag("outcome", "FAILURE").timer();
+        assertEquals(1, failures.count());
+        assertNotNull(meterRegistry.get(MetricsAspect.SERVICE_TIMER).tag("exception", "ResourceNotFoundException").timer());
+    }
+
+    private Timer repositoryTimer(String method, String outcome) {
+        return meterRegistry.get(MetricsAspect.REPOSITORY_TIMER)
+                .tag("class", "EmployeeRepository")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer();
+    }
+}
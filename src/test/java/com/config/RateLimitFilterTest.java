@@ -0,0 +1,83 @@
+package com.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.model.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link RateLimitFilter}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class RateLimitFilterTest {
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final RateLimitFilter rateLimitFilter = new RateLimitFilter(new RateLimiter(Map.of(
+            Role.USER, new RateLimiter.Limit(0.5, 1),
+            Role.ADMIN, new RateLimiter.Limit(0.5, 1)), new SimpleMeterRegistry(), nanoTime::get), new ObjectMapper());
+
+    @Before
+    public void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", null, Role.ADMIN.getAuthorities()));
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void givenBurstTaken_whenWrite_thenTooManyRequests() throws Exception {
+        assertEquals(HttpStatus.OK.value(), filter("DELETE").getStatus());
+
+        MockHttpServletResponse response = filter("DELETE");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("\"message\":\"Too Many Requests\""));
+        assertTrue(response.getContentAsString().contains("\"status\":429"));
+    }
+
+    @Test
+    public void givenBurstTaken_whenRead_thenNotLimited() throws Exception {
+        filter("POST");
+
+        assertEquals(HttpStatus.OK.value(), filter("GET").getStatus());
+    }
+
+    @Test
+    public void givenAuthorities_whenRole_thenMostPrivilegedGranted() {
+        assertEquals(Role.ADMIN, RateLimitFilter.role(Role.ADMIN.getAuthorities()));
+        assertEquals(Role.USER, RateLimitFilter.role(Role.USER.getAuthorities()));
+        assertEquals(Role.USER, RateLimitFilter.role(List.of(new SimpleGrantedAuthority("employees:write"))));
+        assertNotNull(RateLimitFilter.permission("PUT"));
+        assertNull(RateLimitFilter.permission("HEAD"));
+    }
+
+    private MockHttpServletResponse filter(String method) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(new MockHttpServletRequest(method, "/employees/1"), response, new MockFilterChain());
+        return response;
+    }
+}
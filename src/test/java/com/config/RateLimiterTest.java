@@ -0,0 +1,88 @@
+package com.config;
+
+import com.model.Permission;
+import com.model.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of {@link RateLimiter}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class RateLimiterTest {
+    private final AtomicLong nanoTime = new AtomicLong(-TimeUnit.HOURS.toNanos(1));
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimiter rateLimiter = new RateLimiter(Map.of(
+            Role.USER, new RateLimiter.Limit(1, 1),
+            Role.ADMIN, new RateLimiter.Limit(10, 3)), meterRegistry, nanoTime::get);
+
+    @Test
+    public void givenBurstTaken_whenTryAcquire_thenLimitedUntilRefilled() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("admin", Role.ADMIN, Permission.EMPLOYEES_WRITE));
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), rateLimiter.tryAcquire("admin", Role.ADMIN, Permission.EMPLOYEES_WRITE));
+
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, rateLimiter.tryAcquire("admin", Role.ADMIN, Permission.EMPLOYEES_WRITE));
+
+        assertEquals(4.0, hits(Role.ADMIN, "allowed"), 0.0);
+        assertEquals(1.0, hits(Role.ADMIN, "limited"), 0.0);
+    }
+
+    @Test
+    public void givenOnePrincipalLimited_whenOtherPrincipalOrPermission_thenAllowed() {
+        assertEquals(0, rateLimiter.tryAcquire("user", Role.USER, Permission.EMPLOYEES_WRITE));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), rateLimiter.tryAcquire("user", Role.USER, Permission.EMPLOYEES_WRITE));
+
+        assertEquals(0, rateLimiter.tryAcquire("user", Role.USER, Permission.EMPLOYEES_READ));
+        assertEquals(0, rateLimiter.tryAcquire("client", Role.USER, Permission.EMPLOYEES_WRITE));
+    }
+
+    @Test
+    public void givenFullBucket_whenPrune_thenRemoved() {
+        rateLimiter.tryAcquire("admin", Role.ADMIN, Permission.EMPLOYEES_WRITE);
+        rateLimiter.tryAcquire("user", Role.USER, Permission.EMPLOYEES_WRITE);
+
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        rateLimiter.prune();
+
+        assertEquals(1, rateLimiter.size(Permission.EMPLOYEES_WRITE));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), rateLimiter.tryAcquire("user", Role.USER, Permission.EMPLOYEES_WRITE));
+    }
+
+    @Test
+    public void givenInvalidLimit_whenCreate_thenThrow() {
+        for (RateLimiter.Limit limit : List.of(new RateLimiter.Limit(0, 1), new RateLimiter.Limit(-1, 1),
+                new RateLimiter.Limit(Double.NaN, 1), new RateLimiter.Limit(1e-10, 1), new RateLimiter.Limit(1, 0))) {
+            try {
+                new RateLimiter(Map.of(Role.USER, limit, Role.ADMIN, new RateLimiter.Limit(10, 3)), meterRegistry, nanoTime::get);
+                fail(limit.toString());
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("USER"));
+            }
+        }
+    }
+
+    private double hits(Role role, String outcome) {
+        return meterRegistry.get(RateLimiter.HITS_COUNTER)
+                .tag("role", role.name())
+                .tag("permission", Permission.EMPLOYEES_WRITE.getPermission())
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+}
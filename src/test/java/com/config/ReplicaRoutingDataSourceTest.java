@@ -0,0 +1,143 @@
+package com.config;
+
+import com.error.PreconditionFailedException;
+import com.model.Role;
+import com.service.EmployeeCounters;
+import com.service.EmployeeEventService;
+import com.service.EmployeeNameIndex;
+import com.service.EmployeeService;
+import com.service.EmployeeServiceImpl;
+import com.valid.EmployeeValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Integrations tests of {@link ReplicaRoutingDataSource} on two H2 databases, the replica
+ * differs from the primary in the job title of employee 1 to tell where a read went.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "employee.datasource.replica.enabled=true",
+        "employee.datasource.replica.url=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+        "employee.datasource.replica.username=sa",
+        "employee.datasource.replica.password=",
+        "employee.datasource.replica.max-lag=100",
+        "employee.datasource.replica.lag-check-delay=100",
+        "employee.datasource.replica.primary-position-query=SELECT 'primary'",
+        "employee.datasource.replica.lag-query=SELECT millis FROM replica_lag WHERE position = ?"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReplicaDataSourceConfig.class, EmployeeServiceImpl.class, EmployeeValidator.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReplicaRoutingDataSourceTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @MockBean
+    private EmployeeEventService employeeEventService;
+    @MockBean
+    private EmployeeNameIndex employeeNameIndex;
+    @MockBean
+    private EmployeeCounters employeeCounters;
+
+    private JdbcTemplate replica;
+
+    @Before
+    public void setUp() {
+        DriverManagerDataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replicaDataSource).locations("classpath:db/migration").load().migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (position VARCHAR(16), millis BIGINT)");
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag VALUES ('primary', 0)");
+        replica.update("UPDATE employees SET job_title = 'Replica' WHERE id = 1");
+        replicaRoutingDataSource.checkLag();
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void givenReplicaInSync_whenRead_thenFromReplica() {
+        assertEquals("Replica", employeeService.getEmployeeById(1L).getJobTitle());
+    }
+
+    @Test
+    public void givenReplicaLagging_whenRead_thenFromPrimary() {
+        replica.update("UPDATE replica_lag SET millis = 10000");
+        replicaRoutingDataSource.checkLag();
+
+        assertEquals("Java Developer", employeeService.getEmployeeById(1L).getJobTitle());
+    }
+
+    @Test
+    public void givenReplicaLagUnknown_whenRead_thenFromPrimary() {
+        replica.update("UPDATE replica_lag SET millis = NULL");
+        replicaRoutingDataSource.checkLag();
+
+        assertEquals("Java Developer", employeeService.getEmployeeById(1L).getJobTitle());
+    }
+
+    @Test
+    public void givenWriteRolledBack_whenReadBySamePrincipal_thenFromReplica() {
+        authenticate("admin");
+        try {
+            employeeService.editEmployeeById(2L, -1L, 2, "Team Lead");
+            fail();
+        } catch (PreconditionFailedException e) {
+            assertEquals("Replica", employeeService.getEmployeeById(1L).getJobTitle());
+        }
+    }
+
+    @Test
+    public void givenWrite_whenReadBySamePrincipal_thenFromPrimaryUntilReplicaCaughtUp() throws Exception {
+        authenticate("admin");
+        Long version = employeeService.getEmployeeVersionById(2L);
+        employeeService.editEmployeeById(2L, version, 2, "Team Lead");
+
+        assertEquals("Team Lead", employeeService.getEmployeeById(2L).getJobTitle());
+        authenticate("user");
+        assertEquals("QA", employeeService.getEmployeeById(2L).getJobTitle());
+
+        Thread.sleep(300);
+        authenticate("admin");
+        assertEquals("QA", employeeService.getEmployeeById(2L).getJobTitle());
+    }
+
+    private static void authenticate(String name) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(name, null, Role.ADMIN.getAuthorities()));
+    }
+}
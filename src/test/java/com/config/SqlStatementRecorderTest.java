@@ -0,0 +1,99 @@
+package com.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link SqlStatementRecorder} on an H2 database.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class SqlStatementRecorderTest {
+    private static final String SELECT_EMPLOYEE = "SELECT first_name FROM employees WHERE id = ?";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SqlStatementRecorder sqlStatementRecorder;
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() {
+        sqlStatementRecorder = new SqlStatementRecorder(3, 1000, 100, meterRegistry);
+        jdbcTemplate = new JdbcTemplate(sqlStatementRecorder.wrap(new DriverManagerDataSource("jdbc:h2:mem:sql;DB_CLOSE_DELAY=-1", "sa", ""), "dataSource"));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS employees (id BIGINT PRIMARY KEY, first_name VARCHAR(50))");
+        jdbcTemplate.update("MERGE INTO employees VALUES (1, 'Sergey')");
+        sqlStatementRecorder.reset();
+    }
+
+    @After
+    public void tearDown() {
+        sqlStatementRecorder.close();
+    }
+
+    @Test
+    public void givenSelectPerRow_whenComplete_thenFlaggedWithRepeatedStatement() {
+        SqlStatementRecorder.RequestStatements statements = new SqlStatementRecorder.RequestStatements();
+        SqlStatementRecorder.RequestStatements previous = sqlStatementRecorder.attach(statements);
+        for (int i = 0; i < 4; i++) {
+            jdbcTemplate.queryForObject(SELECT_EMPLOYEE, String.class, 1L);
+        }
+        sqlStatementRecorder.detach(previous);
+        jdbcTemplate.queryForObject(SELECT_EMPLOYEE, String.class, 1L);
+
+        sqlStatementRecorder.complete("GET /employees", statements);
+
+        SqlStatementRecorder.RequestStats request = sqlStatementRecorder.busiestRequests(1).get(0);
+        assertEquals("GET /employees", request.getRequest());
+        assertEquals(4, request.getMaxStatements());
+        assertEquals(1, request.getFlagged());
+        assertEquals(SELECT_EMPLOYEE, request.getMostRepeated());
+        assertEquals(5, sqlStatementRecorder.slowestStatements(1).get(0).getExecutions());
+        assertEquals(1.0, meterRegistry.get(SqlStatementRecorder.N_PLUS_ONE_COUNTER).counter().count(), 0.0);
+    }
+
+    @Test
+    public void givenDecoratedTask_whenRunOnOtherThread_thenCountedForRequest() throws Exception {
+        SqlStatementRecorder.RequestStatements statements = new SqlStatementRecorder.RequestStatements();
+        SqlStatementRecorder.RequestStatements previous = sqlStatementRecorder.attach(statements);
+        Runnable task = sqlStatementRecorder.decorate(() -> jdbcTemplate.queryForObject(SELECT_EMPLOYEE, String.class, 1L));
+        sqlStatementRecorder.detach(previous);
+
+        CompletableFuture.runAsync(task).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, statements.getCount());
+    }
+
+    @Test
+    public void givenSlowStatement_whenExecuted_thenPlanCaptured() throws Exception {
+        SqlStatementRecorder slowRecorder = new SqlStatementRecorder(3, 0, 100, meterRegistry);
+        JdbcTemplate slowJdbcTemplate = new JdbcTemplate(slowRecorder.wrap(new DriverManagerDataSource("jdbc:h2:mem:sql;DB_CLOSE_DELAY=-1", "sa", ""), "dataSource"));
+        try {
+            slowJdbcTemplate.queryForObject(SELECT_EMPLOYEE, String.class, 1L);
+
+            List<SqlStatementRecorder.StatementStats> slowest = slowRecorder.slowestStatements(10);
+            assertEquals(1, slowest.size());
+            for (int i = 0; i < 50 && slowest.get(0).getPlan() == null; i++) {
+                Thread.sleep(100);
+            }
+            assertNotNull(slowest.get(0).getPlan());
+            assertTrue(slowest.get(0).getPlan(), slowest.get(0).getPlan().toUpperCase().contains("EMPLOYEES"));
+            assertEquals(1.0, meterRegistry.get(SqlStatementRecorder.SLOW_COUNTER).counter().count(), 0.0);
+        } finally {
+            slowRecorder.close();
+        }
+    }
+}
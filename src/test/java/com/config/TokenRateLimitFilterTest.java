@@ -0,0 +1,82 @@
+package com.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link TokenRateLimitFilter} and {@link ClientRateLimiter}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class TokenRateLimitFilterTest {
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final ClientRateLimiter rateLimiter = new ClientRateLimiter("auth:token", new RateLimiter.Limit(0.5, 2),
+            new SimpleMeterRegistry(), nanoTime::get);
+    private final TokenRateLimitFilter tokenRateLimitFilter = new TokenRateLimitFilter(rateLimiter, new ObjectMapper());
+
+    @Test
+    public void givenBurstOfAddressTaken_whenToken_thenTooManyRequestsBeforeAuthentication() throws Exception {
+        assertEquals(HttpStatus.OK.value(), filter("10.0.0.1", "admin").getStatus());
+        assertEquals(HttpStatus.OK.value(), filter("10.0.0.1", "user").getStatus());
+
+        MockFilterChain filterChain = new MockFilterChain();
+        MockHttpServletResponse response = filter("10.0.0.1", "client", filterChain);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("Rate limit of auth:token exceeded"));
+        assertNull(filterChain.getRequest());
+        assertEquals(HttpStatus.OK.value(), filter("10.0.0.2", "client").getStatus());
+    }
+
+    @Test
+    public void givenBurstOfUsernameTaken_whenTokenFromOtherAddress_thenTooManyRequests() throws Exception {
+        assertEquals(HttpStatus.OK.value(), filter("10.0.0.1", "admin").getStatus());
+        assertEquals(HttpStatus.OK.value(), filter("10.0.0.2", "admin").getStatus());
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), filter("10.0.0.3", "admin").getStatus());
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(HttpStatus.OK.value(), filter("10.0.0.3", "admin").getStatus());
+    }
+
+    @Test
+    public void givenFullBucket_whenPrune_thenRemoved() throws Exception {
+        filter("10.0.0.1", "admin");
+        assertEquals(2, rateLimiter.size());
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        rateLimiter.prune();
+
+        assertEquals(0, rateLimiter.size());
+    }
+
+    private MockHttpServletResponse filter(String address, String username) throws Exception {
+        return filter(address, username, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse filter(String address, String username, MockFilterChain filterChain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/token");
+        request.setRemoteAddr(address);
+        request.addParameter("username", username);
+        request.addParameter("password", "password");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        tokenRateLimitFilter.doFilter(request, response, filterChain);
+        return response;
+    }
+}
@@ -0,0 +1,77 @@
+package com.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests of {@link VirtualThreadPinningMonitor}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class VirtualThreadPinningMonitorTest {
+    private static final String SITE = VirtualThreadPinningMonitorTest.class.getName() + ".sleepHoldingMonitor";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+
+    @Before
+    public void setUp() {
+        virtualThreadPinningMonitor = new VirtualThreadPinningMonitor(meterRegistry, 20);
+        virtualThreadPinningMonitor.start();
+    }
+
+    @After
+    public void tearDown() {
+        virtualThreadPinningMonitor.close();
+    }
+
+    @Test
+    public void givenSleepInsideSynchronized_whenOnVirtualThread_thenTimedAtSite() throws Exception {
+        Thread.ofVirtual().start(() -> sleepHoldingMonitor(100)).join();
+
+        Timer timer = awaitTimer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    public void givenSleepShorterThanThreshold_whenOnVirtualThread_thenNotTimed() throws Exception {
+        Thread.ofVirtual().start(() -> sleepHoldingMonitor(1)).join();
+
+        assertNull(awaitTimer());
+    }
+
+    private synchronized void sleepHoldingMonitor(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Flight recorder streams events about once a second.
+     */
+    private Timer awaitTimer() throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            Timer timer = meterRegistry.find(VirtualThreadPinningMonitor.PINNED_TIMER).tag("site", SITE).timer();
+            if (timer != null) {
+                return timer;
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        return null;
+    }
+}
@@ -1,19 +1,30 @@
 package com.repository;
 
 import com.model.Employee;
+import com.model.EmployeeFilter;
+import com.model.EmployeeName;
+import com.model.EmployeeSortField;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.time.LocalDate;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Integrations tests of {@link EmployeeRepository}.
@@ -112,4 +123,204 @@ public class EmployeeRepositoryTest {
         assertEquals("female", employeeList.get(0).getGender());
         assertEquals(new GregorianCalendar(1989, Calendar.APRIL, 4).getTime(), employeeList.get(0).getDateOfBirth());
     }
+
+    @Test
+    public void whenFindPage_thenReturnEmployeesAfterKey() {
+        List<Employee> firstPage = employeeRepository.findPage(EmployeeSortField.LAST_NAME, Sort.Direction.DESC, null, null, 1);
+
+        assertEquals(1, firstPage.size());
+        assertEquals("Sergeeva", firstPage.get(0).getLastName());
+
+        Employee last = firstPage.get(0);
+        List<Employee> secondPage = employeeRepository.findPage(EmployeeSortField.LAST_NAME, Sort.Direction.DESC, last.getLastName(), last.getId(), 1);
+
+        assertEquals(1, secondPage.size());
+        assertEquals("Sergeev", secondPage.get(0).getLastName());
+
+        last = secondPage.get(0);
+        assertEquals(0, employeeRepository.findPage(EmployeeSortField.LAST_NAME, Sort.Direction.DESC, last.getLastName(), last.getId(), 1).size());
+    }
+
+    @Test
+    public void givenNullSortValues_whenFindPages_thenEveryEmployeeOnceWithNullsGreatest() {
+        //explicit IDs, so the IDs Hibernate pools for the other tests stay untouched
+        entityManager.getEntityManager().createNativeQuery("insert into employees (id, first_name, last_name, department_id, gender, date_of_birth)"
+                + " values (101, 'Ivan', 'Ivanov', 1, 'male', '1990-05-05'), (102, 'Olga', 'Ivanova', 2, 'female', '1991-06-06')").executeUpdate();
+        Long first = 101L;
+        Long second = 102L;
+
+        assertEquals(List.of(1L, 2L, first, second), pageByPage(EmployeeSortField.JOB_TITLE, Sort.Direction.ASC));
+        assertEquals(List.of(second, first, 2L, 1L), pageByPage(EmployeeSortField.JOB_TITLE, Sort.Direction.DESC));
+    }
+
+    @Test
+    public void whenSearchPage_thenReturnEmployeesMatchingAllFilters() {
+        EmployeeFilter filter = EmployeeFilter.builder()
+                .lastNamePrefix("Serge")
+                .dateOfBirthFrom(LocalDate.of(1989, 4, 4))
+                .dateOfBirthTo(LocalDate.of(1989, 8, 7))
+                .build();
+
+        List<Employee> employees = employeeRepository.searchPage(filter, EmployeeSortField.ID, Sort.Direction.ASC, null, null, 10);
+        assertEquals(2, employees.size());
+
+        filter.setDepartmentId(2);
+        filter.setGender("female");
+        employees = employeeRepository.searchPage(filter, EmployeeSortField.ID, Sort.Direction.ASC, null, null, 10);
+        assertEquals(1, employees.size());
+        assertEquals("Sergeeva", employees.get(0).getLastName());
+
+        filter.setDateOfBirthTo(LocalDate.of(1989, 4, 3));
+        assertEquals(0, employeeRepository.searchPage(filter, EmployeeSortField.ID, Sort.Direction.ASC, null, null, 10).size());
+    }
+
+    @Test
+    public void whenSearchPageByGenderInOtherCase_thenReturnEmployeesOfAnyCase() {
+        employeeRepository.save(Employee.builder()
+                .firstName("Ivan")
+                .lastName("Ivanov")
+                .departmentId(1)
+                .jobTitle("Java Developer")
+                .gender("Male")
+                .dateOfBirth(new GregorianCalendar(1990, 1, 1).getTime())
+                .build());
+
+        assertEquals(2, employeeRepository.searchPage(EmployeeFilter.builder().gender("MALE").build(),
+                EmployeeSortField.ID, Sort.Direction.ASC, null, null, 10).size());
+        assertEquals(2, employeeRepository.searchPage(EmployeeFilter.builder().gender("male").build(),
+                EmployeeSortField.ID, Sort.Direction.ASC, null, null, 10).size());
+    }
+
+    @Test
+    public void whenFindNamesByPrefix_thenReturnMatchesOfEitherNameIgnoringCaseOnce() {
+        entityManager.getEntityManager().createNativeQuery("insert into employees (id, first_name, last_name, department_id, gender, date_of_birth)"
+                + " values (101, 'Serafim', 'Ivanov', 1, 'male', '1990-05-05')").executeUpdate();
+
+        assertEquals(List.of(101L, 1L, 2L), employeeRepository.findNamesByPrefix("SER", 10).stream()
+                .map(EmployeeName::getId)
+                .collect(Collectors.toList()));
+        assertEquals(2, employeeRepository.findNamesByPrefix("ser", 2).size());
+        assertTrue(employeeRepository.findNamesByPrefix("%", 10).isEmpty());
+    }
+
+    private List<Long> pageByPage(EmployeeSortField sortField, Sort.Direction direction) {
+        List<Long> ids = new ArrayList<>();
+        List<Employee> page = employeeRepository.findPage(sortField, direction, null, null, 1);
+        while (!page.isEmpty()) {
+            Employee last = page.get(0);
+            ids.add(last.getId());
+            String lastValue = sortField.format(last);
+            page = employeeRepository.findPage(sortField, direction, lastValue == null ? null : sortField.parse(lastValue), last.getId(), 1);
+        }
+        return ids;
+    }
+
+    @Test
+    public void whenSearchPageWithLikeWildcards_thenWildcardsMatchLiterally() {
+        assertEquals(0, employeeRepository.searchPage(EmployeeFilter.builder().firstNamePrefix("%").build(),
+                EmployeeSortField.ID, Sort.Direction.ASC, null, null, 10).size());
+        assertEquals(0, employeeRepository.searchPage(EmployeeFilter.builder().firstNamePrefix("S_rgey").build(),
+                EmployeeSortField.ID, Sort.Direction.ASC, null, null, 10).size());
+    }
+
+    @Test
+    public void whenSearchPageAfterKey_thenReturnNextMatchingEmployees() {
+        EmployeeFilter filter = EmployeeFilter.builder().lastNamePrefix("Sergee").build();
+
+        List<Employee> firstPage = employeeRepository.searchPage(filter, EmployeeSortField.FIRST_NAME, Sort.Direction.ASC, null, null, 1);
+        assertEquals("Natasha", firstPage.get(0).getFirstName());
+
+        Employee last = firstPage.get(0);
+        List<Employee> secondPage = employeeRepository.searchPage(filter, EmployeeSortField.FIRST_NAME, Sort.Direction.ASC, last.getFirstName(), last.getId(), 1);
+        assertEquals("Sergey", secondPage.get(0).getFirstName());
+    }
+
+    @Test
+    public void whenFindPageVersions_thenReturnIdsAndVersionsOfPage() {
+        List<Employee> page = employeeRepository.findPage(EmployeeSortField.LAST_NAME, Sort.Direction.DESC, null, null, 2);
+        List<Object[]> versions = employeeRepository.findPageVersions(EmployeeSortField.LAST_NAME, Sort.Direction.DESC, null, null, 2);
+
+        assertEquals(page.size(), versions.size());
+        for (int i = 0; i < page.size(); i++) {
+            assertEquals(page.get(i).getId(), versions.get(i)[0]);
+            assertEquals(page.get(i).getVersion(), versions.get(i)[1]);
+        }
+    }
+
+    @Test
+    public void whenFindVersionById_thenReturnVersion() {
+        assertEquals(employeeRepository.findById(1L).get().getVersion(), employeeRepository.findVersionById(1L).get());
+        assertFalse(employeeRepository.findVersionById(42L).isPresent());
+    }
+
+    @Test
+    public void whenCountByDepartmentId_thenReturnCountPerDepartment() {
+        List<Object[]> counts = employeeRepository.countByDepartmentId();
+
+        assertEquals(2, counts.size());
+        assertEquals(2L, counts.stream().mapToLong(row -> (Long) row[1]).sum());
+    }
+
+    @Test
+    public void whenCountByDateOfBirthRanges_thenReturnCountPerRange() {
+        Date[] bounds = {new GregorianCalendar(1989, Calendar.APRIL, 4).getTime(), new GregorianCalendar(1989, Calendar.AUGUST, 8).getTime()};
+
+        assertArrayEquals(new long[]{0, 2, 0}, employeeRepository.countByDateOfBirthRanges(bounds));
+    }
+
+    @Test
+    public void whenForEachEmployee_thenEveryEmployeeIsPassedOrderedById() {
+        List<Long> ids = new ArrayList<>();
+
+        employeeRepository.forEachEmployee(employee -> ids.add(employee.getId()));
+
+        assertEquals(List.of(1L, 2L), ids);
+    }
+
+    @Test
+    public void whenSaveAllInBatches_thenEmployeesGetSequentialIds() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            employees.add(Employee.builder()
+                    .firstName("Petya" + i)
+                    .lastName("Petrov")
+                    .departmentId(1)
+                    .jobTitle("JS Developer")
+                    .gender("male")
+                    .dateOfBirth(new GregorianCalendar(1995, Calendar.MARCH, 15).getTime())
+                    .build());
+        }
+
+        employeeRepository.saveAllInBatches(employees);
+
+        Long firstId = employees.get(0).getId();
+        assertEquals(firstId + 1, employees.get(1).getId().longValue());
+        assertEquals(firstId + 2, employees.get(2).getId().longValue());
+        assertEquals("Petya2", entityManager.find(Employee.class, firstId + 2).getFirstName());
+    }
+
+    @Test
+    public void whenUpdateDepartmentIdByDepartmentId_thenReturnUpdatedCount() {
+        int updated = employeeRepository.updateDepartmentIdByDepartmentId(1, 2);
+
+        assertEquals(1, updated);
+        assertEquals(2, employeeRepository.findById(1L).get().getDepartmentId());
+    }
+
+    @Test
+    public void whenUpdateJobTitleByIdIn_thenReturnUpdatedCount() {
+        int updated = employeeRepository.updateJobTitleByIdIn(List.of(1L, 2L, 42L), "Team Lead");
+
+        assertEquals(2, updated);
+        assertEquals("Team Lead", employeeRepository.findById(1L).get().getJobTitle());
+        assertEquals("Team Lead", employeeRepository.findById(2L).get().getJobTitle());
+    }
+
+    @Test
+    public void whenDeleteByIdIn_thenReturnDeletedCount() {
+        int deleted = employeeRepository.deleteByIdIn(List.of(1L, 42L));
+
+        assertEquals(1, deleted);
+        assertEquals(1, employeeRepository.findAll().size());
+    }
 }
@@ -1,31 +1,61 @@
 package com.rest;
 
+import com.config.BulkheadConfig;
+import com.error.PreconditionFailedException;
 import com.error.ResourceNotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.model.Employee;
+import com.model.EmployeeDimension;
+import com.model.EmployeeFilter;
+import com.model.EmployeeName;
+import com.model.EmployeePage;
+import com.model.Role;
+import com.service.EmployeeExportService;
 import com.service.EmployeeService;
+import com.service.TokenService;
+import com.valid.EmployeeValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.hamcrest.Matchers;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.ResultMatcher;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -37,7 +67,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 
 @RunWith(SpringRunner.class)
-@WebMvcTest(EmployeeController.class)
+@WebMvcTest(controllers = EmployeeController.class, properties = "employee.auth.token.secret=dGVzdC1vbmx5LXRva2VuLXNlY3JldC0zMi1ieXRlcyE=")
+@WithMockUser(authorities = {"employees:read", "employees:write"})
+@Import({BulkheadConfig.class, SimpleMeterRegistry.class, EmployeeValidator.class})
 public class EmployeeControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -45,6 +77,15 @@ public class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeExportService employeeExportService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private EmployeeValidator employeeValidator;
+
     @Test
     public void givenEmployees_whenGetEmployees_thenReturnJsonArray() throws Exception {
         List<Employee> employeeList = Stream.of(Employee.builder()
@@ -66,19 +107,91 @@ public class EmployeeControllerTest {
                 .build())
                 .collect(Collectors.toList());
 
-        when(employeeService.getEmployees()).thenReturn(employeeList);
+        when(employeeService.getEmployees(null, 50, "id", "asc")).thenReturn(new EmployeePage(employeeList, "next"));
 
         ResultMatcher status = status().isOk();
         ResultMatcher size = jsonPath("$", Matchers.hasSize(2));
         ResultMatcher firstName1 = jsonPath("$[0].firstName", Matchers.is(employeeList.get(0).getFirstName()));
         ResultMatcher firstName2 = jsonPath("$[1].firstName", Matchers.is(employeeList.get(1).getFirstName()));
 
-        mockMvc.perform(MockMvcRequestBuilders.get("/employees")
+        perform(MockMvcRequestBuilders.get("/employees")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status)
                 .andExpect(size)
                 .andExpect(firstName1)
-                .andExpect(firstName2);
+                .andExpect(firstName2)
+                .andExpect(header().string(EmployeeController.NEXT_CURSOR_HEADER, "next"));
+    }
+
+    @Test
+    public void givenConstraintViolationException_whenGetEmployeesWithUnknownSort_thenReturnJson() throws Exception {
+        perform(MockMvcRequestBuilders.get("/employees")
+                .param("sort", "password")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", Matchers.is("Constraint Violation")));
+    }
+
+    @Test
+    public void givenFilters_whenSearchEmployees_thenReturnJsonArray() throws Exception {
+        EmployeeFilter filter = EmployeeFilter.builder()
+                .departmentId(1)
+                .firstNamePrefix("Ser")
+                .dateOfBirthFrom(LocalDate.of(1980, 1, 1))
+                .build();
+        when(employeeService.searchEmployees(filter, null, 10, "lastName", "asc"))
+                .thenReturn(new EmployeePage(List.of(Employee.builder().id(1L).firstName("Sergey").build()), "next"));
+
+        perform(MockMvcRequestBuilders.get("/employees/search")
+                .param("departmentId", "1")
+                .param("firstName", "Ser")
+                .param("dateOfBirthFrom", "1980-01-01")
+                .param("size", "10")
+                .param("sort", "lastName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$[0].firstName", Matchers.is("Sergey")))
+                .andExpect(header().string(EmployeeController.NEXT_CURSOR_HEADER, "next"));
+    }
+
+    @Test
+    public void givenDateOfBirthFromAfterTo_whenSearchEmployees_thenReturnBadRequest() throws Exception {
+        perform(MockMvcRequestBuilders.get("/employees/search")
+                .param("dateOfBirthFrom", "1990-01-01")
+                .param("dateOfBirthTo", "1980-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void givenPrefix_whenCompleteNames_thenReturnJsonArray() throws Exception {
+        when(employeeService.completeNames("ser", 5)).thenReturn(List.of(new EmployeeName(1L, "Sergey", "Sergeev")));
+
+        perform(MockMvcRequestBuilders.get("/employees/autocomplete")
+                .param("prefix", "ser")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$[0].id", Matchers.is(1)))
+                .andExpect(jsonPath("$[0].lastName", Matchers.is("Sergeev")));
+    }
+
+    @Test
+    public void whenCountEmployeesByDepartment_thenReturnJsonObject() throws Exception {
+        when(employeeService.countEmployees(EmployeeDimension.DEPARTMENT_ID)).thenReturn(Map.of("1", 3L, "2", 5L));
+
+        perform(MockMvcRequestBuilders.get("/employees/counts")
+                .param("by", "departmentId"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1", Matchers.is(3)))
+                .andExpect(jsonPath("$.2", Matchers.is(5)));
+    }
+
+    @Test
+    public void givenConstraintViolationException_whenCountEmployeesByUnknownDimension_thenReturnJson() throws Exception {
+        perform(MockMvcRequestBuilders.get("/employees/counts")
+                .param("by", "lastName"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", Matchers.is("Constraint Violation")));
     }
 
     @Test
@@ -95,7 +208,7 @@ public class EmployeeControllerTest {
 
         when(employeeService.getEmployeeById(1L)).thenReturn(employee);
 
-        mockMvc.perform(MockMvcRequestBuilders.get("/employees/1")
+        perform(MockMvcRequestBuilders.get("/employees/1")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", Matchers.is(employee.getId().intValue())))
@@ -109,7 +222,7 @@ public class EmployeeControllerTest {
 
     @Test
     public void givenConstraintViolationException_whenGetEmployeeById_thenReturnJson() throws Exception {
-        mockMvc.perform(MockMvcRequestBuilders.get("/employees/0")
+        perform(MockMvcRequestBuilders.get("/employees/0")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message", Matchers.is("Constraint Violation")))
@@ -120,13 +233,60 @@ public class EmployeeControllerTest {
     public void givenResourceNotFoundException_whenGetEmployeeById_thenReturnJson() throws Exception {
         when(employeeService.getEmployeeById(1L)).thenThrow(new ResourceNotFoundException("Employee with ID: 1 Not Found!"));
 
-        mockMvc.perform(MockMvcRequestBuilders.get("/employees/1")
+        perform(MockMvcRequestBuilders.get("/employees/1")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status", Matchers.is(404)))
                 .andExpect(jsonPath("$.message", Matchers.is("Resource Not Found")))
                 .andExpect(jsonPath("$.errors[0]", Matchers.is("Employee with ID: 1 Not Found!")));
     }
 
+    @Test
+    public void givenMatchingIfNoneMatch_whenGetEmployeeById_thenReturnNotModified() throws Exception {
+        when(employeeService.getEmployeeVersionById(1L)).thenReturn(3L);
+
+        perform(MockMvcRequestBuilders.get("/employees/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+
+        verify(employeeService, never()).getEmployeeById(1L);
+    }
+
+    @Test
+    public void givenStaleIfNoneMatch_whenGetEmployeeById_thenReturnJsonWithETag() throws Exception {
+        when(employeeService.getEmployeeVersionById(1L)).thenReturn(4L);
+        when(employeeService.getEmployeeById(1L)).thenReturn(Employee.builder().id(1L).firstName("Sergey").version(4L).build());
+
+        perform(MockMvcRequestBuilders.get("/employees/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.firstName", Matchers.is("Sergey")));
+    }
+
+    @Test
+    public void givenMatchingIfNoneMatch_whenGetEmployees_thenReturnNotModified() throws Exception {
+        EmployeePage page = new EmployeePage(Collections.singletonList(Employee.builder().id(1L).version(2L).build()), null);
+        when(employeeService.getEmployeesETag(null, 50, "id", "asc")).thenReturn(page.getETag());
+
+        perform(MockMvcRequestBuilders.get("/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, page.getETag()))
+                .andExpect(status().isNotModified());
+
+        verify(employeeService, never()).getEmployees(null, 50, "id", "asc");
+    }
+
+    @Test
+    public void whenGetEmployees_thenReturnPageETag() throws Exception {
+        EmployeePage page = new EmployeePage(Collections.singletonList(Employee.builder().id(1L).version(2L).build()), null);
+        when(employeeService.getEmployees(null, 50, "id", "asc")).thenReturn(page);
+
+        perform(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, page.getETag()));
+    }
+
     @Test
     public void whenAddEmployee_thenReturnJson() throws Exception {
         Employee employee = Employee.builder()
@@ -139,7 +299,7 @@ public class EmployeeControllerTest {
                 .dateOfBirth(new Date())
                 .build();
 
-        mockMvc.perform(post("/")
+        perform(post("/employees")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(new ObjectMapper().writeValueAsString(employee)))
                 .andExpect(status().isCreated());
@@ -156,12 +316,123 @@ public class EmployeeControllerTest {
                 .gender("male")
                 .dateOfBirth(new Date())
                 .build();
+        //the service validates employees of every caller
+        doAnswer(invocation -> {
+            employeeValidator.validate(invocation.<Employee>getArgument(0), "addEmployee.employee");
+            return null;
+        }).when(employeeService).addEmployee(any());
 
-        mockMvc.perform(post("/")
+        perform(post("/employees")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(new ObjectMapper().writeValueAsString(employee)))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.errors[0]", Matchers.is("Department ID must between 1 and 2")));
+                .andExpect(jsonPath("$.errors[0]", Matchers.is("addEmployee.employee.departmentId: Department ID must between 1 and 2")));
+    }
+
+    @Test
+    public void givenAcceptLanguage_whenAddInvalidEmployee_thenMessageInLanguageOfRequest() throws Exception {
+        Employee employee = Employee.builder()
+                .firstName("Sergey")
+                .lastName("Sergeev")
+                .departmentId(3)
+                .jobTitle("QA")
+                .gender("male")
+                .dateOfBirth(new Date())
+                .build();
+        //validates on a thread of the write bulkhead
+        doAnswer(invocation -> {
+            employeeValidator.validate(invocation.<Employee>getArgument(0), "addEmployee.employee");
+            return null;
+        }).when(employeeService).addEmployee(any());
+
+        perform(post("/employees")
+                .header(HttpHeaders.ACCEPT_LANGUAGE, "de")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(employee)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]", Matchers.is("addEmployee.employee.departmentId: Abteilungs-ID muss zwischen 1 und 2 liegen")));
+    }
+
+    @Test
+    public void whenAddEmployees_thenReturnJsonArrayOfIds() throws Exception {
+        Employee employee = Employee.builder()
+                .firstName("Sergey")
+                .lastName("Sergeev")
+                .departmentId(1)
+                .jobTitle("QA")
+                .gender("male")
+                .dateOfBirth(new Date())
+                .build();
+
+        when(employeeService.addEmployees(anyList())).thenReturn(List.of(3L));
+
+        perform(post("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(List.of(employee))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0]", Matchers.is(3)));
+    }
+
+    @Test
+    public void givenConstraintViolationException_whenAddEmployees_thenReturnJson() throws Exception {
+        Employee employee = Employee.builder()
+                .firstName("Sergey")
+                .lastName("Sergeev")
+                .departmentId(3)
+                .jobTitle("QA")
+                .gender("male")
+                .dateOfBirth(new Date())
+                .build();
+
+        validateAddedEmployees();
+
+        perform(post("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(List.of(employee))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", Matchers.is("Constraint Violation")));
+    }
+
+    @Test
+    public void givenAcceptCbor_whenGetEmployeeById_thenReturnCbor() throws Exception {
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Sergey")
+                .dateOfBirth(new GregorianCalendar(1989, Calendar.AUGUST, 7).getTime())
+                .build();
+
+        when(employeeService.getEmployeeById(1L)).thenReturn(employee);
+
+        byte[] body = perform(MockMvcRequestBuilders.get("/employees/1")
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Map<?, ?> decoded = new ObjectMapper(new CBORFactory()).readValue(body, Map.class);
+        assertEquals("Sergey", decoded.get("firstName"));
+        assertEquals("1989-08-07", decoded.get("dateOfBirth"));
+    }
+
+    @Test
+    public void givenConstraintViolationException_whenAddEmployeesAsSmile_thenReturnJson() throws Exception {
+        Employee employee = Employee.builder()
+                .firstName("Sergey")
+                .lastName("Sergeev")
+                .departmentId(3)
+                .jobTitle("QA")
+                .gender("male")
+                .dateOfBirth(new Date())
+                .build();
+
+        validateAddedEmployees();
+
+        perform(post("/employees/batch")
+                .contentType("application/x-jackson-smile")
+                .accept(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper(new SmileFactory()).writeValueAsBytes(List.of(employee))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", Matchers.is("Constraint Violation")));
     }
 
     @Test
@@ -176,14 +447,14 @@ public class EmployeeControllerTest {
                 .dateOfBirth(new Date())
                 .build();
 
-        when(employeeService.editEmployeeById(1L, 1, "QA")).thenReturn(employee);
+        when(employeeService.editEmployeeById(1L, null, 1, "QA")).thenReturn(employee);
 
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
         params.add("id", employee.getId().toString());
         params.add("departmentId", String.valueOf(employee.getDepartmentId()));
         params.add("jobTitle", employee.getJobTitle());
 
-        mockMvc.perform(put("/employees/1")
+        perform(put("/employees/1")
                 .contentType(MediaType.APPLICATION_JSON).params(params))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", Matchers.is(employee.getId().intValue())))
@@ -195,6 +466,66 @@ public class EmployeeControllerTest {
                         .format(employee.getDateOfBirth()))));
     }
 
+    @Test
+    public void givenIfMatch_whenEditEmployeeById_thenReturnJsonWithETag() throws Exception {
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Sergey")
+                .lastName("Sergeev")
+                .departmentId(1)
+                .jobTitle("QA")
+                .gender("male")
+                .dateOfBirth(new Date())
+                .version(4L)
+                .build();
+
+        when(employeeService.editEmployeeById(1L, 3L, 1, "QA")).thenReturn(employee);
+
+        perform(put("/employees/1")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .param("departmentId", "1")
+                .param("jobTitle", "QA"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.version", Matchers.is(4)));
+    }
+
+    @Test
+    public void givenPreconditionFailedException_whenEditEmployeeById_thenReturnJson() throws Exception {
+        when(employeeService.editEmployeeById(1L, 2L, 1, "QA")).thenThrow(new PreconditionFailedException("Employee with ID: 1 has version 3, expected 2"));
+
+        perform(put("/employees/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .param("departmentId", "1")
+                .param("jobTitle", "QA"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status", Matchers.is(412)))
+                .andExpect(jsonPath("$.message", Matchers.is("Precondition Failed")));
+    }
+
+    @Test
+    public void givenWeakETag_whenEditEmployeeById_thenPreconditionFailed() throws Exception {
+        perform(put("/employees/1")
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .param("departmentId", "1")
+                .param("jobTitle", "QA"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message", Matchers.is("Precondition Failed")));
+        verify(employeeService, never()).editEmployeeById(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    public void givenMalformedETag_whenEditEmployeeById_thenBadRequest() throws Exception {
+        for (String ifMatch : List.of("1\"2", "3", "\"3\", \"4\"", "\"\"", "\"-3\"", "\"99999999999999999999\"")) {
+            perform(put("/employees/1")
+                    .header(HttpHeaders.IF_MATCH, ifMatch)
+                    .param("departmentId", "1")
+                    .param("jobTitle", "QA"))
+                    .andExpect(status().isBadRequest());
+        }
+        verify(employeeService, never()).editEmployeeById(any(), any(), anyInt(), any());
+    }
+
     @Test
     public void givenConstraintViolationException_whenEditEmployeeById_thenReturnJson() throws Exception {
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
@@ -202,7 +533,7 @@ public class EmployeeControllerTest {
         params.add("departmentId", String.valueOf(1));
         params.add("jobTitle", "");
 
-        mockMvc.perform(put("/employees/1")
+        perform(put("/employees/1")
                 .contentType(MediaType.APPLICATION_JSON).params(params))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message", Matchers.is("Constraint Violation")))
@@ -212,14 +543,14 @@ public class EmployeeControllerTest {
     @Test
     public void givenResourceNotFoundException_whenEditEmployeeById_thenReturnJson() throws Exception {
 
-        when(employeeService.editEmployeeById(1L, 1, "QA")).thenThrow(new ResourceNotFoundException("Employee with ID: 1 Not Found!"));
+        when(employeeService.editEmployeeById(1L, null, 1, "QA")).thenThrow(new ResourceNotFoundException("Employee with ID: 1 Not Found!"));
 
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
         params.add("id", String.valueOf(1L));
         params.add("departmentId", String.valueOf(1));
         params.add("jobTitle", "QA");
 
-        mockMvc.perform(MockMvcRequestBuilders.put("/employees/1")
+        perform(MockMvcRequestBuilders.put("/employees/1")
                 .contentType(MediaType.APPLICATION_JSON).params(params))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message", Matchers.is("Resource Not Found")))
@@ -232,7 +563,7 @@ public class EmployeeControllerTest {
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
         params.add("id", String.valueOf(1L));
 
-        mockMvc.perform(delete("/employees/1")
+        perform(delete("/employees/1")
                 .contentType(MediaType.APPLICATION_JSON).params(params))
                 .andExpect(status().isNoContent());
     }
@@ -242,7 +573,7 @@ public class EmployeeControllerTest {
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
         params.add("id", String.valueOf(0L));
 
-        mockMvc.perform(delete("/employees/0")
+        perform(delete("/employees/0")
                 .contentType(MediaType.APPLICATION_JSON).params(params))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message", Matchers.is("Constraint Violation")))
@@ -256,10 +587,92 @@ public class EmployeeControllerTest {
 
         doThrow(new ResourceNotFoundException("Employee with ID: 1 Not Found!")).when(employeeService).deleteEmployeeById(1L);
 
-        mockMvc.perform(MockMvcRequestBuilders.delete("/employees/1")
+        perform(MockMvcRequestBuilders.delete("/employees/1")
                 .contentType(MediaType.APPLICATION_JSON).params(params))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message", Matchers.is("Resource Not Found")))
                 .andExpect(jsonPath("$.errors[0]", Matchers.is("Employee with ID: 1 Not Found!")));
     }
+
+    @Test
+    public void whenMoveEmployeesToDepartment_thenReturnUpdatedCount() throws Exception {
+        when(employeeService.moveEmployeesToDepartment(1, 2)).thenReturn(7);
+
+        perform(put("/employees/department")
+                .param("fromDepartmentId", "1")
+                .param("toDepartmentId", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.is(7)));
+    }
+
+    @Test
+    public void whenEditJobTitleByIds_thenReturnUpdatedCount() throws Exception {
+        when(employeeService.editJobTitleByIds(List.of(1L, 2L), "QA")).thenReturn(2);
+
+        perform(put("/employees/job-title")
+                .param("ids", "1,2")
+                .param("jobTitle", "QA"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.is(2)));
+    }
+
+    @Test
+    public void whenDeleteEmployeesByIds_thenReturnDeletedCount() throws Exception {
+        when(employeeService.deleteEmployeesByIds(List.of(1L, 2L))).thenReturn(2);
+
+        perform(delete("/employees")
+                .param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.is(2)));
+    }
+
+    @Test
+    public void givenBearerToken_whenGetEmployeeById_thenReturnJson() throws Exception {
+        when(employeeService.getEmployeeById(1L)).thenReturn(Employee.builder().id(1L).firstName("Sergey").build());
+
+        perform(get("/employees/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName", Matchers.is("Sergey")));
+    }
+
+    @Test
+    public void givenForgedBearerToken_whenGetEmployeeById_thenUnauthorized() throws Exception {
+        String token = token(Role.USER);
+
+        perform(get("/employees/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token.substring(0, token.length() - 2) + "AA"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void givenUserBearerToken_whenDeleteEmployeeById_thenForbidden() throws Exception {
+        perform(delete("/employees/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(Role.USER)))
+                .andExpect(status().isForbidden());
+    }
+
+    private String token(Role role) {
+        return tokenService.issueToken(new UsernamePasswordAuthenticationToken(role.name().toLowerCase(), null, role.getAuthorities()));
+    }
+
+    /**
+     * Performs the request, then the async dispatch of the future the controller returned, if it did.
+     */
+    private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+        ResultActions resultActions = mockMvc.perform(requestBuilder);
+        MvcResult mvcResult = resultActions.andReturn();
+        if (!mvcResult.getRequest().isAsyncStarted()) {
+            return resultActions;
+        }
+        mvcResult.getAsyncResult();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+
+    private void validateAddedEmployees() {
+        when(employeeService.addEmployees(anyList())).thenAnswer(invocation -> {
+            employeeValidator.validate(invocation.<List<Employee>>getArgument(0), "addEmployees.employees");
+            return List.of();
+        });
+    }
 }
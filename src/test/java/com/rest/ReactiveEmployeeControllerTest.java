@@ -0,0 +1,364 @@
+package com.rest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Integration tests of {@link ReactiveEmployeeController} with the reactive profile,
+ * over R2DBC and JDBC on the same in-memory H2 database.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.activemq.broker-url=vm://reactive?broker.persistent=false&broker.useJmx=false",
+        "employee.outbox.relay.enabled=false",
+        "employee.auth.token.secret=dGVzdC1vbmx5LXRva2VuLXNlY3JldC0zMi1ieXRlcyE="})
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerTest {
+    private static final ParameterizedTypeReference<Map<String, Object>> TOKEN = new ParameterizedTypeReference<Map<String, Object>>() {
+    };
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String adminToken;
+    private String userToken;
+
+    @Before
+    public void setUp() {
+        adminToken = token("admin");
+        userToken = token("user");
+    }
+
+    @Test
+    public void givenEmployee_whenGetEmployeeById_thenReturnJsonWithETag() {
+        webTestClient.get().uri("/employees/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.firstName").isEqualTo("Sergey")
+                .jsonPath("$.dateOfBirth").isEqualTo("1989-08-07");
+    }
+
+    @Test
+    public void givenCurrentETag_whenGetEmployeeById_thenReturnNotModified() {
+        String eTag = webTestClient.get().uri("/employees/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .exchange()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get().uri("/employees/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    public void givenUnknownId_whenGetEmployeeById_thenReturnNotFound() {
+        webTestClient.get().uri("/employees/999999")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("Resource Not Found")
+                .jsonPath("$.errors[0]").isEqualTo("Employee with ID: 999999 Not Found!");
+    }
+
+    @Test
+    public void givenSizeOne_whenGetEmployees_thenReturnPagesByCursor() {
+        String cursor = webTestClient.get().uri("/employees?size=1&sort=id")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(1)
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(EmployeeController.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+
+        webTestClient.get().uri("/employees?size=1&sort=id&cursor=" + cursor)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(2);
+    }
+
+    @Test
+    public void givenCurrentETag_whenGetEmployees_thenReturnNotModifiedUntilPageChanges() {
+        String eTag = webTestClient.get().uri("/employees?size=1&sort=id")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+        assertNotNull(eTag);
+
+        webTestClient.get().uri("/employees?size=1&sort=id")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag);
+
+        jdbcTemplate.update("update employees set version = version + 1 where id = 1");
+        webTestClient.get().uri("/employees?size=1&sort=id")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(1);
+    }
+
+    @Test
+    public void givenSizeNotANumber_whenGetEmployees_thenReturnBadRequest() {
+        webTestClient.get().uri("/employees?size=many")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Bad Request")
+                .jsonPath("$.errors[0]").exists();
+    }
+
+    @Test
+    public void givenUnknownSort_whenGetEmployees_thenReturnConstraintViolation() {
+        webTestClient.get().uri("/employees?sort=salary")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Constraint Violation");
+    }
+
+    @Test
+    public void givenEmployee_whenAddEmployee_thenCreatedWithEvent() {
+        int eventsBefore = countEvents();
+
+        URI location = webTestClient.post().uri("/employees")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee("Reactive"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().isEmpty()
+                .getResponseHeaders()
+                .getLocation();
+        assertNotNull(location);
+
+        webTestClient.get().uri(location.getPath())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("Reactive")
+                .jsonPath("$.version").isEqualTo(0);
+        assertEquals(eventsBefore + 1, countEvents());
+    }
+
+    @Test
+    public void givenInvalidEmployee_whenAddEmployee_thenReturnErrors() {
+        webTestClient.post().uri("/employees")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee("Re"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.errors[0]").isEqualTo("First name must be between 3 and 15 characters");
+    }
+
+    @Test
+    public void givenIfMatch_whenEditEmployee_thenUpdatedOnlyForCurrentVersion() {
+        String location = created("Editable");
+
+        webTestClient.put().uri(location + "?departmentId=2&jobTitle=Architect")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.departmentId").isEqualTo(2)
+                .jsonPath("$.jobTitle").isEqualTo("Architect");
+
+        webTestClient.put().uri(location + "?departmentId=1&jobTitle=Developer")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Precondition Failed");
+    }
+
+    @Test
+    public void givenWeakOrMalformedIfMatch_whenEditEmployee_thenNotUpdated() {
+        String location = created("Tagged");
+
+        webTestClient.put().uri(location + "?departmentId=2&jobTitle=Architect")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        webTestClient.put().uri(location + "?departmentId=2&jobTitle=Architect")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .header(HttpHeaders.IF_MATCH, "0\"")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri(location)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"");
+    }
+
+    @Test
+    public void givenEmployee_whenDeleteEmployee_thenNoContentAndNotFoundAfter() {
+        String location = created("Deletable");
+
+        webTestClient.delete().uri(location)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.delete().uri(location)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void givenUser_whenAddEmployee_thenForbidden() {
+        webTestClient.post().uri("/employees")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee("Forbidden"))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    public void givenInvalidToken_whenGetEmployees_thenUnauthorized() {
+        webTestClient.get().uri("/employees")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer forged")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    public void givenNoCredentials_whenGetEmployees_thenRedirectToLogin() {
+        webTestClient.get().uri("/employees")
+                .exchange()
+                .expectStatus().isFound()
+                .expectHeader().valueEquals(HttpHeaders.LOCATION, "/auth/login");
+    }
+
+    @Test
+    public void givenFormLogin_whenGetEmployees_thenReturnJsonArray() {
+        String session = webTestClient.post().uri("/auth/login")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("username", "user").with("password", "user"))
+                .exchange()
+                .expectStatus().isFound()
+                .expectHeader().valueEquals(HttpHeaders.LOCATION, "/auth/success")
+                .returnResult(Void.class)
+                .getResponseCookies()
+                .getFirst("SESSION")
+                .getValue();
+
+        webTestClient.get().uri("/employees")
+                .cookie("SESSION", session)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private String token(String username) {
+        Map<String, Object> body = webTestClient.post().uri("/auth/token")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("username", username).with("password", username))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TOKEN)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(body);
+        return (String) body.get("access_token");
+    }
+
+    private String created(String firstName) {
+        URI location = webTestClient.post().uri("/employees")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee(firstName))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().isEmpty()
+                .getResponseHeaders()
+                .getLocation();
+        assertNotNull(location);
+        return location.getPath();
+    }
+
+    private int countEvents() {
+        Integer count = jdbcTemplate.queryForObject("select count(*) from employee_events", Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    private static Map<String, Object> employee(String firstName) {
+        Map<String, Object> employee = new LinkedHashMap<>();
+        employee.put("firstName", firstName);
+        employee.put("lastName", "Reactive");
+        employee.put("departmentId", 1);
+        employee.put("jobTitle", "Java Developer");
+        employee.put("gender", "male");
+        employee.put("dateOfBirth", "1989-08-07");
+        return employee;
+    }
+}
@@ -0,0 +1,239 @@
+package com.service;
+
+import com.model.Employee;
+import com.model.EmployeeDimension;
+import com.model.EmployeeEvent;
+import com.model.EmployeeEventType;
+import com.repository.EmployeeEventRepository;
+import com.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Integrations tests of {@link EmployeeCounters}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeCountersTest {
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeEventRepository employeeEventRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private EmployeeCounters employeeCounters;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        employeeCounters = new EmployeeCounters(employeeRepository, employeeEventRepository, transactionManager, meterRegistry);
+    }
+
+    @After
+    public void tearDown() {
+        employeeRepository.deleteAll(employeeRepository.findAll().stream()
+                .filter(employee -> employee.getId() > 2)
+                .collect(Collectors.toList()));
+        employeeEventRepository.deleteAll();
+    }
+
+    @Test
+    public void whenReconcile_thenCountersAreLoadedFromDatabase() {
+        assertFalse(employeeCounters.get(EmployeeDimension.GENDER).isPresent());
+
+        employeeCounters.reconcile();
+
+        assertEquals(Map.of("female", 1L, "male", 1L), employeeCounters.get(EmployeeDimension.GENDER).get());
+        assertEquals(Map.of("1", 1L, "2", 1L), employeeCounters.get(EmployeeDimension.DEPARTMENT_ID).get());
+        assertEquals(0, meterRegistry.counter("employee.counters.mismatches").count(), 0);
+    }
+
+    @Test
+    public void whenWritesAreApplied_thenCountersChange() {
+        employeeCounters.reconcile();
+
+        employeeCounters.created(List.of(employee(3L, 2, "QA")));
+        employeeCounters.edited(1, "Java Developer", employee(1L, 2, "Team Lead"));
+        employeeCounters.moved(2, 1, 3);
+
+        assertEquals(Map.of("1", 3L), employeeCounters.get(EmployeeDimension.DEPARTMENT_ID).get());
+        assertEquals(Map.of("QA", 2L, "Team Lead", 1L), employeeCounters.get(EmployeeDimension.JOB_TITLE).get());
+    }
+
+    @Test
+    public void whenTransactionRollsBack_thenCountersDoNotChange() {
+        employeeCounters.reconcile();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeCounters.created(List.of(employee(3L, 2, "QA")));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(Map.of("1", 1L, "2", 1L), employeeCounters.get(EmployeeDimension.DEPARTMENT_ID).get());
+    }
+
+    @Test
+    public void givenCountersDifferentFromDatabase_whenReconcile_thenMismatchIsCountedAndCountersFixed() {
+        employeeCounters.reconcile();
+        employeeCounters.created(List.of(employee(3L, 2, "QA")));
+
+        employeeCounters.reconcile();
+
+        assertEquals(Map.of("1", 1L, "2", 1L), employeeCounters.get(EmployeeDimension.DEPARTMENT_ID).get());
+        assertEquals(3, meterRegistry.counter("employee.counters.mismatches").count(), 0);
+    }
+
+    @Test
+    public void whenInvalidate_thenCountersAreNotServedUntilReconcile() {
+        employeeCounters.reconcile();
+
+        employeeCounters.invalidate(EmployeeDimension.JOB_TITLE);
+
+        assertFalse(employeeCounters.get(EmployeeDimension.JOB_TITLE).isPresent());
+        employeeCounters.reconcile();
+        assertEquals(Map.of("Java Developer", 1L, "QA", 1L), employeeCounters.get(EmployeeDimension.JOB_TITLE).get());
+    }
+
+    @Test
+    public void givenWriteOfOtherInstance_whenReconcile_thenCountersFixedWithoutMismatch() {
+        employeeCounters.reconcile();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> write(employee(null, 2, "QA")));
+        employeeCounters.reconcile();
+
+        assertEquals(Map.of("1", 1L, "2", 2L), employeeCounters.get(EmployeeDimension.DEPARTMENT_ID).get());
+        assertEquals(0, meterRegistry.counter("employee.counters.mismatches").count(), 0);
+    }
+
+    @Test
+    public void givenWriteInFlight_whenReconcile_thenWriteIsCountedOnce() throws Exception {
+        employeeCounters.reconcile();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        //reconciled before the write commits, it is applied on top of the snapshot
+        transactionTemplate.executeWithoutResult(status -> {
+            Employee employee = write(employee(null, 2, "QA"));
+            employeeCounters.created(List.of(employee));
+            employeeCounters.reconcile();
+        });
+        assertEquals(Map.of("1", 1L, "2", 2L), employeeCounters.get(EmployeeDimension.DEPARTMENT_ID).get());
+
+        //reconciled after the write commits, before it is applied, the snapshot waits for it
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        List<Future<?>> reconciled = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Employee employee = write(employee(null, 1, "QA"));
+            employeeCounters.created(List.of(employee));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    reconciled.add(executorService.submit(employeeCounters::reconcile));
+                    sleep(200);
+                }
+            });
+        });
+        reconciled.get(0).get(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+        assertEquals(Map.of("1", 2L, "2", 2L), employeeCounters.get(EmployeeDimension.DEPARTMENT_ID).get());
+
+        employeeCounters.reconcile();
+        assertEquals(Map.of("1", 2L, "2", 2L), employeeCounters.get(EmployeeDimension.DEPARTMENT_ID).get());
+        assertEquals(0, meterRegistry.counter("employee.counters.mismatches").count(), 0);
+    }
+
+    @Test
+    public void givenValueNotCounted_whenDeleted_thenNoNegativeCount() {
+        employeeCounters.reconcile();
+
+        //written by another instance, deleted by this one before a reconciliation
+        employeeCounters.deleted(employee(3L, 2, "Tester"));
+
+        assertEquals(Map.of("1", 1L), employeeCounters.get(EmployeeDimension.DEPARTMENT_ID).get());
+        assertEquals(Map.of("Java Developer", 1L, "QA", 1L), employeeCounters.get(EmployeeDimension.JOB_TITLE).get());
+    }
+
+    @Test
+    public void givenMultiDigitDepartments_whenGet_thenOrderedNumerically() {
+        employeeCounters.reconcile();
+
+        //the schema allows departments 1 and 2 only so far, counters do not depend on it
+        employeeCounters.created(List.of(employee(3L, 10, "QA"), employee(4L, 2, "QA"), employee(5L, 9, "QA")));
+
+        assertEquals(List.of("1", "2", "9", "10"), new ArrayList<>(employeeCounters.get(EmployeeDimension.DEPARTMENT_ID).get().keySet()));
+    }
+
+    /**
+     * Saves {@code employee} with an event, as {@link EmployeeServiceImpl} does.
+     */
+    private Employee write(Employee employee) {
+        Employee saved = employeeRepository.save(employee.toBuilder()
+                .firstName("Ivan")
+                .lastName("Ivanov")
+                .dateOfBirth(new Date())
+                .build());
+        employeeEventRepository.save(EmployeeEvent.builder()
+                .employeeId(saved.getId())
+                .type(EmployeeEventType.CREATED)
+                .payload("{}")
+                .createdAt(new Date())
+                .build());
+        return saved;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Employee employee(Long id, int departmentId, String jobTitle) {
+        return Employee.builder()
+                .id(id)
+                .departmentId(departmentId)
+                .jobTitle(jobTitle)
+                .gender("female")
+                .build();
+    }
+}
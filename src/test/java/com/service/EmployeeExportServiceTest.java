@@ -0,0 +1,96 @@
+package com.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.model.Employee;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Integrations tests of {@link EmployeeExportServiceImpl}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@RunWith(SpringRunner.class)
+public class EmployeeExportServiceTest {
+    @Autowired
+    private EmployeeExportService employeeExportService;
+    @Autowired
+    private EmployeeService employeeService;
+
+    @TestConfiguration
+    static class EmployeeExportServiceImplTestContextConfiguration {
+        @MockBean
+        private EmployeeService employeeService;
+
+        @Bean
+        public EmployeeExportService employeeExportService() {
+            return new EmployeeExportServiceImpl(employeeService, new ObjectMapper());
+        }
+    }
+
+    @Before
+    public void setUp() {
+        GregorianCalendar dateOfBirth = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        dateOfBirth.clear();
+        dateOfBirth.set(1989, Calendar.AUGUST, 7);
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Sergey")
+                .lastName("Sergeev")
+                .departmentId(1)
+                .jobTitle("Java Developer, QA")
+                .gender("male")
+                .dateOfBirth(dateOfBirth.getTime())
+                .build();
+
+        doAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            consumer.accept(employee);
+            return null;
+        }).when(employeeService).exportEmployees(any());
+    }
+
+    @Test
+    public void whenExportNdjson_thenEveryEmployeeIsWrittenOnItsOwnLine() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        employeeExportService.exportNdjson(outputStream);
+
+        assertEquals("{\"id\":1,\"firstName\":\"Sergey\",\"lastName\":\"Sergeev\",\"departmentId\":1,"
+                        + "\"jobTitle\":\"Java Developer, QA\",\"gender\":\"male\",\"dateOfBirth\":\"1989-08-07\",\"version\":null}\n",
+                outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void whenExportCsvGzip_thenCompressedCsvIsWritten() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        employeeExportService.exportCsvGzip(outputStream);
+
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray())).readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals("id,firstName,lastName,departmentId,jobTitle,gender,dateOfBirth\n"
+                + "1,Sergey,Sergeev,1,\"Java Developer, QA\",male,1989-08-07\n", csv);
+    }
+}
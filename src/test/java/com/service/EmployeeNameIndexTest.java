@@ -0,0 +1,168 @@
+package com.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.model.Employee;
+import com.model.EmployeeEventMessage;
+import com.model.EmployeeEventType;
+import com.model.EmployeeName;
+import com.repository.EmployeeEventRepository;
+import com.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests of {@link EmployeeNameIndex}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class EmployeeNameIndexTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Employee> employees = new ArrayList<>();
+    private EmployeeRepository employeeRepository;
+    private EmployeeEventRepository employeeEventRepository;
+    private EmployeeNameIndex employeeNameIndex;
+
+    @Before
+    public void setUp() throws JsonProcessingException {
+        employees.add(employee(1L, "Sergey", "Sergeev"));
+        employees.add(employee(2L, "Natasha", "Sergeeva"));
+        employeeRepository = Mockito.mock(EmployeeRepository.class);
+        doAnswer(invocation -> {
+            employees.forEach(invocation.<Consumer<Employee>>getArgument(0));
+            return null;
+        }).when(employeeRepository).forEachEmployee(any());
+        employeeEventRepository = Mockito.mock(EmployeeEventRepository.class);
+        when(employeeEventRepository.findLastCommitOrder()).thenReturn(5L);
+
+        employeeNameIndex = new EmployeeNameIndex(employeeRepository, employeeEventRepository, objectMapper,
+                Mockito.mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), Runnable::run, 0);
+        employeeNameIndex.bootstrap();
+        employeeNameIndex.onEvent(created(employee(3L, "Petya", "Petrov")), 1, 6);
+    }
+
+    @Test
+    public void whenComplete_thenReturnFirstAndLastNameMatchesIgnoringCase() {
+        assertEquals(List.of(1L, 2L), ids(employeeNameIndex.complete("serg", 10)));
+        assertEquals(List.of(2L), ids(employeeNameIndex.complete("NAT", 10)));
+        assertEquals(List.of(3L), ids(employeeNameIndex.complete("Pet", 10)));
+        assertTrue(employeeNameIndex.complete("x", 10).isEmpty());
+    }
+
+    @Test
+    public void whenCompleteWithLimit_thenReturnAtMostLimitEmployees() {
+        assertEquals(1, employeeNameIndex.complete("Serge", 1).size());
+    }
+
+    @Test
+    public void whenDeletedEvent_thenEmployeeIsNotSuggestedAndMemoryIsReleased() throws JsonProcessingException {
+        long memoryBytes = employeeNameIndex.getMemoryBytes();
+
+        employeeNameIndex.onEvent(deleted(1L), 2, 7);
+
+        assertEquals(List.of(2L), ids(employeeNameIndex.complete("Serge", 10)));
+        assertEquals(2, employeeNameIndex.size());
+        assertTrue(employeeNameIndex.getMemoryBytes() < memoryBytes);
+    }
+
+    @Test
+    public void whenEventLoadedOrAppliedAlready_thenSkipIt() throws JsonProcessingException {
+        employeeNameIndex.onEvent(deleted(1L), 2, 5);
+        employeeNameIndex.onEvent(deleted(3L), 3, 6);
+
+        assertEquals(3, employeeNameIndex.size());
+    }
+
+    @Test
+    public void givenMissingEvents_whenCheck_thenLoadAgain() throws JsonProcessingException {
+        //event 7 created Vasya, event 8 deleted Natasha
+        employees.add(employee(4L, "Vasya", "Vasin"));
+        employees.remove(1);
+        when(employeeEventRepository.findLastCommitOrder()).thenReturn(8L);
+
+        employeeNameIndex.onEvent(deleted(2L), 2, 8);
+        assertEquals(List.of(1L), ids(employeeNameIndex.complete("Serge", 10)));
+        assertTrue(employeeNameIndex.complete("vas", 10).isEmpty());
+
+        employeeNameIndex.check();
+
+        assertEquals(List.of(1L), ids(employeeNameIndex.complete("Serge", 10)));
+        assertEquals(List.of(4L), ids(employeeNameIndex.complete("vas", 10)));
+    }
+
+    @Test
+    public void givenCommittedEventsNotReceived_whenCheckAfterMaxDelay_thenLoadAgain() throws Exception {
+        employees.add(employee(4L, "Vasya", "Vasin"));
+        when(employeeEventRepository.findLastCommitOrder()).thenReturn(7L);
+
+        employeeNameIndex.check();
+        Thread.sleep(5);
+        employeeNameIndex.check();
+
+        assertEquals(List.of(4L), ids(employeeNameIndex.complete("vas", 10)));
+        //the reload skips events of its snapshot
+        employeeNameIndex.onEvent(created(employee(5L, "Vasilisa", "Vasina")), 2, 7);
+        assertEquals(List.of(4L), ids(employeeNameIndex.complete("vas", 10)));
+    }
+
+    @Test
+    public void givenFirstLoadFailed_whenCheck_thenLoadAgainWithEventsReceivedMeanwhile() throws JsonProcessingException {
+        employeeNameIndex = new EmployeeNameIndex(employeeRepository, employeeEventRepository, objectMapper,
+                Mockito.mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), Runnable::run, 0);
+        when(employeeEventRepository.findLastCommitOrder()).thenThrow(new QueryTimeoutException("database is down")).thenReturn(5L);
+
+        employeeNameIndex.bootstrap();
+        employeeNameIndex.onEvent(created(employee(3L, "Petya", "Petrov")), 1, 6);
+        assertFalse(employeeNameIndex.isBootstrapped());
+        employeeNameIndex.check();
+
+        assertTrue(employeeNameIndex.isBootstrapped());
+        assertEquals(List.of(3L), ids(employeeNameIndex.complete("Pet", 10)));
+    }
+
+    private String created(Employee employee) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(EmployeeEventMessage.builder()
+                .type(EmployeeEventType.CREATED)
+                .employee(employee)
+                .build());
+    }
+
+    private String deleted(Long id) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(EmployeeEventMessage.builder()
+                .type(EmployeeEventType.DELETED)
+                .employeeIds(List.of(id))
+                .build());
+    }
+
+    private static List<Long> ids(List<EmployeeName> names) {
+        return names.stream()
+                .map(EmployeeName::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static Employee employee(Long id, String firstName, String lastName) {
+        return Employee.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .build();
+    }
+}
@@ -0,0 +1,194 @@
+package com.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.model.Employee;
+import com.model.EmployeeEvent;
+import com.model.EmployeeEventType;
+import com.repository.EmployeeEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Integrations tests of {@link EmployeeOutboxRelay} and {@link EmployeeEventServiceImpl}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import({EmployeeEventServiceImpl.class, EmployeeOutboxRelay.class})
+@TestPropertySource(properties = "employee.outbox.batch-size=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeOutboxRelayTest {
+    @Autowired
+    private EmployeeOutboxRelay employeeOutboxRelay;
+    @Autowired
+    private EmployeeEventService employeeEventService;
+    @Autowired
+    private EmployeeEventRepository employeeEventRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @MockBean
+    private JmsProducerService jmsProducerService;
+
+    @TestConfiguration
+    static class EmployeeOutboxRelayTestContextConfiguration {
+        @Bean
+        public ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @After
+    public void tearDown() {
+        employeeEventRepository.deleteAll();
+    }
+
+    @Test
+    public void whenRelay_thenEventsAreSentInOrderAndDeleted() {
+        writeEvents();
+        double publishedBefore = meterRegistry.counter("employee.outbox.published").count();
+
+        employeeOutboxRelay.relay();
+
+        ArgumentCaptor<EmployeeEvent> captor = ArgumentCaptor.forClass(EmployeeEvent.class);
+        verify(jmsProducerService, Mockito.times(3)).sendEvent(captor.capture());
+        assertEquals(List.of(EmployeeEventType.CREATED, EmployeeEventType.UPDATED, EmployeeEventType.DELETED),
+                captor.getAllValues().stream().map(EmployeeEvent::getType).collect(Collectors.toList()));
+        assertTrue(captor.getAllValues().get(1).getPayload().contains("\"jobTitle\":\"QA\""));
+        assertEquals(0, employeeEventRepository.count());
+        assertEquals(publishedBefore + 3, meterRegistry.counter("employee.outbox.published").count(), 0);
+        assertEquals(0, meterRegistry.get("employee.outbox.pending").gauge().value(), 0);
+    }
+
+    @Test
+    public void givenBrokerFailure_whenRelay_thenUnsentEventsAreKept() {
+        writeEvents();
+        doThrow(new UncategorizedJmsException("broker is down"))
+                .when(jmsProducerService).sendEvent(Mockito.argThat(event -> event.getType() == EmployeeEventType.UPDATED));
+
+        employeeOutboxRelay.relay();
+
+        List<EmployeeEvent> events = employeeEventRepository.findAll();
+        assertEquals(2, events.size());
+        assertEquals(EmployeeEventType.UPDATED, events.get(0).getType());
+        assertEquals(2, meterRegistry.get("employee.outbox.pending").gauge().value(), 0);
+    }
+
+    @Test
+    public void givenOpenTransactionWithEvent_whenAnotherWritesEvent_thenItDoesNotWaitAndIsSentFirst() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<?> first = executorService.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            employeeEventService.departmentMoved(1, 2);
+            employeeEventRepository.flush();
+            written.countDown();
+            await(commit);
+        }));
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                employeeEventService.jobTitleChanged(List.of(1L), "QA"));
+
+        //only the committed event is numbered and sent
+        employeeOutboxRelay.relay();
+        commit.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+        employeeOutboxRelay.relay();
+
+        ArgumentCaptor<EmployeeEvent> captor = ArgumentCaptor.forClass(EmployeeEvent.class);
+        verify(jmsProducerService, Mockito.times(2)).sendEvent(captor.capture());
+        assertEquals(List.of(EmployeeEventType.JOB_TITLE_CHANGED, EmployeeEventType.DEPARTMENT_MOVED),
+                captor.getAllValues().stream().map(EmployeeEvent::getType).collect(Collectors.toList()));
+        assertTrue(captor.getAllValues().get(0).getWriteOrder() > captor.getAllValues().get(1).getWriteOrder());
+        assertEquals(captor.getAllValues().get(0).getCommitOrder() + 1, (long) captor.getAllValues().get(1).getCommitOrder());
+    }
+
+    @Test
+    public void givenBrokerFailure_whenRelayAgain_thenEventsKeepTheirCommitOrders() {
+        writeEvents();
+        doThrow(new UncategorizedJmsException("broker is down"))
+                .when(jmsProducerService).sendEvent(Mockito.argThat(event -> event.getType() == EmployeeEventType.UPDATED));
+        employeeOutboxRelay.relay();
+        long commitOrder = employeeEventRepository.findAll().get(0).getCommitOrder();
+        Mockito.reset(jmsProducerService);
+
+        employeeOutboxRelay.relay();
+
+        ArgumentCaptor<EmployeeEvent> captor = ArgumentCaptor.forClass(EmployeeEvent.class);
+        verify(jmsProducerService, Mockito.times(2)).sendEvent(captor.capture());
+        assertEquals(List.of(commitOrder, commitOrder + 1),
+                captor.getAllValues().stream().map(EmployeeEvent::getCommitOrder).collect(Collectors.toList()));
+        assertEquals(commitOrder + 1, employeeEventRepository.findLastCommitOrder());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeEvents() {
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Sergey")
+                .lastName("Sergeev")
+                .departmentId(1)
+                .jobTitle("Java Developer")
+                .gender("male")
+                .dateOfBirth(new GregorianCalendar(1989, Calendar.AUGUST, 7).getTime())
+                .version(0L)
+                .build();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            employeeEventService.employeeCreated(employee);
+            employee.setJobTitle("QA");
+            employee.setVersion(1L);
+            employeeEventService.employeeUpdated(employee);
+            employeeEventService.employeesDeleted(List.of(1L));
+        });
+    }
+}
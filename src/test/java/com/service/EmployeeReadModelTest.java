@@ -0,0 +1,270 @@
+package com.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.model.Employee;
+import com.model.EmployeeEvent;
+import com.model.EmployeeEventMessage;
+import com.model.EmployeeEventType;
+import com.model.EmployeePage;
+import com.repository.EmployeeEventRepository;
+import com.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Integrations tests of {@link EmployeeReadModel} and {@link ReadModelEmployeeService}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeReadModelTest {
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeEventRepository employeeEventRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private EmployeeReadModel employeeReadModel;
+    private long eventId;
+    private long commitOrder;
+
+    @TestConfiguration
+    static class EmployeeReadModelTestContextConfiguration {
+        @Bean
+        public ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @Before
+    public void setUp() {
+        employeeReadModel = new EmployeeReadModel(employeeRepository, employeeEventRepository, objectMapper, transactionManager,
+                new SimpleMeterRegistry(), 5000);
+        commitOrder = employeeEventRepository.findLastCommitOrder();
+    }
+
+    @Test
+    public void whenBootstrap_thenAllEmployeesLoaded() {
+        assertEquals(Status.OUT_OF_SERVICE, employeeReadModel.health().getStatus());
+
+        employeeReadModel.bootstrap();
+
+        assertTrue(employeeReadModel.isBootstrapped());
+        assertEquals(employeeRepository.count(), employeeReadModel.getEmployees().size());
+        assertEquals(Status.UP, employeeReadModel.health().getStatus());
+    }
+
+    @Test
+    public void givenEventsBeforeBootstrap_whenBootstrap_thenEventsAppliedAfterSnapshot() throws Exception {
+        Employee employee = employeeRepository.findById(1L).get();
+        employee.setJobTitle("Team Lead");
+        employee.setVersion(employee.getVersion() + 1);
+        send(EmployeeEventMessage.builder().type(EmployeeEventType.UPDATED).employee(employee).build());
+        send(EmployeeEventMessage.builder().type(EmployeeEventType.DELETED).employeeIds(List.of(2L)).build());
+        assertFalse(employeeReadModel.findById(1L).isPresent());
+
+        employeeReadModel.bootstrap();
+
+        assertEquals("Team Lead", employeeReadModel.findById(1L).get().getJobTitle());
+        assertEquals(employee.getVersion(), employeeReadModel.findById(1L).get().getVersion());
+        assertFalse(employeeReadModel.findById(2L).isPresent());
+    }
+
+    @Test
+    public void givenOlderVersion_whenUpdated_thenIgnored() throws Exception {
+        employeeReadModel.bootstrap();
+        Employee employee = employeeRepository.findById(1L).get();
+        employee.setJobTitle("Stale Title");
+
+        send(EmployeeEventMessage.builder().type(EmployeeEventType.UPDATED).employee(employee).build());
+
+        assertEquals(employeeRepository.findById(1L).get().getJobTitle(), employeeReadModel.findById(1L).get().getJobTitle());
+    }
+
+    @Test
+    public void givenDuplicateEvent_whenJobTitleChanged_thenVersionBumpedOnce() throws Exception {
+        employeeReadModel.bootstrap();
+        Long version = employeeReadModel.findById(1L).get().getVersion();
+        String payload = objectMapper.writeValueAsString(EmployeeEventMessage.builder()
+                .type(EmployeeEventType.JOB_TITLE_CHANGED)
+                .employeeIds(List.of(1L, 2L))
+                .jobTitle("Architect")
+                .build());
+
+        employeeReadModel.onEvent(payload, ++eventId, System.currentTimeMillis(), ++commitOrder);
+        employeeReadModel.onEvent(payload, eventId, System.currentTimeMillis(), commitOrder);
+
+        assertEquals("Architect", employeeReadModel.findById(1L).get().getJobTitle());
+        assertEquals(Long.valueOf(version + 1), employeeReadModel.findById(1L).get().getVersion());
+    }
+
+    @Test
+    public void whenDepartmentMoved_thenOnlyEmployeesOfDepartmentMoved() throws Exception {
+        employeeReadModel.bootstrap();
+        List<Long> fromDepartment = employeeReadModel.getEmployees().values().stream()
+                .filter(employee -> employee.getDepartmentId() == 1)
+                .map(Employee::getId)
+                .collect(Collectors.toList());
+
+        send(EmployeeEventMessage.builder().type(EmployeeEventType.DEPARTMENT_MOVED).fromDepartmentId(1).toDepartmentId(2).build());
+
+        assertFalse(fromDepartment.isEmpty());
+        assertTrue(employeeReadModel.getEmployees().values().stream().allMatch(employee -> employee.getDepartmentId() == 2));
+    }
+
+    @Test
+    public void whenGetEmployeesSortedById_thenPagesServedFromReadModel() {
+        employeeReadModel.bootstrap();
+        EmployeeService databaseService = Mockito.mock(EmployeeService.class);
+        EmployeeService employeeService = new ReadModelEmployeeService(databaseService, employeeReadModel);
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            EmployeePage page = employeeService.getEmployees(cursor, 1, "id", "DESC");
+            page.getEmployees().forEach(employee -> ids.add(employee.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(new ArrayList<>(employeeReadModel.getEmployees().descendingKeySet()), ids);
+        assertNull(employeeService.getEmployees(null, 1, "jobTitle", "ASC"));
+        verify(databaseService).getEmployees(null, 1, "jobTitle", "ASC");
+    }
+
+    @Test
+    public void whenReturnedEmployeesChanged_thenReadModelUnchanged() {
+        employeeReadModel.bootstrap();
+        EmployeeService employeeService = new ReadModelEmployeeService(Mockito.mock(EmployeeService.class), employeeReadModel);
+        String jobTitle = employeeReadModel.getEmployees().get(1L).getJobTitle();
+        Date dateOfBirth = new Date(employeeReadModel.getEmployees().get(1L).getDateOfBirth().getTime());
+
+        Employee employee = employeeService.getEmployeeById(1L);
+        employee.setJobTitle("Changed");
+        employee.getDateOfBirth().setTime(0);
+        Employee first = employeeService.getEmployees(null, 1, "id", "ASC").getEmployees().get(0);
+        first.setJobTitle("Changed");
+
+        assertEquals(jobTitle, employeeService.getEmployeeById(1L).getJobTitle());
+        assertEquals(dateOfBirth, employeeService.getEmployeeById(1L).getDateOfBirth());
+        assertEquals(employeeReadModel.getEmployees().firstEntry().getValue().getJobTitle(),
+                employeeService.getEmployees(null, 1, "id", "ASC").getEmployees().get(0).getJobTitle());
+        assertFalse("Changed".equals(employeeReadModel.getEmployees().firstEntry().getValue().getJobTitle()));
+    }
+
+    @Test
+    public void givenBufferedEventInSnapshot_whenBootstrap_thenNotAppliedAgain() throws Exception {
+        Map<Long, Long> versions = employeeRepository.findAll().stream()
+                .collect(Collectors.toMap(Employee::getId, Employee::getVersion));
+        //the move is committed before the snapshot, its event is received while loading
+        commit();
+        send(EmployeeEventMessage.builder().type(EmployeeEventType.DEPARTMENT_MOVED).fromDepartmentId(1).toDepartmentId(2).build());
+
+        employeeReadModel.bootstrap();
+
+        assertEquals(versions, employeeReadModel.getEmployees().values().stream()
+                .collect(Collectors.toMap(Employee::getId, Employee::getVersion)));
+    }
+
+    @Test
+    public void givenEventNotNumberedInSnapshot_whenReceived_thenNotAppliedAgain() throws Exception {
+        Map<Long, Long> versions = employeeRepository.findAll().stream()
+                .collect(Collectors.toMap(Employee::getId, Employee::getVersion));
+        //the move is committed before the snapshot, the relay numbers it after the snapshot
+        EmployeeEvent event = employeeEventRepository.save(EmployeeEvent.builder()
+                .type(EmployeeEventType.DEPARTMENT_MOVED)
+                .payload("{}")
+                .createdAt(new Date())
+                .build());
+        employeeReadModel.bootstrap();
+        eventId = event.getId() - 1;
+
+        send(EmployeeEventMessage.builder().type(EmployeeEventType.DEPARTMENT_MOVED).fromDepartmentId(1).toDepartmentId(2).build());
+        send(EmployeeEventMessage.builder().type(EmployeeEventType.DELETED).employeeIds(List.of(2L)).build());
+
+        employeeEventRepository.delete(event);
+        versions.remove(2L);
+        assertEquals(versions, employeeReadModel.getEmployees().values().stream()
+                .collect(Collectors.toMap(Employee::getId, Employee::getVersion)));
+        assertEquals(Status.UP, employeeReadModel.health().getStatus());
+    }
+
+    @Test
+    public void givenCommittedEventNotReceived_whenBehindLongerThanMaxDelay_thenLoadedAgain() throws Exception {
+        employeeReadModel = new EmployeeReadModel(employeeRepository, employeeEventRepository, objectMapper, transactionManager,
+                new SimpleMeterRegistry(), 50);
+        employeeReadModel.bootstrap();
+        employeeReadModel.check();
+        assertEquals(Status.UP, employeeReadModel.health().getStatus());
+        Employee employee = employeeRepository.findById(1L).get();
+        employee.setJobTitle("Not Received");
+        employeeRepository.save(employee);
+        commit();
+
+        employeeReadModel.check();
+        Thread.sleep(100);
+        assertEquals(Status.OUT_OF_SERVICE, employeeReadModel.health().getStatus());
+        employeeReadModel.check();
+
+        assertEquals(Status.UP, employeeReadModel.health().getStatus());
+        assertEquals("Not Received", employeeReadModel.findById(1L).get().getJobTitle());
+    }
+
+    @Test
+    public void givenMissingEvent_whenCheck_thenLoadedAgain() throws Exception {
+        employeeReadModel.bootstrap();
+        commit();
+        commit();
+        commitOrder++;
+
+        send(EmployeeEventMessage.builder().type(EmployeeEventType.DELETED).employeeIds(List.of(2L)).build());
+        assertEquals(Status.OUT_OF_SERVICE, employeeReadModel.health().getStatus());
+        employeeReadModel.check();
+
+        assertEquals(Status.UP, employeeReadModel.health().getStatus());
+        assertTrue(employeeReadModel.findById(2L).isPresent());
+    }
+
+    private void send(EmployeeEventMessage message) throws Exception {
+        employeeReadModel.onEvent(objectMapper.writeValueAsString(message), ++eventId, System.currentTimeMillis(), ++commitOrder);
+    }
+
+    /**
+     * Numbers an event committed and sent already, which is not received, like a write of another instance.
+     */
+    private void commit() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                employeeEventRepository.updateLastCommitOrder(employeeEventRepository.lockLastCommitOrder() + 1));
+    }
+}
@@ -0,0 +1,129 @@
+package com.service;
+
+import com.config.CacheConfig;
+import com.model.Employee;
+import com.repository.EmployeeRepository;
+import com.valid.EmployeeValidator;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integrations tests of caching in {@link EmployeeServiceImpl}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@RunWith(SpringRunner.class)
+@TestPropertySource(properties = "employee.cache.spec=maximumSize=100,recordStats")
+public class EmployeeServiceCacheTest {
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Employee employee;
+
+    @TestConfiguration
+    @Import(CacheConfig.class)
+    static class EmployeeServiceImplTestContextConfiguration {
+        @MockBean
+        private EmployeeRepository employeeRepository;
+        @MockBean
+        private EmployeeEventService employeeEventService;
+        @MockBean
+        private EmployeeNameIndex employeeNameIndex;
+        @MockBean
+        private EmployeeCounters employeeCounters;
+        @MockBean
+        private PlatformTransactionManager transactionManager;
+
+        @Bean
+        public EmployeeService employeeService() {
+            return new EmployeeServiceImpl(employeeRepository, employeeEventService, employeeNameIndex, employeeCounters,
+                    new EmployeeValidator(new StaticMessageSource()), transactionManager);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).clear();
+        this.employee = Employee.builder()
+                .id(1L)
+                .firstName("Sergey")
+                .lastName("Sergeev")
+                .departmentId(1)
+                .jobTitle("QA")
+                .gender("male")
+                .dateOfBirth(new GregorianCalendar(1989, Calendar.AUGUST, 7).getTime())
+                .build();
+
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.saveAndFlush(employee)).thenReturn(employee);
+    }
+
+    @Test
+    public void whenGetEmployeeByIdTwice_thenMethodFindByIdShouldBeCalledOnce() {
+        Employee first = employeeService.getEmployeeById(1L);
+        Employee second = employeeService.getEmployeeById(1L);
+
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        verify(employeeRepository, Mockito.times(1)).findById(1L);
+    }
+
+    @Test
+    public void whenChangeCachedEmployee_thenNextReadShouldNotSeeTheChange() {
+        Employee first = employeeService.getEmployeeById(1L);
+        first.setJobTitle("Java Developer");
+        first.getDateOfBirth().setTime(0L);
+
+        Employee second = employeeService.getEmployeeById(1L);
+
+        assertEquals("QA", second.getJobTitle());
+        assertEquals(new GregorianCalendar(1989, Calendar.AUGUST, 7).getTime(), second.getDateOfBirth());
+        verify(employeeRepository, Mockito.times(1)).findById(1L);
+    }
+
+    @Test
+    public void whenEditEmployeeById_thenCachedEmployeeShouldBeEvicted() {
+        employeeService.getEmployeeById(1L);
+        employeeService.editEmployeeById(1L, null, 2, "Java Developer");
+        Employee edited = employeeService.getEmployeeById(1L);
+
+        assertEquals("Java Developer", edited.getJobTitle());
+        //cache load, edit, cache load after eviction
+        verify(employeeRepository, Mockito.times(3)).findById(1L);
+    }
+
+    @Test
+    public void whenDeleteEmployeeById_thenCachedEmployeeShouldBeEvicted() {
+        employeeService.getEmployeeById(1L);
+        employeeService.deleteEmployeeById(1L);
+
+        assertEquals(null, cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).get(1L));
+    }
+}
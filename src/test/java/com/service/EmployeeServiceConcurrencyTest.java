@@ -0,0 +1,150 @@
+package com.service;
+
+import com.config.CacheConfig;
+import com.model.Employee;
+import com.repository.EmployeeRepository;
+import com.valid.EmployeeValidator;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Concurrency tests of optimistic locking in {@link EmployeeServiceImpl}.
+ * Many threads edit the same row, no update may be lost.
+ * Readers of the cached row never see each other's changes nor a stale row after the edits.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+//many waiters on one row lock livelock the MVStore engine of H2 1.4 now and then, the page store locks tables
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.url=jdbc:h2:mem:concurrency;MV_STORE=FALSE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="})
+@Import({EmployeeServiceImpl.class, EmployeeValidator.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeServiceConcurrencyTest {
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeServiceConcurrencyTest.class);
+    private static final int THREADS = 8;
+    private static final int EDITS_PER_THREAD = 25;
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @MockBean
+    private EmployeeEventService employeeEventService;
+    @MockBean
+    private EmployeeNameIndex employeeNameIndex;
+    @MockBean
+    private EmployeeCounters employeeCounters;
+
+    @Test
+    public void whenManyThreadsEditSameEmployee_thenNoUpdateIsLost() throws Exception {
+        long versionBefore = employeeRepository.findById(2L).get().getVersion();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int thread = 0; thread < THREADS; thread++) {
+            int departmentId = thread % 2 + 1;
+            //unique values, an edit that changes nothing does not bump the version
+            String jobTitle = "QA " + thread + "-";
+            futures.add(executorService.submit(() -> {
+                start.await();
+                for (int i = 0; i < EDITS_PER_THREAD; i++) {
+                    try {
+                        employeeService.editEmployeeById(2L, null, departmentId, jobTitle + i);
+                        succeeded.incrementAndGet();
+                    } catch (ConcurrencyFailureException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        executorService.shutdown();
+
+        LOG.info("{} edits succeeded, {} gave up after retries in {} ms ({} edits/s)",
+                succeeded.get(), conflicts.get(), elapsedMillis, succeeded.get() * 1000L / Math.max(elapsedMillis, 1));
+
+        Employee employee = employeeRepository.findById(2L).get();
+        assertTrue(succeeded.get() > 0);
+        assertEquals(THREADS * EDITS_PER_THREAD, succeeded.get() + conflicts.get());
+        assertEquals(versionBefore + succeeded.get(), employee.getVersion().longValue());
+    }
+
+    @Test
+    public void whenEditAndReadCachedEmployeeConcurrently_thenReadersGetOwnCopiesAndLastEdit() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger edits = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        futures.add(executorService.submit(() -> {
+            start.await();
+            for (int i = 0; i < EDITS_PER_THREAD; i++) {
+                employeeService.editEmployeeById(2L, null, i % 2 + 1, "QA read-" + i);
+                edits.incrementAndGet();
+            }
+            return null;
+        }));
+        for (int thread = 1; thread < THREADS; thread++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                while (edits.get() < EDITS_PER_THREAD) {
+                    Employee employee = employeeService.getEmployeeById(2L);
+                    assertTrue(employee.getJobTitle(), !employee.getJobTitle().startsWith("changed"));
+                    //a reader changing its copy must not change the cache
+                    employee.setJobTitle("changed " + employee.getJobTitle());
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executorService.shutdown();
+
+        Employee cached = employeeService.getEmployeeById(2L);
+        Employee stored = employeeRepository.findById(2L).get();
+        assertEquals("QA read-" + (EDITS_PER_THREAD - 1), cached.getJobTitle());
+        assertEquals(stored.getJobTitle(), cached.getJobTitle());
+        assertEquals(stored.getVersion(), cached.getVersion());
+    }
+}
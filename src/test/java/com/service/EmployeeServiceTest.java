@@ -1,8 +1,16 @@
 package com.service;
 
+import com.error.BadRequestException;
+import com.error.PreconditionFailedException;
 import com.error.ResourceNotFoundException;
 import com.model.Employee;
+import com.model.EmployeeDimension;
+import com.model.EmployeeFilter;
+import com.model.EmployeeName;
+import com.model.EmployeePage;
+import com.model.EmployeeSortField;
 import com.repository.EmployeeRepository;
+import com.valid.EmployeeValidator;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -11,16 +19,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import javax.validation.ConstraintViolationException;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
 
 /**
@@ -37,7 +55,11 @@ public class EmployeeServiceTest {
     @Autowired
     private EmployeeRepository employeeRepository;
     @Autowired
-    private JmsProducerService jmsProducerService;
+    private EmployeeEventService employeeEventService;
+    @Autowired
+    private EmployeeCounters employeeCounters;
+    @Autowired
+    private EmployeeNameIndex employeeNameIndex;
 
     private Employee employee;
     private List<Employee> employeeList;
@@ -48,11 +70,18 @@ public class EmployeeServiceTest {
         @MockBean
         private EmployeeRepository employeeRepository;
         @MockBean
-        private JmsProducerService jmsProducerService;
+        private EmployeeEventService employeeEventService;
+        @MockBean
+        private EmployeeNameIndex employeeNameIndex;
+        @MockBean
+        private EmployeeCounters employeeCounters;
+        @MockBean
+        private PlatformTransactionManager transactionManager;
 
         @Bean
         public EmployeeService employeeService() {
-            return new EmployeeServiceImpl(employeeRepository, jmsProducerService);
+            return new EmployeeServiceImpl(employeeRepository, employeeEventService, employeeNameIndex, employeeCounters,
+                    new EmployeeValidator(new StaticMessageSource()), transactionManager);
         }
     }
 
@@ -66,6 +95,7 @@ public class EmployeeServiceTest {
                 .jobTitle("QA")
                 .gender("male")
                 .dateOfBirth(new GregorianCalendar(1989, Calendar.AUGUST, 7).getTime())
+                .version(3L)
                 .build();
         Employee employee2 = Employee.builder()
                 .id(2L)
@@ -77,19 +107,111 @@ public class EmployeeServiceTest {
                 .dateOfBirth(new GregorianCalendar(1989, Calendar.APRIL, 4).getTime())
                 .build();
 
-        this.employeeList = Stream.of(employee2, employee).collect(Collectors.toList());
+        this.employeeList = Stream.of(employee, employee2).collect(Collectors.toList());
 
-        when(employeeRepository.findAll()).thenReturn(employeeList);
+        when(employeeRepository.findPage(EmployeeSortField.ID, Sort.Direction.ASC, null, null, 2)).thenReturn(employeeList);
+        when(employeeRepository.findPage(EmployeeSortField.ID, Sort.Direction.ASC, null, null, 3)).thenReturn(employeeList);
         when(employeeRepository.findById(1L)).thenReturn(Optional.ofNullable(employee));
+        when(employeeRepository.findByIdForUpdate(1L)).thenReturn(Optional.ofNullable(employee));
+        when(employeeRepository.saveAndFlush(employee)).thenReturn(employee);
+    }
+
+    @Test
+    public void whenGetEmployees_thenMethodFindPageShouldBeCalled() {
+        EmployeePage page = employeeService.getEmployees(null, 2, "id", "asc");
+
+        assertEquals(2, page.getEmployees().size());
+        assertEquals(1, page.getEmployees().get(0).getId().intValue());
+        assertEquals(2, page.getEmployees().get(1).getId().intValue());
+        assertNull(page.getNextCursor());
+        verify(employeeRepository, Mockito.times(1)).findPage(EmployeeSortField.ID, Sort.Direction.ASC, null, null, 3);
     }
 
     @Test
-    public void whenGetEmployees_thenMethodFindAllShouldBeCalled() {
-        this.employeeList = employeeService.getEmployees();
+    public void whenGetEmployeesWithCursor_thenMethodFindPageShouldBeCalledAfterCursor() {
+        EmployeePage page = employeeService.getEmployees(null, 1, "id", "asc");
 
-        assertEquals(1, employeeList.get(0).getId().intValue());
-        assertEquals(2, employeeList.get(1).getId().intValue());
-        verify(employeeRepository, Mockito.times(1)).findAll();
+        assertEquals(1, page.getEmployees().size());
+        assertEquals(1, page.getEmployees().get(0).getId().intValue());
+
+        employeeService.getEmployees(page.getNextCursor(), 1, "id", "asc");
+
+        verify(employeeRepository, Mockito.times(1)).findPage(EmployeeSortField.ID, Sort.Direction.ASC, 1L, 1L, 2);
+    }
+
+    @Test
+    public void givenSortValueWithColonOrNull_whenDecodeCursor_thenSameValue() {
+        employee.setJobTitle("Lead: QA:Java");
+        String cursor = EmployeeServiceImpl.encodeCursor(EmployeeSortField.JOB_TITLE, Sort.Direction.DESC, employee);
+        EmployeeServiceImpl.Position position = EmployeeServiceImpl.Position.of(cursor, EmployeeSortField.JOB_TITLE, Sort.Direction.DESC, "jobTitle", "desc");
+
+        assertEquals("Lead: QA:Java", position.lastValue);
+        assertEquals(1L, position.lastId.longValue());
+
+        employee.setJobTitle(null);
+        cursor = EmployeeServiceImpl.encodeCursor(EmployeeSortField.JOB_TITLE, Sort.Direction.DESC, employee);
+        position = EmployeeServiceImpl.Position.of(cursor, EmployeeSortField.JOB_TITLE, Sort.Direction.DESC, "jobTitle", "desc");
+
+        assertNull(position.lastValue);
+        assertEquals(1L, position.lastId.longValue());
+
+        employee.setJobTitle("null");
+        cursor = EmployeeServiceImpl.encodeCursor(EmployeeSortField.JOB_TITLE, Sort.Direction.DESC, employee);
+        assertEquals("null", EmployeeServiceImpl.Position.of(cursor, EmployeeSortField.JOB_TITLE, Sort.Direction.DESC, "jobTitle", "desc").lastValue);
+    }
+
+    @Test
+    public void whenGetEmployeesETag_thenETagOfPageIsReturnedWithoutLoadingEmployees() {
+        when(employeeRepository.findPageVersions(EmployeeSortField.ID, Sort.Direction.ASC, null, null, 3))
+                .thenReturn(List.of(new Object[]{1L, 3L}, new Object[]{2L, null}));
+
+        assertEquals(employeeService.getEmployees(null, 2, "id", "asc").getETag(),
+                employeeService.getEmployeesETag(null, 2, "id", "asc"));
+        verify(employeeRepository, Mockito.times(1)).findPageVersions(EmployeeSortField.ID, Sort.Direction.ASC, null, null, 3);
+    }
+
+    @Test
+    public void whenGetEmployeeVersionById_thenMethodFindVersionByIdShouldBeCalled() {
+        when(employeeRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        assertEquals(3L, employeeService.getEmployeeVersionById(1L).longValue());
+        verify(employeeRepository, Mockito.never()).findById(1L);
+    }
+
+    @Test
+    public void whenSearchEmployees_thenMethodSearchPageShouldBeCalled() {
+        EmployeeFilter filter = EmployeeFilter.builder().departmentId(1).build();
+        when(employeeRepository.searchPage(filter, EmployeeSortField.ID, Sort.Direction.ASC, null, null, 2)).thenReturn(employeeList);
+
+        EmployeePage page = employeeService.searchEmployees(filter, null, 1, "id", "asc");
+
+        assertEquals(1, page.getEmployees().size());
+        assertNotNull(page.getNextCursor());
+        employeeService.searchEmployees(filter, page.getNextCursor(), 1, "id", "asc");
+        verify(employeeRepository, Mockito.times(1)).searchPage(filter, EmployeeSortField.ID, Sort.Direction.ASC, 1L, 1L, 2);
+    }
+
+    @Test
+    public void givenValidCounters_whenCountEmployees_thenCountersAreServed() {
+        when(employeeCounters.get(EmployeeDimension.GENDER)).thenReturn(Optional.of(Map.of("male", 1L)));
+
+        assertEquals(Map.of("male", 1L), employeeService.countEmployees(EmployeeDimension.GENDER));
+        verify(employeeCounters, Mockito.never()).countInDatabase(EmployeeDimension.GENDER);
+    }
+
+    @Test
+    public void whenCountEmployeesByAge_thenBucketsGoFromYoungest() {
+        when(employeeRepository.countByDateOfBirthRanges(Mockito.any())).thenReturn(new long[]{6, 5, 4, 3, 2, 1});
+
+        Map<String, Long> ages = employeeService.countEmployees(EmployeeDimension.AGE);
+
+        assertEquals(List.of("0-19", "20-29", "30-39", "40-49", "50-59", "60+"), List.copyOf(ages.keySet()));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), List.copyOf(ages.values()));
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void whenGetEmployeesWithInvalidCursor_thenBadRequestExceptionShouldBeThrown() {
+        employeeService.getEmployees("not a cursor", 1, "id", "asc");
     }
 
     @Test
@@ -111,17 +233,100 @@ public class EmployeeServiceTest {
         employeeService.addEmployee(employee);
 
         verify(employeeRepository, Mockito.times(1)).save(employee);
-        verify(jmsProducerService, Mockito.times(1)).sendMessage(String.format("Employee %s %s created!", employee.getFirstName(), employee.getLastName()));
+        verify(employeeEventService, Mockito.times(1)).employeeCreated(employee);
+    }
+
+    @Test
+    public void whenAddEmployees_thenMethodSaveAllInBatchesShouldBeCalled() {
+        when(employeeRepository.saveAllInBatches(employeeList)).thenAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            employees.get(0).setId(3L);
+            employees.get(1).setId(4L);
+            return employees;
+        });
+
+        List<Long> ids = employeeService.addEmployees(employeeList);
+
+        assertEquals(List.of(3L, 4L), ids);
+        verify(employeeRepository, Mockito.times(1)).saveAllInBatches(employeeList);
+        verify(employeeEventService, Mockito.times(1)).employeesCreated(employeeList);
+    }
+
+    @Test
+    public void givenInvalidEmployee_whenAddEmployees_thenConstraintViolationExceptionAndNothingSaved() {
+        employeeList.get(1).setDepartmentId(3);
+
+        try {
+            employeeService.addEmployees(employeeList);
+            fail();
+        } catch (ConstraintViolationException e) {
+            assertEquals("addEmployees.employees[1].departmentId: {employee.departmentId.length}", e.getMessage());
+        }
+        verify(employeeRepository, never()).saveAllInBatches(any());
+        verify(employeeEventService, never()).employeesCreated(any());
+    }
+
+    @Test(expected = ConstraintViolationException.class)
+    public void givenInvalidJobTitle_whenEditEmployeeById_thenConstraintViolationExceptionShouldBeThrown() {
+        try {
+            employeeService.editEmployeeById(1L, null, 2, "J");
+        } finally {
+            verify(employeeRepository, never()).saveAndFlush(any());
+        }
     }
 
     @Test
     public void whenEditEmployeeById_thenMethodFindByIdAndSaveShouldBeCalled() {
-        employeeService.editEmployeeById(1L, 2, "Java Developer");
+        employeeService.editEmployeeById(1L, null, 2, "Java Developer");
 
         assertEquals(2, employee.getDepartmentId());
         assertEquals("Java Developer", employee.getJobTitle());
         verify(employeeRepository, Mockito.times(1)).findById(1L);
-        verify(employeeRepository, Mockito.times(1)).save(employee);
+        verify(employeeRepository, Mockito.times(1)).saveAndFlush(employee);
+        verify(employeeEventService, Mockito.times(1)).employeeUpdated(employee);
+    }
+
+    @Test(expected = PreconditionFailedException.class)
+    public void givenOtherVersion_whenEditEmployeeById_thenPreconditionFailedExceptionShouldBeThrown() {
+        employeeService.editEmployeeById(1L, 2L, 2, "Java Developer");
+    }
+
+    @Test
+    public void givenConcurrentWrite_whenEditEmployeeById_thenWholeTransactionShouldBeRetriedWithLock() {
+        when(employeeRepository.saveAndFlush(employee))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L))
+                .thenReturn(employee);
+
+        employeeService.editEmployeeById(1L, 3L, 2, "Java Developer");
+
+        verify(employeeRepository, Mockito.times(1)).findById(1L);
+        verify(employeeRepository, Mockito.times(1)).findByIdForUpdate(1L);
+        verify(employeeRepository, Mockito.times(2)).saveAndFlush(employee);
+    }
+
+    @Test
+    public void givenLockTimeout_whenEditEmployeeById_thenWholeTransactionShouldBeRetried() {
+        when(employeeRepository.findByIdForUpdate(1L)).thenThrow(new PessimisticLockingFailureException("Timeout trying to lock table"))
+                .thenReturn(Optional.of(employee));
+        when(employeeRepository.saveAndFlush(employee))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L))
+                .thenReturn(employee);
+
+        employeeService.editEmployeeById(1L, null, 2, "Java Developer");
+
+        verify(employeeRepository, Mockito.times(2)).findByIdForUpdate(1L);
+        verify(employeeRepository, Mockito.times(2)).saveAndFlush(employee);
+    }
+
+    @Test(expected = ObjectOptimisticLockingFailureException.class)
+    public void givenConcurrentWrites_whenEditEmployeeById_thenRetriesShouldBeBounded() {
+        when(employeeRepository.saveAndFlush(employee)).thenThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+
+        try {
+            employeeService.editEmployeeById(1L, null, 2, "Java Developer");
+        } finally {
+            verify(employeeRepository, Mockito.times(3)).saveAndFlush(employee);
+        }
     }
 
     @Test
@@ -130,5 +335,47 @@ public class EmployeeServiceTest {
 
         verify(employeeRepository, Mockito.times(1)).findById(1L);
         verify(employeeRepository, Mockito.times(1)).delete(employee);
+        verify(employeeEventService, Mockito.times(1)).employeesDeleted(List.of(1L));
+    }
+
+    @Test
+    public void whenMoveEmployeesToDepartment_thenMethodUpdateDepartmentIdShouldBeCalled() {
+        when(employeeRepository.updateDepartmentIdByDepartmentId(1, 2)).thenReturn(5);
+
+        assertEquals(5, employeeService.moveEmployeesToDepartment(1, 2));
+        verify(employeeRepository, Mockito.times(1)).updateDepartmentIdByDepartmentId(1, 2);
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(employeeEventService, Mockito.times(1)).departmentMoved(1, 2);
+    }
+
+    @Test
+    public void whenEditJobTitleByIds_thenMethodUpdateJobTitleShouldBeCalled() {
+        when(employeeRepository.updateJobTitleByIdIn(List.of(1L, 2L), "QA")).thenReturn(2);
+
+        assertEquals(2, employeeService.editJobTitleByIds(List.of(1L, 2L), "QA"));
+        verify(employeeRepository, Mockito.times(1)).updateJobTitleByIdIn(List.of(1L, 2L), "QA");
+    }
+
+    @Test
+    public void whenDeleteEmployeesByIds_thenMethodDeleteByIdInShouldBeCalled() {
+        when(employeeRepository.deleteByIdIn(List.of(1L, 2L))).thenReturn(2);
+
+        assertEquals(2, employeeService.deleteEmployeesByIds(List.of(1L, 2L)));
+        verify(employeeRepository, Mockito.times(1)).deleteByIdIn(List.of(1L, 2L));
+        verify(employeeEventService, Mockito.times(1)).employeesDeleted(List.of(1L, 2L));
+    }
+
+    @Test
+    public void givenNameIndexNotLoaded_whenCompleteNames_thenDatabaseIsSearched() {
+        List<EmployeeName> names = List.of(new EmployeeName(1L, "Sergey", "Sergeev"));
+        when(employeeRepository.findNamesByPrefix("ser", 5)).thenReturn(names);
+
+        assertEquals(names, employeeService.completeNames("ser", 5));
+        verify(employeeNameIndex, never()).complete(anyString(), anyInt());
+
+        when(employeeNameIndex.isBootstrapped()).thenReturn(true);
+        when(employeeNameIndex.complete("ser", 5)).thenReturn(names);
+        assertEquals(names, employeeService.completeNames("ser", 5));
+        verify(employeeRepository, Mockito.times(1)).findNamesByPrefix("ser", 5);
     }
 }
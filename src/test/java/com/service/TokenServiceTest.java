@@ -0,0 +1,83 @@
+package com.service;
+
+import com.model.Role;
+import org.junit.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of {@link TokenServiceImpl}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class TokenServiceTest {
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private static final Instant NOW = Instant.parse("2020-12-01T10:00:00Z");
+
+    private final TokenService tokenService = new TokenServiceImpl(SECRET, 60, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    public void whenVerifyIssuedToken_thenReturnNameAndAuthorities() {
+        String token = tokenService.issueToken(new UsernamePasswordAuthenticationToken("admin", null, Role.ADMIN.getAuthorities()));
+
+        Authentication authentication = tokenService.verifyToken(token);
+
+        assertEquals("admin", authentication.getName());
+        assertEquals(Role.ADMIN.getAuthorities(), new HashSet<>(authentication.getAuthorities()));
+    }
+
+    @Test(expected = BadCredentialsException.class)
+    public void givenTamperedPayload_whenVerifyToken_thenThrowBadCredentials() {
+        String token = tokenService.issueToken(new UsernamePasswordAuthenticationToken("user", null, Role.USER.getAuthorities()));
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("user:" + NOW.plusSeconds(60).getEpochSecond() + ":employees:read,employees:write").getBytes(StandardCharsets.UTF_8));
+
+        tokenService.verifyToken(forged + token.substring(token.indexOf('.')));
+    }
+
+    @Test(expected = BadCredentialsException.class)
+    public void givenExpiredToken_whenVerifyToken_thenThrowBadCredentials() {
+        String token = tokenService.issueToken(new UsernamePasswordAuthenticationToken("user", null, Role.USER.getAuthorities()));
+        TokenService later = new TokenServiceImpl(SECRET, 60, Clock.fixed(NOW.plusSeconds(61), ZoneOffset.UTC));
+
+        later.verifyToken(token);
+    }
+
+    @Test
+    public void givenNameWithSeparators_whenVerifyIssuedToken_thenSameName() {
+        String token = tokenService.issueToken(new UsernamePasswordAuthenticationToken("ci:deploy:2", null, Role.USER.getAuthorities()));
+
+        Authentication authentication = tokenService.verifyToken(token);
+
+        assertEquals("ci:deploy:2", authentication.getName());
+        assertEquals(Role.USER.getAuthorities(), new HashSet<>(authentication.getAuthorities()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenNoSecret_whenCreate_thenThrow() {
+        new TokenServiceImpl(new byte[0], 60, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenShortSecret_whenCreate_thenThrow() {
+        new TokenServiceImpl(Arrays.copyOf(SECRET, 31), 60, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test(expected = BadCredentialsException.class)
+    public void givenMalformedToken_whenVerifyToken_thenThrowBadCredentials() {
+        tokenService.verifyToken("not a token");
+    }
+}
@@ -0,0 +1,157 @@
+package com.valid;
+
+import com.model.Employee;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of {@link EmployeeValidator} against Bean Validation of {@link Employee}
+ * configured as in {@link com.EmployeeApplication}.
+ *
+ * @author Sergey Ignatyuk
+ * @version 1.0
+ */
+
+public class EmployeeValidatorTest {
+    private static final Date DATE_OF_BIRTH = new GregorianCalendar(1989, 7, 7).getTime();
+
+    private static LocalValidatorFactoryBean validator;
+    private static EmployeeValidator employeeValidator;
+
+    @BeforeClass
+    public static void setUp() {
+        ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
+        messageSource.setBasename("classpath:messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        validator = new LocalValidatorFactoryBean();
+        validator.setValidationMessageSource(messageSource);
+        validator.afterPropertiesSet();
+        employeeValidator = new EmployeeValidator(messageSource);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        validator.close();
+    }
+
+    @Test
+    public void givenEmployees_whenValidate_thenSameMessagesAsBeanValidation() {
+        List<Employee> employees = List.of(
+                employee().build(),
+                employee().firstName(null).lastName("").build(),
+                employee().firstName("Se").lastName("Sergeevsergeevsergeev").build(),
+                employee().firstName("Ser").lastName("Sergeevsergeevs").jobTitle("QA").build(),
+                employee().firstName("Sergeysergeyserg").jobTitle("Java Developer Java Devel").build(),
+                employee().jobTitle("Java Developer Java Develo").build(),
+                employee().firstName("Ser gey").lastName("Serge\tev").build(),
+                employee().departmentId(0).jobTitle("").build(),
+                employee().departmentId(3).jobTitle(null).gender(null).build(),
+                employee().jobTitle("J").gender("").build(),
+                employee().gender("Unknown").dateOfBirth(null).build(),
+                employee().dateOfBirth(new Date(System.currentTimeMillis() + 86_400_000L)).build(),
+                employee().dateOfBirth(Date.from(Instant.parse("1899-12-31T23:59:59Z"))).build());
+
+        for (Employee employee : employees) {
+            Set<String> expected = validator.validate(employee).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.toSet());
+            List<String> messages = employeeValidator.messages(employeeValidator.violations(employee));
+
+            assertEquals(employee.toString(), expected, Set.copyOf(messages));
+            assertEquals(employee.toString(), expected.size(), messages.size());
+        }
+    }
+
+    @Test
+    public void givenDateOfBirth_whenValidate_thenBetweenMinAndToday() {
+        assertEquals(0, employeeValidator.violations(employee().dateOfBirth(new Date()).build()));
+        assertEquals(0, employeeValidator.violations(employee().dateOfBirth(Date.from(Instant.parse("1900-01-01T00:00:00Z"))).build()));
+        assertEquals(List.of("Date of birth must be between 1900-01-01 and today"),
+                employeeValidator.messages(employeeValidator.violations(employee().dateOfBirth(new Date(System.currentTimeMillis() + 60_000L)).build())));
+    }
+
+    @Test
+    public void givenLocaleOfRequest_whenValidate_thenMessagesInThatLocale() {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("employee.departmentId.length", Locale.ENGLISH, "Department ID must between 1 and 2");
+        messageSource.addMessage("employee.departmentId.length", Locale.GERMAN, "Abteilungs-ID muss zwischen 1 und 2 sein");
+        messageSource.addMessage("employee.dateOfBirth.range", Locale.GERMAN, "Geburtsdatum muss zwischen {min} und heute sein");
+        EmployeeValidator localizedValidator = new EmployeeValidator(messageSource);
+        int violations = localizedValidator.violations(employee().departmentId(3).dateOfBirth(new Date(System.currentTimeMillis() + 60_000L)).build());
+
+        try {
+            LocaleContextHolder.setLocale(Locale.GERMAN);
+            assertEquals(List.of("Abteilungs-ID muss zwischen 1 und 2 sein", "Geburtsdatum muss zwischen 1900-01-01 und heute sein"),
+                    localizedValidator.messages(violations));
+            LocaleContextHolder.setLocale(Locale.ENGLISH);
+            assertEquals("Department ID must between 1 and 2", localizedValidator.messages(violations).get(0));
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+    }
+
+    @Test
+    public void givenInvalidEmployee_whenValidateOne_thenThrowWithPath() {
+        try {
+            employeeValidator.validate(employee().jobTitle("J").build(), "addEmployee.employee");
+            fail();
+        } catch (ConstraintViolationException e) {
+            assertEquals("addEmployee.employee.jobTitle: Job title must be between 3 and 25 characters", e.getMessage());
+        }
+    }
+
+    @Test
+    public void givenInvalidEmployee_whenValidateErrors_thenRejectFields() {
+        Employee employee = employee().firstName("Ser gey").departmentId(3).build();
+        Errors errors = new BeanPropertyBindingResult(employee, "employee");
+
+        employeeValidator.validate(employee, errors);
+
+        assertEquals(2, errors.getErrorCount());
+        assertEquals("Pattern", errors.getFieldError("firstName").getCode());
+        assertEquals("Department ID must between 1 and 2", errors.getFieldError("departmentId").getDefaultMessage());
+    }
+
+    @Test
+    public void givenInvalidEmployeeInBatch_whenValidate_thenThrowWithPaths() {
+        try {
+            employeeValidator.validate(List.of(employee().build(), employee().departmentId(3).build()), "addEmployees.employees");
+            fail();
+        } catch (ConstraintViolationException e) {
+            assertEquals("addEmployees.employees[1].departmentId: Department ID must between 1 and 2", e.getMessage());
+        }
+        employeeValidator.validate(List.of(employee().build()), "addEmployees.employees");
+        assertTrue(employeeValidator.supports(Employee.class));
+    }
+
+    private static Employee.EmployeeBuilder employee() {
+        return Employee.builder()
+                .firstName("Sergey")
+                .lastName("Sergeev")
+                .departmentId(1)
+                .jobTitle("Java Developer")
+                .gender("male")
+                .dateOfBirth(DATE_OF_BIRTH);
+    }
+}